@@ -10,15 +10,21 @@ import org.aspectj.runtime.internal.AroundClosure;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 通知方法调用时传递的切点匹配类，包装一层方法调用器
+ * - 方法签名只与方法有关，按方法缓存共享，不为每次调用创建
  *
  * @date: 2025-08-18
  * @author: liuxu
  */
 public class MethodInvocationProceedingJoinPoint implements ProceedingJoinPoint, JoinPoint.StaticPart, Cloneable {
 
+    /** 方法签名缓存 key:方法 value:方法签名 */
+    private static final Map<Method, MethodSignature> signatureCache = new ConcurrentHashMap<>(64);
+
     private final ProxyMethodInvocation methodInvocation;
 
 
@@ -29,9 +35,6 @@ public class MethodInvocationProceedingJoinPoint implements ProceedingJoinPoint,
     /** 目标方法参数 */
     private Object[] args;
 
-    /** 方法签名 */
-    private Signature signature;
-
 
     @Override
     public int getId() {
@@ -106,10 +109,12 @@ public class MethodInvocationProceedingJoinPoint implements ProceedingJoinPoint,
      */
     @Override
     public Signature getSignature() {
-        if (this.signature == null) {
-            this.signature = new MethodSignatureImpl();
+        Method method = this.methodInvocation.getMethod();
+        MethodSignature signature = signatureCache.get(method);
+        if (signature == null) {
+            signature = signatureCache.computeIfAbsent(method, MethodSignatureImpl::new);
         }
-        return this.signature;
+        return signature;
     }
 
     @Override
@@ -128,45 +133,51 @@ public class MethodInvocationProceedingJoinPoint implements ProceedingJoinPoint,
     }
 
     /**
-     * 方法的签名，包装外部类 methodInvocation.getMethod() 的方法信息。
+     * 方法的签名，包装 methodInvocation.getMethod() 的方法信息。
      */
-    private class MethodSignatureImpl implements MethodSignature {
+    private static class MethodSignatureImpl implements MethodSignature {
 
-        private String[] parameterNames;
+        private final Method method;
+
+        private volatile String[] parameterNames;
+
+        MethodSignatureImpl(Method method) {
+            this.method = method;
+        }
 
         @Override
         public String getName() {
-            return methodInvocation.getMethod().getName();
+            return this.method.getName();
         }
 
         @Override
         public int getModifiers() {
-            return methodInvocation.getMethod().getModifiers();
+            return this.method.getModifiers();
         }
 
         @Override
         public Class<?> getDeclaringType() {
-            return methodInvocation.getMethod().getDeclaringClass();
+            return this.method.getDeclaringClass();
         }
 
         @Override
         public String getDeclaringTypeName() {
-            return methodInvocation.getMethod().getDeclaringClass().getName();
+            return this.method.getDeclaringClass().getName();
         }
 
         @Override
         public Class<?> getReturnType() {
-            return methodInvocation.getMethod().getReturnType();
+            return this.method.getReturnType();
         }
 
         @Override
         public Method getMethod() {
-            return methodInvocation.getMethod();
+            return this.method;
         }
 
         @Override
         public Class<?>[] getParameterTypes() {
-            return methodInvocation.getMethod().getParameterTypes();
+            return this.method.getParameterTypes();
         }
 
         @Override
@@ -181,7 +192,7 @@ public class MethodInvocationProceedingJoinPoint implements ProceedingJoinPoint,
 
         @Override
         public Class<?>[] getExceptionTypes() {
-            return methodInvocation.getMethod().getExceptionTypes();
+            return this.method.getExceptionTypes();
         }
 
         @Override
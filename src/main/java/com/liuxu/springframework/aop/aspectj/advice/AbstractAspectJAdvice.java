@@ -37,6 +37,8 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
 
     private static final String JOIN_POINT_KEY = JoinPoint.class.getName();
 
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
     /**
      * 获取当前连接点信息
      * 它描述的：当前正在执行的目标点（目标方法）
@@ -132,7 +134,10 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
      * @return 切面方法返回值
      */
     protected Object invokeAdviceMethod(JoinPointMatch jpMatch, Object returnValue, Throwable ex) throws Throwable {
-        return invokeAdviceMethodWithGivenArgs(argBinding(getJonPoint(), jpMatch, returnValue, ex));
+        calculateArgumentBindings();
+        // 通知方法没有连接点参数时不创建连接点对象
+        JoinPoint jp = (this.joinPointArgumentIndex != -1 || this.joinPointStaticPartArgumentIndex != -1 ? getJonPoint() : null);
+        return invokeAdviceMethodWithGivenArgs(argBinding(jp, jpMatch, returnValue, ex));
     }
 
 
@@ -190,6 +195,10 @@ public abstract class AbstractAspectJAdvice implements Advice, AspectJPrecedence
         // 推算并绑定参数的名称类型
         calculateArgumentBindings();
 
+        if (this.parameterTypes.length == 0) {
+            return EMPTY_ARGS;
+        }
+
         Object[] adviceInvocationArgs = new Object[this.parameterTypes.length];
         int numBound = 0;
 
@@ -17,6 +17,7 @@ import com.liuxu.springframework.beans.interfaces.BeanFactory;
 import com.liuxu.springframework.beans.interfaces.BeanFactoryAware;
 import com.liuxu.springframework.beans.interfaces.InitializingBean;
 import com.liuxu.springframework.beans.interfaces.SmartInstantiationAwareBeanPostProcessor;
+import com.liuxu.springframework.core.metrics.StartupRecorder;
 import com.liuxu.springframework.utils.ClassUtils;
 import com.liuxu.springframework.utils.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -38,7 +39,8 @@ import java.util.concurrent.ConcurrentHashMap;
  * @date: 2025-08-13
  * @author: liuxu
  */
-public abstract class AbstractAutoProxyCreator extends ProxyConfig implements SmartInstantiationAwareBeanPostProcessor, BeanFactoryAware {
+public abstract class AbstractAutoProxyCreator extends ProxyConfig implements SmartInstantiationAwareBeanPostProcessor, BeanFactoryAware,
+        DisposableBean {
 
 
     private static final Logger log = LoggerFactory.getLogger(AbstractAutoProxyCreator.class);
@@ -60,6 +62,12 @@ public abstract class AbstractAutoProxyCreator extends ProxyConfig implements Sm
     // 缓存 Advisor Bean的名称
     private volatile String[] cachedAdvisorBeanNames;
 
+    // 这个容器内的 CGLIB 代理类缓存，缓存的 key 持有切面，容器销毁时清空
+    private final ProxyClassCache proxyClassCache = new ProxyClassCache();
+
+    // 创建代理使用的工厂，共用代理类缓存
+    private final AopProxyFactory aopProxyFactory = new DefaultAopProxyFactory(this.proxyClassCache);
+
     /**
      * AdvisorAdapterRegistry 适配器
      */
@@ -353,12 +361,19 @@ public abstract class AbstractAutoProxyCreator extends ProxyConfig implements Sm
 
     protected Object createProxy(Class<?> beanClass, String beanName,
                                  Object[] specificInterceptors, TargetSource targetSource) {
-        return buildProxy(beanClass, beanName, specificInterceptors, targetSource, false);
+        StartupRecorder recorder = (this.beanFactory != null ? this.beanFactory.getStartupRecorder() : StartupRecorder.DISABLED);
+        long step = recorder.start("aop.proxy.create", beanName, getClass());
+        try {
+            return buildProxy(beanClass, beanName, specificInterceptors, targetSource, false);
+        } finally {
+            recorder.end(step);
+        }
     }
 
     private Object buildProxy(Class<?> beanClass, String beanName,
                               Object[] specificInterceptors, TargetSource targetSource, boolean classOnly) {
         ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setAopProxyFactory(this.aopProxyFactory);
         log.info("buildProxy() beanName:{} 构建代理", beanName);
         // proxyTargetClass: 不管目标类有没有接口，Spring 都要考虑用类代理（CGLIB）。
         if (proxyFactory.isProxyTargetClass()) {
@@ -383,7 +398,9 @@ public abstract class AbstractAutoProxyCreator extends ProxyConfig implements Sm
         proxyFactory.setAdvisors(advisors);
         proxyFactory.setTargetSource(targetSource); // TODO targetSource，只支持单例，要看在哪儿创建对象
 
-        proxyFactory.setFrozen(false); // 框架内部级别不会冻结配置，保持动态修改
+        // 框架内部级别不会冻结配置，保持动态修改；开启编译拦截链时冻结配置，每个方法的拦截链只编译一次
+        proxyFactory.setCompileAdviceChains(isCompileAdviceChains());
+        proxyFactory.setFrozen(isCompileAdviceChains());
         if (advisorsPreFiltered()) {
             proxyFactory.setPreFiltered(true);// 已经提前处理
         }
@@ -396,6 +413,18 @@ public abstract class AbstractAutoProxyCreator extends ProxyConfig implements Sm
 
     }
 
+    /**
+     * 容器销毁时清空代理类缓存，缓存中的切面不再持有容器
+     */
+    @Override
+    public void destroy() {
+        this.proxyClassCache.clear();
+    }
+
+    public ProxyClassCache getProxyClassCache() {
+        return this.proxyClassCache;
+    }
+
     protected ClassLoader getProxyClassLoader() {
         return this.beanFactory.getBeanClassLoader();
     }
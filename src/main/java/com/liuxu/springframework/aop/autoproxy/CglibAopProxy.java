@@ -1,10 +1,14 @@
 package com.liuxu.springframework.aop.autoproxy;
 
+import com.liuxu.springframework.aop.Advisor;
 import com.liuxu.springframework.aop.TargetSource;
+import com.liuxu.springframework.aop.framework.AdviceChain;
 import com.liuxu.springframework.aop.framework.AdvisedSupport;
+import com.liuxu.springframework.aop.framework.CompiledAdviceChain;
 import com.liuxu.springframework.aop.framework.ReflectiveMethodInvocation;
 import com.liuxu.springframework.aop.utils.AopUtils;
 import com.liuxu.springframework.utils.ClassUtils;
+import net.sf.cglib.core.CodeGenerationException;
 import net.sf.cglib.proxy.Callback;
 import net.sf.cglib.proxy.CallbackFilter;
 import net.sf.cglib.proxy.Enhancer;
@@ -16,14 +20,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * Cglib代理
  * 开启Cglib代理因为JDK9模块化，需要添加jvm参数才行：--add-opens java.base/java.lang=ALL-UNNAMED
+ * - 目标方法通过 CGLIB 传入的 {@link MethodProxy}（基于生成的 FastClass 按索引直接调用）调用，不使用反射
+ * - 生成的代理类按 {@link ProxyClassKey} 缓存在创建者提供的 {@link ProxyClassCache} 中，代理同一个类、使用同一组切面的 bean
+ *   共用一个代理类，每个代理对象的状态（目标对象、拦截链）只通过 Callback 数组绑定
+ * - 代理对象不调用构造器创建，目标类的构造器不会因为创建代理而多执行一次
  *
  * @date: 2025-08-12
  * @author: liuxu
@@ -59,9 +70,53 @@ public class CglibAopProxy implements AopProxy {
     /** The CGLIB class separator: {@code "$$"}. */
     public static final String CGLIB_CLASS_SEPARATOR = "$$";
 
+    /**
+     * 代理类缓存
+     * CGLIB 自身的缓存以 CallbackFilter 作为 key 的一部分，而每个 bean 都有自己的 {@link ProxyCallbackFilter}，所以几乎不会命中
+     */
+    private final ProxyClassCache proxyClassCache;
+
+    /** sun.reflect.ReflectionFactory 实例，当前 JDK 不支持时为 null */
+    private static final Object reflectionFactory;
 
+    /** ReflectionFactory.newConstructorForSerialization(Class, Constructor)，当前 JDK 不支持时为 null */
+    private static final Method newConstructorForSerialization;
+
+    static {
+        Object factory = null;
+        Method method = null;
+        try {
+            // jdk.unsupported 模块中的 sun.reflect.ReflectionFactory，通过反射调用避免编译期依赖内部 API
+            Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+        } catch (Throwable ex) {
+            log.debug("不支持不调用构造器创建代理对象，使用无参构造器：{}", ex.toString());
+            factory = null;
+            method = null;
+        }
+        reflectionFactory = factory;
+        newConstructorForSerialization = method;
+    }
+
+    /** 固定拦截链的方法顺序 */
+    private static final Comparator<Method> METHOD_ORDER = Comparator.comparing(Method::getName).thenComparing(Method::toString);
+
+
+    /**
+     * 创建不与其他代理共用代理类的 CGLIB 代理
+     */
     public CglibAopProxy(AdvisedSupport advisedSupport) {
+        this(advisedSupport, new ProxyClassCache());
+    }
+
+    /**
+     * @param advisedSupport  代理配置
+     * @param proxyClassCache 代理类缓存（同一个容器内共用）
+     */
+    public CglibAopProxy(AdvisedSupport advisedSupport, ProxyClassCache proxyClassCache) {
         this.advised = advisedSupport;
+        this.proxyClassCache = proxyClassCache;
     }
 
     @Override
@@ -96,24 +151,7 @@ public class CglibAopProxy implements AopProxy {
                 }
             }
 
-            // 配置 CGLIB Enhancer
-            Enhancer enhancer = new Enhancer();
-
-            // 代理的父类是谁（要继承哪个类）。
-            enhancer.setSuperclass(proxySuperClass);
-
-            if (classLoader != null) {
-                enhancer.setClassLoader(classLoader);
-            }
-
-            // 代理实现哪些接口。
-            enhancer.setInterfaces(AopUtils.completeProxiedInterfaces(this.advised));
-            // 类名生成规则（避免冲突）。
-            // enhancer.setNamingPolicy();
-            // 让 CGLIB 在生成新类前，尝试用类加载器加载是否已有缓存的类，避免重复生成。
-            enhancer.setAttemptLoad(true);
-            // 如何生成字节码。
-            // enhancer.setStrategy();
+            Class<?>[] interfaces = AopUtils.completeProxiedInterfaces(this.advised);
 
             Callback[] callbacks = getCallbacks(rootClass);
             Class<?>[] types = new Class[callbacks.length];
@@ -121,15 +159,44 @@ public class CglibAopProxy implements AopProxy {
                 types[i] = callbacks[i].getClass();
             }
 
-            // 使用过滤器来决定目标对象的每个方法由哪个Callback负责
-            // CallbackFilter.accept(Method) 只在 代理类生成时执行一次，用来决定每个方法走哪个 Callback
-            // 调用时：JVM 执行的就是已经生成好的字节码，
-            ProxyCallbackFilter proxyCallbackFilter = new ProxyCallbackFilter(this.advised, this.fixedInterceptorMap, this.fixedInterceptorOffset);
+            // 代理类的形状相同时，每个方法选择的 Callback 索引也相同，可以直接复用已生成的代理类
+            ProxyClassKey cacheKey = new ProxyClassKey(proxySuperClass, interfaces, classLoader, types,
+                    this.advised.getAdvisors(), this.advised.isFrozen(), this.advised.isPreFiltered(),
+                    this.advised.getTargetSource().isStatic());
+            Class<?> proxyClass = this.proxyClassCache.getProxyClass(cacheKey, k -> {
+                ProxyClassKey key = (ProxyClassKey) k;
+                // 配置 CGLIB Enhancer
+                Enhancer enhancer = createEnhancer();
 
-            enhancer.setCallbackTypes(types);
-            enhancer.setCallbackFilter(proxyCallbackFilter);
+                // 代理的父类是谁（要继承哪个类）。
+                enhancer.setSuperclass(key.superClass);
 
-            return (classOnly ? createProxyClass(enhancer) : createProxyClassAndInstance(enhancer, callbacks));
+                if (key.classLoader != null) {
+                    enhancer.setClassLoader(key.classLoader);
+                }
+
+                // 代理实现哪些接口。
+                enhancer.setInterfaces(key.interfaces);
+                // 类名生成规则（避免冲突）。
+                // enhancer.setNamingPolicy();
+                // 让 CGLIB 在生成新类前，尝试用类加载器加载是否已有缓存的类，避免重复生成。
+                enhancer.setAttemptLoad(true);
+                // 已经由 ProxyClassCache 缓存，CGLIB 的缓存会一直持有第一个 bean 的 CallbackFilter（以及其中的目标对象）
+                enhancer.setUseCache(false);
+                // 如何生成字节码。
+                // enhancer.setStrategy();
+
+                // 使用过滤器来决定目标对象的每个方法由哪个Callback负责
+                // CallbackFilter.accept(Method) 只在 代理类生成时执行一次，用来决定每个方法走哪个 Callback
+                // 调用时：JVM 执行的就是已经生成好的字节码，
+                ProxyCallbackFilter proxyCallbackFilter = new ProxyCallbackFilter(this.advised, this.fixedInterceptorMap, this.fixedInterceptorOffset);
+
+                enhancer.setCallbackTypes(key.callbackTypes);
+                enhancer.setCallbackFilter(proxyCallbackFilter);
+                return createProxyClass(enhancer);
+            });
+
+            return (classOnly ? proxyClass : createProxyInstance(proxyClass, callbacks));
 
         } catch (Exception e) {
             throw new RuntimeException("创建CGLIB代理出现错误：", e);
@@ -146,23 +213,61 @@ public class CglibAopProxy implements AopProxy {
      */
     protected Class<?> createProxyClass(Enhancer enhancer) {
         // 是否在构建过程中设置拦截机制
-        enhancer.setInterceptDuringConstruction(false);
+        // 不调用构造器创建的代理对象不会经过构造器中的"构造完成"标记，必须始终拦截，否则方法调用会直接进入父类
+        enhancer.setInterceptDuringConstruction(newConstructorForSerialization != null);
         return enhancer.createClass();
     }
 
 
     /**
-     * 创建代理类实例
+     * 创建代理类实例，Callback 只绑定在这个代理对象上
+     * - 优先不调用构造器创建代理对象（与 Objenesis 相同，使用序列化构造器），父类构造器的副作用不会执行，
+     *   目标类也不需要无参构造器，之后通过 {@link Factory#setCallbacks} 绑定 Callback
+     * - 当前 JDK 不支持时退回调用无参构造器，此时构造期间的方法调用不拦截
      *
-     * @param enhancer  创建代理类
-     * @param callbacks 回调
+     * @param proxyClass 代理类
+     * @param callbacks  回调
      * @return 代理类实例
      */
-    protected Object createProxyClassAndInstance(Enhancer enhancer, Callback[] callbacks) {
-        // 是否在构建过程中设置拦截机制
-        enhancer.setInterceptDuringConstruction(false);
-        enhancer.setCallbacks(callbacks);
-        return enhancer.create();
+    protected Object createProxyInstance(Class<?> proxyClass, Callback[] callbacks) throws Exception {
+        if (Factory.class.isAssignableFrom(proxyClass)) {
+            Constructor<?> constructor = getConstructorlessConstructor(proxyClass);
+            if (constructor != null) {
+                Factory proxy = (Factory) constructor.newInstance();
+                proxy.setCallbacks(callbacks);
+                return proxy;
+            }
+        }
+        // 构造代理对象时从当前线程取出 Callback
+        Enhancer.registerCallbacks(proxyClass, callbacks);
+        try {
+            return proxyClass.getDeclaredConstructor().newInstance();
+        } finally {
+            Enhancer.registerCallbacks(proxyClass, null);
+        }
+    }
+
+    /**
+     * 获取代理类不调用任何构造器（只执行 Object 的构造器）的构造器
+     *
+     * @param proxyClass 代理类
+     * @return 构造器 或 null（当前 JDK 不支持）
+     */
+    private Constructor<?> getConstructorlessConstructor(Class<?> proxyClass) {
+        if (newConstructorForSerialization == null) {
+            return null;
+        }
+        return this.proxyClassCache.getConstructorlessConstructor(proxyClass, clazz -> {
+            try {
+                Constructor<?> constructor = (Constructor<?>) newConstructorForSerialization.invoke(reflectionFactory,
+                        clazz, Object.class.getDeclaredConstructor());
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                log.debug("无法不调用构造器创建代理对象 {}，使用无参构造器：{}", clazz.getName(), ex.toString());
+                return null;
+            }
+        });
     }
 
     protected Enhancer createEnhancer() {
@@ -200,14 +305,16 @@ public class CglibAopProxy implements AopProxy {
             // 将类中的每个方法的调用都定义 Callback，每次调用不需要在查找计算方法。直接拿对应索引的 Callback 执行
             Object target = this.advised.getTargetSource().getTarget();
             Method[] methods = rootClass.getMethods();
+            // getMethods() 不保证顺序，排序后同一个类的方法总是对应相同的 Callback 索引，代理类才能被复用
+            Arrays.sort(methods, METHOD_ORDER);
             Callback[] fixedCallbacks = new Callback[methods.length];
             this.fixedInterceptorMap = new HashMap<>(methods.length);
 
             for (int i = 0; i < fixedCallbacks.length; i++) {
                 Method method = methods[i];
-                List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, rootClass);
+                AdviceChain chain = this.advised.getInterceptorChain(method, rootClass);
                 fixedCallbacks[i] = new FixedChainStaticTargetInterceptor(chain,
-                        target, this.advised.getTargetSource().getTargetClass());
+                        target, this.advised.getTargetSource().getTargetClass(), this.advised.isCompileAdviceChains());
                 this.fixedInterceptorMap.put(method, i);
             }
 
@@ -252,6 +359,36 @@ public class CglibAopProxy implements AopProxy {
         return retVal;
     }
 
+    /**
+     * 调用目标方法，可以使用 {@link MethodProxy} 时通过 FastClass 直接调用，否则使用反射
+     *
+     * @param target      目标对象
+     * @param method      方法
+     * @param args        参数
+     * @param methodProxy CGLIB 方法代理 或 null
+     * @return 方法返回值
+     */
+    private static Object invokeMethod(Object target, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+        if (methodProxy != null && target != null) {
+            try {
+                return methodProxy.invoke(target, args);
+            } catch (CodeGenerationException ex) {
+                // 无法生成 FastClass（例如类加载器不可见），回退为反射调用
+                log.warn("无法通过 MethodProxy 调用方法 {}，使用反射调用: {}", method, ex.toString());
+            }
+        }
+        return AopUtils.invokeJoinpointUsingReflection(method, target, args);
+    }
+
+    /**
+     * 是否可以使用 {@link MethodProxy} 调用目标方法
+     * - 只处理 public 方法（非 public 方法可能不在 FastClass 的可访问范围内），
+     *   Object 中声明的方法（equals、hashCode、toString…）仍使用反射
+     */
+    private static boolean isMethodProxyCompatible(Method method) {
+        return (Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class);
+    }
+
 
     @Override
     public boolean equals(Object other) {
@@ -280,7 +417,7 @@ public class CglibAopProxy implements AopProxy {
         public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
             Object target = this.targetSource.getTarget();
             try {
-                Object resVal = AopUtils.invokeJoinpointUsingReflection(method, target, args);
+                Object resVal = invokeMethod(target, method, args, isMethodProxyCompatible(method) ? methodProxy : null);
                 return processReturnType(target, proxy, method, resVal);
             } finally {
                 if (target != null) {
@@ -340,26 +477,46 @@ public class CglibAopProxy implements AopProxy {
 
     /**
      * 当代理配置冻结后，并且代理的目标对象属于静态资源(不会运行时变更的)，就会用该拦截器来处理目标对象的方法.
-     * 这个拦截中已经记录该方法的拦截链
+     * 这个拦截中已经记录该方法的拦截链，开启 {@link AdvisedSupport#isCompileAdviceChains()} 时，
+     * 第一次调用时（拿到 {@link MethodProxy} 后）把拦截链编译为 {@link CompiledAdviceChain}
      */
     private static class FixedChainStaticTargetInterceptor implements MethodInterceptor, Serializable {
 
-        private final List<Object> adviceChain;
+        private final AdviceChain adviceChain;
 
         private final Object target;
 
         private final Class<?> targetClass;
 
-        private FixedChainStaticTargetInterceptor(List<Object> adviceChain, Object target, Class<?> targetClass) {
+        private final boolean compileAdviceChain;
+
+        /** 编译后的拦截链，第一次调用时创建（并发创建时结果相同，不需要加锁） */
+        private volatile CompiledAdviceChain compiledAdviceChain;
+
+        private FixedChainStaticTargetInterceptor(AdviceChain adviceChain, Object target, Class<?> targetClass, boolean compileAdviceChain) {
             this.adviceChain = adviceChain;
             this.target = target;
             this.targetClass = targetClass;
+            this.compileAdviceChain = compileAdviceChain;
         }
 
         @Override
         public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
-            CglibMethodInvocation invocation = new CglibMethodInvocation(method, args, this.target, proxy, this.targetClass, this.adviceChain);
-            Object resVal = invocation.proceed();
+            Object resVal;
+            if (this.compileAdviceChain) {
+                CompiledAdviceChain compiled = this.compiledAdviceChain;
+                if (compiled == null) {
+                    MethodProxy joinpointProxy = (isMethodProxyCompatible(method) ? methodProxy : null);
+                    compiled = CompiledAdviceChain.compile(this.adviceChain,
+                            (target, arguments) -> invokeMethod(target, method, arguments, joinpointProxy));
+                    this.compiledAdviceChain = compiled;
+                }
+                resVal = compiled.invoke(proxy, this.target, this.targetClass, args);
+            } else {
+                CglibMethodInvocation invocation = new CglibMethodInvocation(method, args, this.target, proxy, this.targetClass,
+                        this.adviceChain, methodProxy);
+                resVal = invocation.proceed();
+            }
             return processReturnType(this.target, proxy, method, resVal);
         }
     }
@@ -390,16 +547,16 @@ public class CglibAopProxy implements AopProxy {
                 Class<?> targetClass = (target != null ? target.getClass() : null);
 
                 // 获取匹配的拦截方法链
-                List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+                AdviceChain chain = this.advised.getInterceptorChain(method, targetClass);
 
                 // 调用方法,拿到返回值
                 Object retVal;
                 if (chain.isEmpty()) {
                     // 没有拦截增强方法,直接调用
-                    retVal = AopUtils.invokeJoinpointUsingReflection(method, target, args);
+                    retVal = invokeMethod(target, method, args, isMethodProxyCompatible(method) ? methodProxy : null);
                 } else {
                     // 代理有拦截通知
-                    retVal = new CglibMethodInvocation(method, args, target, proxy, targetClass, chain).proceed();
+                    retVal = new CglibMethodInvocation(method, args, target, proxy, targetClass, chain, methodProxy).proceed();
                 }
 
                 // 校验返回值是否正确
@@ -415,17 +572,93 @@ public class CglibAopProxy implements AopProxy {
 
 
     /**
-     * 此类负责调用AOP代理的有拦截链的方法
+     * 此类负责调用AOP代理的有拦截链的方法，拦截链执行完毕后通过 {@link MethodProxy} 调用目标方法
      */
     private static class CglibMethodInvocation extends ReflectiveMethodInvocation {
 
-        public CglibMethodInvocation(Method method, Object[] arguments, Object target, Object proxy, Class<?> targetClass, List<?> interceptorsAndDynamicMethodMatchers) {
-            super(method, arguments, target, proxy, targetClass, interceptorsAndDynamicMethodMatchers);
+        private final MethodProxy methodProxy;
+
+        public CglibMethodInvocation(Method method, Object[] arguments, Object target, Object proxy, Class<?> targetClass,
+                                     AdviceChain chain, MethodProxy methodProxy) {
+            super(method, arguments, target, proxy, targetClass, chain);
+            this.methodProxy = (isMethodProxyCompatible(method) ? methodProxy : null);
+        }
+
+        @Override
+        protected Object invokeJoinpoint() throws Throwable {
+            return invokeMethod(getThis(), getMethod(), getArguments(), this.methodProxy);
+        }
+    }
+
+
+    /**
+     * 代理类缓存的 key：代理类的父类、接口、类加载器、Callback 布局，以及决定每个方法选择哪个 Callback 的切面（按实例比较）和配置
+     */
+    private static final class ProxyClassKey {
+
+        private final Class<?> superClass;
+
+        private final Class<?>[] interfaces;
+
+        private final ClassLoader classLoader;
+
+        private final Class<?>[] callbackTypes;
+
+        private final Advisor[] advisors;
+
+        private final boolean frozen;
+
+        private final boolean preFiltered;
+
+        private final boolean staticTarget;
+
+        private final int hashCode;
+
+        private ProxyClassKey(Class<?> superClass, Class<?>[] interfaces, ClassLoader classLoader, Class<?>[] callbackTypes,
+                              Advisor[] advisors, boolean frozen, boolean preFiltered, boolean staticTarget) {
+            this.superClass = superClass;
+            this.interfaces = interfaces;
+            this.classLoader = classLoader;
+            this.callbackTypes = callbackTypes;
+            this.advisors = advisors;
+            this.frozen = frozen;
+            this.preFiltered = preFiltered;
+            this.staticTarget = staticTarget;
+            int hashCode = superClass.hashCode();
+            hashCode = 31 * hashCode + Arrays.hashCode(interfaces);
+            hashCode = 31 * hashCode + System.identityHashCode(classLoader);
+            hashCode = 31 * hashCode + Arrays.hashCode(callbackTypes);
+            for (Advisor advisor : advisors) {
+                hashCode = 31 * hashCode + System.identityHashCode(advisor);
+            }
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ProxyClassKey that)) {
+                return false;
+            }
+            if (this.superClass != that.superClass || this.classLoader != that.classLoader ||
+                    this.frozen != that.frozen || this.preFiltered != that.preFiltered || this.staticTarget != that.staticTarget ||
+                    !Arrays.equals(this.interfaces, that.interfaces) || !Arrays.equals(this.callbackTypes, that.callbackTypes) ||
+                    this.advisors.length != that.advisors.length) {
+                return false;
+            }
+            for (int i = 0; i < this.advisors.length; i++) {
+                if (this.advisors[i] != that.advisors[i]) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         @Override
-        public Object proceed() throws Throwable {
-            return super.proceed();
+        public int hashCode() {
+            return this.hashCode;
         }
     }
 
@@ -475,8 +708,7 @@ public class CglibAopProxy implements AopProxy {
             }
 
             Class<?> targetClass = this.advised.getTargetSource().getTargetClass();
-            List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
-            boolean isAdvice = !chain.isEmpty();
+            boolean isAdvice = !this.advised.getInterceptorChain(method, targetClass).isEmpty();
             boolean isStatic = this.advised.getTargetSource().isStatic();
             boolean isFrozen = this.advised.isFrozen();
 
@@ -14,8 +14,19 @@ import java.lang.reflect.Proxy;
  */
 public class DefaultAopProxyFactory implements AopProxyFactory {
 
-    // 单例实现这个类
-    public static final DefaultAopProxyFactory INSTANCE = new DefaultAopProxyFactory();
+    // 单例实现这个类，CGLIB 代理之间不共用代理类
+    public static final DefaultAopProxyFactory INSTANCE = new DefaultAopProxyFactory(null);
+
+    /** CGLIB 代理类缓存 或 null（不共用代理类） */
+    private final ProxyClassCache proxyClassCache;
+
+
+    /**
+     * @param proxyClassCache CGLIB 代理类缓存，由持有它的容器负责清空；null 表示每个代理生成自己的代理类
+     */
+    public DefaultAopProxyFactory(ProxyClassCache proxyClassCache) {
+        this.proxyClassCache = proxyClassCache;
+    }
 
     @Override
     public AopProxy createAopProxy(AdvisedSupport config) {
@@ -33,7 +44,7 @@ public class DefaultAopProxyFactory implements AopProxyFactory {
             }
 
             // cglib代理
-            return new CglibAopProxy(config);
+            return (this.proxyClassCache != null ? new CglibAopProxy(config, this.proxyClassCache) : new CglibAopProxy(config));
 
         } else {
             return new JdkDynamicAopProxy(config);
@@ -1,7 +1,9 @@
 package com.liuxu.springframework.aop.autoproxy;
 
 import com.liuxu.springframework.aop.TargetSource;
+import com.liuxu.springframework.aop.framework.AdviceChain;
 import com.liuxu.springframework.aop.framework.AdvisedSupport;
+import com.liuxu.springframework.aop.framework.CompiledAdviceChain;
 import com.liuxu.springframework.aop.framework.ReflectiveMethodInvocation;
 import com.liuxu.springframework.aop.utils.AopUtils;
 import com.liuxu.springframework.utils.ClassUtils;
@@ -9,7 +11,8 @@ import com.liuxu.springframework.utils.ClassUtils;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JDK动态代理 (同时也作为JDK代理对象的方法调用处理器实现类)
@@ -27,6 +30,9 @@ public final class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
     /** 代理的接口 */
     private final Class<?>[] proxiedInterfaces;
 
+    /** 编译后的拦截链，只在配置冻结、目标对象静态并开启 {@link AdvisedSupport#isCompileAdviceChains()} 时使用 */
+    private final Map<Method, CompiledAdviceChain> compiledAdviceChains = new ConcurrentHashMap<>();
+
     public JdkDynamicAopProxy(AdvisedSupport advised) {
         this.advised = advised;
         this.proxiedInterfaces = AopUtils.completeProxiedInterfaces(advised);
@@ -71,10 +77,23 @@ public final class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
 
             target = targetSource.getTarget();
             Class<?> targetClass = target != null ? target.getClass() : null;
-            // 2. 拿到明确的拦截链和动态匹配拦截记录
-            List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
 
             Object resVal;
+            if (targetSource.isStatic() && this.advised.isFrozen() && this.advised.isCompileAdviceChains()) {
+                // 配置冻结后拦截链不会再变化，使用编译后的拦截链
+                CompiledAdviceChain compiled = this.compiledAdviceChains.get(method);
+                if (compiled == null) {
+                    AdviceChain chain = this.advised.getInterceptorChain(method, targetClass);
+                    compiled = this.compiledAdviceChains.computeIfAbsent(method, m -> CompiledAdviceChain.compile(chain,
+                            (t, arguments) -> AopUtils.invokeJoinpointUsingReflection(m, t, arguments)));
+                }
+                resVal = compiled.invoke(proxy, target, targetClass, args);
+                return processReturnType(proxy, method, target, resVal);
+            }
+
+            // 2. 拿到明确的拦截链和动态匹配拦截记录
+            AdviceChain chain = this.advised.getInterceptorChain(method, targetClass);
+
             // 3.1 如果拦截链是空,则直接执行目标方法
             if (chain.isEmpty()) {
                 resVal = AopUtils.invokeJoinpointUsingReflection(method, target, args);
@@ -85,18 +104,7 @@ public final class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
             }
 
             // 4. 处理返回值
-            Class<?> returnType = method.getReturnType();
-            if (resVal != null && resVal == target &&
-                    returnType != Object.class && returnType.isInstance(proxy)) {
-                // 4.1 返回值如果是this,需要用代理对象替代目标对象返回
-                resVal = proxy;
-            } else if (resVal == null && returnType != Void.TYPE && returnType.isPrimitive()) {
-                // 4.2 返回值是null, 如果原始方法的返回类型如果是 primitive（基本类型），那就绝对不能返回 null
-                throw new RuntimeException("由于执行通知部分没有返回值，而方法返回类型又与原始返回类型不匹配，所以出现了错误。方法:" + method);
-            }
-
-            // 5. 返回...
-            return resVal;
+            return processReturnType(proxy, method, target, resVal);
         } finally {
             // 目标对象源处理,
             if (target != null && !targetSource.isStatic()) {
@@ -107,6 +115,25 @@ public final class JdkDynamicAopProxy implements AopProxy, InvocationHandler {
     }
 
 
+    /**
+     * 处理目标方法和拦截链执行完毕后的返回值
+     */
+    private static Object processReturnType(Object proxy, Method method, Object target, Object resVal) {
+        Class<?> returnType = method.getReturnType();
+        if (resVal != null && resVal == target &&
+                returnType != Object.class && returnType.isInstance(proxy)) {
+            // 4.1 返回值如果是this,需要用代理对象替代目标对象返回
+            resVal = proxy;
+        } else if (resVal == null && returnType != Void.TYPE && returnType.isPrimitive()) {
+            // 4.2 返回值是null, 如果原始方法的返回类型如果是 primitive（基本类型），那就绝对不能返回 null
+            throw new RuntimeException("由于执行通知部分没有返回值，而方法返回类型又与原始返回类型不匹配，所以出现了错误。方法:" + method);
+        }
+
+        // 5. 返回...
+        return resVal;
+    }
+
+
     /**
      * 检查代理对象是否是同一个,通过advised,接口,advisor 来判断是否匹配.不会调用目标对象的 equals() 方法
      *
@@ -0,0 +1,50 @@
+package com.liuxu.springframework.aop.autoproxy;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * CGLIB 代理类缓存，代理同一个类、使用同一组切面的 bean 共用一个代理类
+ * - 缓存的 key 持有切面（切面又持有所在的容器）、目标类和类加载器，所以缓存不能是静态的：
+ *   由自动代理创建器按容器持有，容器销毁时清空，容器和它的类加载器都可以被回收
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ * @see CglibAopProxy
+ */
+public class ProxyClassCache {
+
+    /** key:代理类的形状 value:生成的代理类 */
+    private final Map<Object, Class<?>> proxyClasses = new ConcurrentHashMap<>(64);
+
+    /** 代理类对应的不调用构造器的构造器 */
+    private final Map<Class<?>, Constructor<?>> constructorlessConstructors = new ConcurrentHashMap<>(64);
+
+
+    Class<?> getProxyClass(Object key, Function<Object, Class<?>> generator) {
+        Class<?> proxyClass = this.proxyClasses.get(key);
+        return (proxyClass != null ? proxyClass : this.proxyClasses.computeIfAbsent(key, generator));
+    }
+
+    Constructor<?> getConstructorlessConstructor(Class<?> proxyClass, Function<Class<?>, Constructor<?>> factory) {
+        return this.constructorlessConstructors.computeIfAbsent(proxyClass, factory);
+    }
+
+    /**
+     * 已缓存的代理类数量
+     */
+    public int size() {
+        return this.proxyClasses.size();
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        this.proxyClasses.clear();
+        this.constructorlessConstructors.clear();
+    }
+
+}
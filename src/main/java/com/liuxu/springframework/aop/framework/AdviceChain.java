@@ -0,0 +1,128 @@
+package com.liuxu.springframework.aop.framework;
+
+import com.liuxu.springframework.aop.MethodInterceptor;
+import com.liuxu.springframework.aop.matches.MethodMatcher;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 一个方法在一个目标类上的拦截链（不可变）
+ * - 拦截链元素（{@link MethodInterceptor} 或 {@link InterceptorAndDynamicMethodMatcher}）预先拆成拦截器数组和动态方法匹配器数组，
+ * 调用时按索引访问，不需要逐个 instanceof 判断
+ * - 记录是否存在动态方法匹配器，全部静态匹配时不需要检查匹配器
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public final class AdviceChain {
+
+    private static final Object[] EMPTY_ELEMENTS = new Object[0];
+
+    private static final MethodInterceptor[] EMPTY_INTERCEPTORS = new MethodInterceptor[0];
+
+    /** 拦截链对应的方法 */
+    private final Method method;
+
+    /** 拦截链对应的目标类 或 null */
+    private final Class<?> targetClass;
+
+    /** 拦截链元素：拦截器 或 拦截器和动态方法匹配器的组合 */
+    private final Object[] elements;
+
+    /** 每个元素的拦截器 */
+    private final MethodInterceptor[] interceptors;
+
+    /** 每个元素的动态方法匹配器（静态匹配的为 null），全部静态匹配时为 null */
+    private final MethodMatcher[] dynamicMatchers;
+
+    /** 只读的元素列表，兼容返回 List 的接口 */
+    private final List<Object> elementList;
+
+
+    private AdviceChain(Method method, Class<?> targetClass, Object[] elements) {
+        this.method = method;
+        this.targetClass = targetClass;
+        this.elements = elements;
+        this.interceptors = (elements.length == 0 ? EMPTY_INTERCEPTORS : new MethodInterceptor[elements.length]);
+        MethodMatcher[] dynamicMatchers = new MethodMatcher[elements.length];
+        boolean hasDynamicMatchers = false;
+        for (int i = 0; i < elements.length; i++) {
+            if (elements[i] instanceof InterceptorAndDynamicMethodMatcher iadmm) {
+                this.interceptors[i] = iadmm.methodInterceptor();
+                dynamicMatchers[i] = iadmm.methodMatcher();
+                hasDynamicMatchers = true;
+            } else {
+                this.interceptors[i] = (MethodInterceptor) elements[i];
+            }
+        }
+        this.dynamicMatchers = (hasDynamicMatchers ? dynamicMatchers : null);
+        this.elementList = Collections.unmodifiableList(Arrays.asList(elements));
+    }
+
+    /**
+     * 创建拦截链
+     *
+     * @param method      方法
+     * @param targetClass 目标类 或 null
+     * @param elements    拦截链元素（拦截器 或 {@link InterceptorAndDynamicMethodMatcher}）
+     * @return 拦截链
+     */
+    public static AdviceChain of(Method method, Class<?> targetClass, List<?> elements) {
+        return new AdviceChain(method, targetClass, (elements.isEmpty() ? EMPTY_ELEMENTS : elements.toArray()));
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    public Class<?> getTargetClass() {
+        return this.targetClass;
+    }
+
+    public boolean isEmpty() {
+        return this.elements.length == 0;
+    }
+
+    public int size() {
+        return this.elements.length;
+    }
+
+    /**
+     * 每个元素的拦截器（不要修改返回的数组）
+     */
+    public MethodInterceptor[] getInterceptors() {
+        return this.interceptors;
+    }
+
+    /**
+     * 每个元素的动态方法匹配器（不要修改返回的数组），静态匹配的元素为 null
+     *
+     * @return 动态方法匹配器 或 null（全部静态匹配）
+     */
+    public MethodMatcher[] getDynamicMatchers() {
+        return this.dynamicMatchers;
+    }
+
+    /**
+     * 是否存在需要运行时动态匹配的拦截器
+     */
+    public boolean hasDynamicMatchers() {
+        return this.dynamicMatchers != null;
+    }
+
+    /**
+     * 只读的拦截链元素列表
+     */
+    public List<Object> asList() {
+        return this.elementList;
+    }
+
+    @Override
+    public String toString() {
+        return "AdviceChain" + this.elementList + " for " + this.method;
+    }
+
+}
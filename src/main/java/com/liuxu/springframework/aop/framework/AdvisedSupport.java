@@ -50,9 +50,9 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
     private boolean preFiltered = false;
 
     /**
-     * 缓存，将 Method 作为键，将 advisor 链 List 作为值。
+     * 拦截链缓存，key:方法 value:该方法在各个目标类上的拦截链（通常只有一个目标类，按目标类线性查找，查找时不创建 key 对象）
      */
-    private transient Map<MethodCacheKey, List<Object>> methodCache;
+    private transient Map<Method, AdviceChain[]> methodCache;
 
 
     public AdvisedSupport() {
@@ -71,8 +71,8 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
             throw new IllegalArgumentException("指定的类必须是接口");
         }
         if (!this.interfaces.contains(interfaces)) {
+            // 拦截链与代理的接口无关，不需要清除缓存
             this.interfaces.add(interfaces);
-            adviceChanged();// 清除缓存
         }
     }
 
@@ -103,18 +103,47 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
      *
      * @param method      方法
      * @param targetClass 目标类
-     * @return
+     * @return 只读的拦截链
      */
     public List<Object> getInterceptorsAndDynamicInterceptionAdvice(Method method, Class<?> targetClass) {
-        MethodCacheKey cacheKey = new MethodCacheKey(method);
-        List<Object> cached = methodCache.get(cacheKey);
-        if (cached == null) {
-            // 获取拦截链
-            cached = this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(this, method, targetClass);
-            this.methodCache.put(cacheKey, cached);
+        return getInterceptorChain(method, targetClass).asList();
+    }
+
+    /**
+     * 获取指定方法在目标类上的拦截链，按 (方法, 目标类) 缓存
+     *
+     * @param method      方法
+     * @param targetClass 目标类 或 null
+     * @return 拦截链
+     */
+    public AdviceChain getInterceptorChain(Method method, Class<?> targetClass) {
+        AdviceChain[] chains = this.methodCache.get(method);
+        if (chains != null) {
+            for (AdviceChain chain : chains) {
+                if (chain.getTargetClass() == targetClass) {
+                    return chain;
+                }
+            }
         }
 
-        return cached;
+        // 获取拦截链
+        AdviceChain chain = AdviceChain.of(method, targetClass,
+                this.advisorChainFactory.getInterceptorsAndDynamicInterceptionAdvice(this, method, targetClass));
+        this.methodCache.compute(method, (m, existing) -> {
+            if (existing == null) {
+                return new AdviceChain[]{chain};
+            }
+            for (AdviceChain other : existing) {
+                if (other.getTargetClass() == targetClass) {
+                    // 并发计算出了相同的拦截链
+                    return existing;
+                }
+            }
+            AdviceChain[] newChains = Arrays.copyOf(existing, existing.length + 1);
+            newChains[existing.length] = chain;
+            return newChains;
+        });
+        return chain;
     }
 
 
@@ -130,7 +159,11 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 
     @Override
     public void setPreFiltered(boolean preFiltered) {
-        this.preFiltered = preFiltered;
+        if (this.preFiltered != preFiltered) {
+            this.preFiltered = preFiltered;
+            // 会改变所有切面的类匹配结果
+            adviceChanged();
+        }
     }
 
     @Override
@@ -155,58 +188,62 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 
         if (advisors != null && !advisors.isEmpty()) {
             this.advisors.addAll(advisors);
-            adviceChanged();
+            for (Advisor advisor : advisors) {
+                adviceChanged(advisor);
+            }
         }
     }
 
+    /**
+     * 移除切面
+     *
+     * @param advisor 切面
+     * @return true:移除成功 false:不存在该切面
+     */
+    public boolean removeAdvisor(Advisor advisor) {
+        if (isFrozen()) {
+            throw new IllegalStateException("一旦冻结，就无法从 proxy-config 中移除顾问");
+        }
+
+        boolean removed = this.advisors.remove(advisor);
+        if (removed) {
+            adviceChanged(advisor);
+        }
+        return removed;
+    }
+
 
     /**
-     * 在通知发生更改时调用
+     * 在通知发生更改时调用，清除所有的拦截链缓存
      */
     protected void adviceChanged() {
         this.methodCache.clear();
     }
 
-    public int getAdvisorCount() {
-        return this.advisors.size();
-    }
-
     /**
-     * 方法缓存key
+     * 在某个切面添加或移除时调用，只清除该切面会出现在其中的拦截链缓存
+     *
+     * @param advisor 添加或移除的切面
      */
-    private static final class MethodCacheKey implements Comparable<MethodCacheKey> {
-        private final Method method;
-
-        private final int hashCode;
-
-        public MethodCacheKey(Method method) {
-            this.method = method;
-            this.hashCode = method.hashCode();
-        }
-
-        public boolean equals(Object other) {
-            return (this == other || (other instanceof MethodCacheKey that && this.method == that.method));
-        }
-
-
-        @Override
-        public int hashCode() {
-            return this.hashCode;
-        }
-
-        @Override
-        public String toString() {
-            return this.method.toString();
+    protected void adviceChanged(Advisor advisor) {
+        for (Method method : this.methodCache.keySet()) {
+            this.methodCache.computeIfPresent(method, (m, chains) -> {
+                List<AdviceChain> retained = new ArrayList<>(chains.length);
+                for (AdviceChain chain : chains) {
+                    if (!this.advisorChainFactory.appliesTo(this, advisor, m, chain.getTargetClass())) {
+                        retained.add(chain);
+                    }
+                }
+                if (retained.size() == chains.length) {
+                    return chains;
+                }
+                return (retained.isEmpty() ? null : retained.toArray(new AdviceChain[0]));
+            });
         }
+    }
 
-        @Override
-        public int compareTo(MethodCacheKey other) {
-            int result = this.method.getName().compareTo(other.method.getName());
-            if (result == 0) {
-                result = this.method.toString().compareTo(other.method.toString());
-            }
-            return result;
-        }
+    public int getAdvisorCount() {
+        return this.advisors.size();
     }
 
 
@@ -1,6 +1,7 @@
 package com.liuxu.springframework.aop.framework;
 
 import com.liuxu.springframework.aop.Advised;
+import com.liuxu.springframework.aop.Advisor;
 
 import java.lang.reflect.Method;
 import java.util.List;
@@ -22,4 +23,18 @@ public interface AdvisorChainFactory {
      */
     List<Object> getInterceptorsAndDynamicInterceptionAdvice(Advised config, Method method, Class<?> targetClass);
 
+    /**
+     * 切面是否会出现在方法的拦截链中，用于切面变化时只让受影响的拦截链缓存失效
+     * 默认保守地认为都会出现
+     *
+     * @param config      AOP运行时的配置信息
+     * @param advisor     切面
+     * @param method      目标方法
+     * @param targetClass 目标类
+     * @return true:切面会出现在拦截链中
+     */
+    default boolean appliesTo(Advised config, Advisor advisor, Method method, Class<?> targetClass) {
+        return true;
+    }
+
 }
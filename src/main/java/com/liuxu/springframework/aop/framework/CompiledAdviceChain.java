@@ -0,0 +1,232 @@
+package com.liuxu.springframework.aop.framework;
+
+import com.liuxu.springframework.aop.MethodBeforeAdvice;
+import com.liuxu.springframework.aop.MethodInterceptor;
+import com.liuxu.springframework.aop.MethodInvocation;
+import com.liuxu.springframework.aop.ProxyMethodInvocation;
+import com.liuxu.springframework.aop.aspectj.advice.AbstractAspectJAdvice;
+import com.liuxu.springframework.aop.interceptor.MethodBeforeAdviceInterceptor;
+import com.liuxu.springframework.aop.matches.MethodMatcher;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 编译后的拦截链：代理配置冻结后，每个方法的拦截链不会再变化，预先展开为固定的结构，调用时不再解释 {@link ReflectiveMethodInvocation}
+ * - 拦截器展开为数组，没有动态匹配的拦截链调用时不需要逐个 instanceof 判断
+ * - 链头部的普通前置通知（不依赖 {@link MethodInvocation}，非 AspectJ 通知）直接调用，不创建调用对象
+ * - 其余拦截器为空时直接调用目标方法，整个调用不创建任何对象；否则只为剩余的拦截器创建一个数组驱动的调用对象
+ * - 目标方法通过 {@link Joinpoint} 调用（CGLIB 代理使用 MethodProxy）
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public final class CompiledAdviceChain {
+
+    private static final MethodBeforeAdvice[] EMPTY_BEFORE_ADVICES = new MethodBeforeAdvice[0];
+
+    private static final Object[] EMPTY_ARGS = new Object[0];
+
+    private final Method method;
+
+    /** 链头部直接调用的前置通知 */
+    private final MethodBeforeAdvice[] beforeAdvices;
+
+    /** 剩余的拦截器 */
+    private final MethodInterceptor[] interceptors;
+
+    /** 每个拦截器的动态方法匹配器（静态匹配的为 null），整个链都是静态匹配时为 null */
+    private final MethodMatcher[] dynamicMatchers;
+
+    /** 目标方法调用 */
+    private final Joinpoint joinpoint;
+
+
+    private CompiledAdviceChain(Method method, MethodBeforeAdvice[] beforeAdvices, MethodInterceptor[] interceptors,
+                                MethodMatcher[] dynamicMatchers, Joinpoint joinpoint) {
+        this.method = method;
+        this.beforeAdvices = beforeAdvices;
+        this.interceptors = interceptors;
+        this.dynamicMatchers = dynamicMatchers;
+        this.joinpoint = joinpoint;
+    }
+
+    /**
+     * 编译拦截链
+     *
+     * @param chain     拦截链
+     * @param joinpoint 目标方法调用
+     * @return 编译后的拦截链
+     */
+    public static CompiledAdviceChain compile(AdviceChain chain, Joinpoint joinpoint) {
+        MethodInterceptor[] chainInterceptors = chain.getInterceptors();
+        MethodMatcher[] chainDynamicMatchers = chain.getDynamicMatchers();
+        List<MethodBeforeAdvice> beforeAdvices = new ArrayList<>(2);
+        int start = 0;
+        while (start < chainInterceptors.length &&
+                (chainDynamicMatchers == null || chainDynamicMatchers[start] == null) &&
+                chainInterceptors[start] instanceof MethodBeforeAdviceInterceptor beforeInterceptor &&
+                !(beforeInterceptor.getAdvice() instanceof AbstractAspectJAdvice)) {
+            beforeAdvices.add(beforeInterceptor.getAdvice());
+            start++;
+        }
+
+        MethodInterceptor[] interceptors = Arrays.copyOfRange(chainInterceptors, start, chainInterceptors.length);
+        MethodMatcher[] dynamicMatchers = null;
+        if (chainDynamicMatchers != null) {
+            dynamicMatchers = Arrays.copyOfRange(chainDynamicMatchers, start, chainDynamicMatchers.length);
+        }
+        return new CompiledAdviceChain(chain.getMethod(), beforeAdvices.toArray(EMPTY_BEFORE_ADVICES), interceptors,
+                dynamicMatchers, joinpoint);
+    }
+
+    /**
+     * 执行拦截链和目标方法
+     *
+     * @param proxy       代理对象
+     * @param target      目标对象
+     * @param targetClass 目标类
+     * @param args        参数
+     * @return 方法返回值
+     * @throws Throwable 通知或目标方法抛出的异常
+     */
+    public Object invoke(Object proxy, Object target, Class<?> targetClass, Object[] args) throws Throwable {
+        Object[] arguments = (args != null ? args : EMPTY_ARGS);
+        for (MethodBeforeAdvice beforeAdvice : this.beforeAdvices) {
+            beforeAdvice.before(this.method, arguments, target);
+        }
+        if (this.interceptors.length == 0) {
+            return this.joinpoint.invoke(target, arguments);
+        }
+        return new CompiledMethodInvocation(this, proxy, target, targetClass, arguments).proceed();
+    }
+
+
+    /**
+     * 目标方法调用
+     */
+    @FunctionalInterface
+    public interface Joinpoint {
+
+        /**
+         * 调用目标方法
+         *
+         * @param target 目标对象
+         * @param args   参数
+         * @return 方法返回值
+         * @throws Throwable 目标方法抛出的异常（不包装）
+         */
+        Object invoke(Object target, Object[] args) throws Throwable;
+    }
+
+
+    /**
+     * 按编译后的拦截器数组推进的方法调用
+     */
+    private static final class CompiledMethodInvocation implements ProxyMethodInvocation, Cloneable {
+
+        private final CompiledAdviceChain chain;
+
+        private final Object proxy;
+
+        private final Object target;
+
+        private final Class<?> targetClass;
+
+        private Object[] arguments;
+
+        /** 用户属性 调用时延迟加载 */
+        private UserAttributes userAttributes;
+
+        /** 用户属性所属的调用对象，克隆的调用对象指向原始调用对象，共享用户属性（不需要在克隆前创建用户属性） */
+        private final CompiledMethodInvocation attributesOwner = this;
+
+        /** 当前拦截器索引 */
+        private int currentInterceptorIndex = -1;
+
+        private CompiledMethodInvocation(CompiledAdviceChain chain, Object proxy, Object target, Class<?> targetClass, Object[] arguments) {
+            this.chain = chain;
+            this.proxy = proxy;
+            this.target = target;
+            this.targetClass = targetClass;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public Object proceed() throws Throwable {
+            MethodInterceptor[] interceptors = this.chain.interceptors;
+            MethodMatcher[] dynamicMatchers = this.chain.dynamicMatchers;
+            while (++this.currentInterceptorIndex < interceptors.length) {
+                int index = this.currentInterceptorIndex;
+                if (dynamicMatchers == null || dynamicMatchers[index] == null) {
+                    return interceptors[index].invoke(this);
+                }
+                // 动态匹配不上该方法时，继续下一个拦截器
+                Class<?> actualClass = (this.targetClass != null ? this.targetClass : this.chain.method.getDeclaringClass());
+                if (dynamicMatchers[index].matches(this.chain.method, actualClass, this.arguments)) {
+                    return interceptors[index].invoke(this);
+                }
+            }
+            // 拦截链执行完毕,调用目标方法
+            return this.chain.joinpoint.invoke(this.target, this.arguments);
+        }
+
+        @Override
+        public Method getMethod() {
+            return this.chain.method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return this.arguments;
+        }
+
+        @Override
+        public Object getThis() {
+            return this.target;
+        }
+
+        @Override
+        public Object getProxy() {
+            return this.proxy;
+        }
+
+        @Override
+        public MethodInvocation invocableClone() {
+            return invocableClone(this.arguments.length > 0 ? this.arguments.clone() : this.arguments);
+        }
+
+        @Override
+        public MethodInvocation invocableClone(Object... arguments) {
+            try {
+                CompiledMethodInvocation clone = (CompiledMethodInvocation) clone();
+                clone.arguments = arguments;
+                return clone;
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("CloneNotSupportedException", e);
+            }
+        }
+
+        @Override
+        public void setUserAttribute(String key, Object value) {
+            CompiledMethodInvocation owner = this.attributesOwner;
+            if (value != null) {
+                if (owner.userAttributes == null) {
+                    owner.userAttributes = new UserAttributes();
+                }
+                owner.userAttributes.put(key, value);
+            } else if (owner.userAttributes != null) {
+                owner.userAttributes.remove(key);
+            }
+        }
+
+        @Override
+        public Object getUserAttribute(String key) {
+            UserAttributes userAttributes = this.attributesOwner.userAttributes;
+            return (userAttributes != null ? userAttributes.get(key) : null);
+        }
+    }
+
+}
@@ -42,44 +42,34 @@ public class DefaultAdvisorChainFactory implements AdvisorChainFactory {
 
         // 1. 遍历所有Advisor，检查切点是否匹配
         for (Advisor advisor : advisors) {
-            // 条件一：如果是 PointcutAdvisor
-            if (advisor instanceof PointcutAdvisor pointcutAdvisor) {
-                // 1.1 类匹配，可检查是否预过滤
-                if (config.isPreFiltered() || pointcutAdvisor.getPointcut().getClassFilter().matches(actual)) {
-
-                    // 1.2 方法过滤器，过滤通过：
-                    // 根据方法是否需要动态匹配，不需要直接存储拦截器，需要的话将方法匹配器和拦截器组合一并存储
-                    MethodMatcher mm = pointcutAdvisor.getPointcut().getMethodMatcher();
-                    if (mm.matches(method, actual)) {
-                        if (mm.isRuntime()) {
-                            // 需要运行时动态匹配
-                            MethodInterceptor[] interceptor = advisorAdapterRegistry.getInterceptor(advisor);
-                            for (MethodInterceptor mi : interceptor) {
-                                interceptorList.add(new InterceptorAndDynamicMethodMatcher(mi, mm));
-                            }
-
-                        } else {
-                            MethodInterceptor[] interceptor = advisorAdapterRegistry.getInterceptor(advisor);
-                            interceptorList.addAll(Arrays.asList(interceptor));
-                        }
-
-                    }
-
+            if (!appliesTo(config, advisor, method, actual)) {
+                continue;
+            }
+            MethodInterceptor[] interceptor = advisorAdapterRegistry.getInterceptor(advisor);
+            if (advisor instanceof PointcutAdvisor pointcutAdvisor && pointcutAdvisor.getPointcut().getMethodMatcher().isRuntime()) {
+                // 需要运行时动态匹配，将方法匹配器和拦截器组合一并存储
+                MethodMatcher mm = pointcutAdvisor.getPointcut().getMethodMatcher();
+                for (MethodInterceptor mi : interceptor) {
+                    interceptorList.add(new InterceptorAndDynamicMethodMatcher(mi, mm));
                 }
-
-            } else if (false) {
-
-                // 条件二：如果是引用增强。
-                // 2.1 进行类级别匹配，通过直接存入静态匹配集合中
             } else {
-                // else 兜底：不匹配，直接存入拦截集合中
-                MethodInterceptor[] interceptor = advisorAdapterRegistry.getInterceptor(advisor);
                 interceptorList.addAll(Arrays.asList(interceptor));
             }
-
-
         }
 
         return interceptorList;
     }
+
+    @Override
+    public boolean appliesTo(Advised config, Advisor advisor, Method method, Class<?> targetClass) {
+        Class<?> actual = targetClass != null ? targetClass : method.getDeclaringClass();
+        // 省略：不处理类型增强（引用增强）.....
+        if (advisor instanceof PointcutAdvisor pointcutAdvisor) {
+            // 条件一：如果是 PointcutAdvisor，类匹配（可检查是否预过滤）并且方法静态匹配通过
+            return (config.isPreFiltered() || pointcutAdvisor.getPointcut().getClassFilter().matches(actual)) &&
+                    pointcutAdvisor.getPointcut().getMethodMatcher().matches(method, actual);
+        }
+        // else 兜底：不匹配，直接存入拦截集合中
+        return true;
+    }
 }
@@ -25,6 +25,11 @@ public class ProxyConfig {
      */
     private boolean frozen = false;
 
+    /**
+     * 配置冻结后是否把每个方法的拦截链编译为 {@link CompiledAdviceChain}，调用时不再解释执行拦截链
+     */
+    private boolean compileAdviceChains = false;
+
 
     public boolean isProxyTargetClass() {
         return proxyTargetClass;
@@ -50,6 +55,14 @@ public class ProxyConfig {
         this.frozen = frozen;
     }
 
+    public boolean isCompileAdviceChains() {
+        return compileAdviceChains;
+    }
+
+    public void setCompileAdviceChains(boolean compileAdviceChains) {
+        this.compileAdviceChains = compileAdviceChains;
+    }
+
 
     /**
      * 拷贝代理配置
@@ -60,6 +73,7 @@ public class ProxyConfig {
         this.exposeProxy = config.exposeProxy;
         this.frozen = config.frozen;
         this.proxyTargetClass = config.proxyTargetClass;
+        this.compileAdviceChains = config.compileAdviceChains;
     }
 
 
@@ -3,13 +3,12 @@ package com.liuxu.springframework.aop.framework;
 import com.liuxu.springframework.aop.MethodInterceptor;
 import com.liuxu.springframework.aop.MethodInvocation;
 import com.liuxu.springframework.aop.ProxyMethodInvocation;
+import com.liuxu.springframework.aop.matches.MethodMatcher;
 import com.liuxu.springframework.utils.ReflectionUtils;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * 反射方法调用器
@@ -19,6 +18,7 @@ import java.util.Map;
  */
 public class ReflectiveMethodInvocation implements MethodInvocation, ProxyMethodInvocation, Cloneable {
 
+    private static final Object[] EMPTY_ARGS = new Object[0];
 
     // 目标方法
     private Method method;
@@ -34,52 +34,53 @@ public class ReflectiveMethodInvocation implements MethodInvocation, ProxyMethod
     /**
      * 用户属性 调用时延迟加载
      */
-    private Map<String, Object> userAttributes;
+    private UserAttributes userAttributes;
+
+    /** 用户属性所属的调用对象，克隆的调用对象指向原始调用对象，共享用户属性（不需要在克隆前创建用户属性） */
+    private final ReflectiveMethodInvocation attributesOwner = this;
 
     /** 拦截链(拦截器和方法匹配拦截器组合) */
-    private final List<?> interceptorsAndDynamicMethodMatchers;
+    private final AdviceChain chain;
 
     /** 当前拦截器索引 */
     private int currentInterceptorIndex = -1;
 
 
     public ReflectiveMethodInvocation(Method method, Object[] arguments, Object target, Object proxy, Class<?> targetClass, List<?> interceptorsAndDynamicMethodMatchers) {
+        this(method, arguments, target, proxy, targetClass, AdviceChain.of(method, targetClass, interceptorsAndDynamicMethodMatchers));
+    }
+
+    public ReflectiveMethodInvocation(Method method, Object[] arguments, Object target, Object proxy, Class<?> targetClass, AdviceChain chain) {
         this.method = method;
-        this.arguments = (arguments != null ? arguments : new Object[0]);
+        this.arguments = (arguments != null ? arguments : EMPTY_ARGS);
         this.target = target;
         this.proxy = proxy;
         this.targetClass = targetClass;
-        this.interceptorsAndDynamicMethodMatchers = interceptorsAndDynamicMethodMatchers;
+        this.chain = chain;
     }
 
 
     @Override
     public Object proceed() throws Throwable {
-        /* 进行链式递归调用 */
-
-        if (this.currentInterceptorIndex == this.interceptorsAndDynamicMethodMatchers.size() - 1) {
-            // 拦截连执行完毕,调用目标方法
-            return invokeJoinpointUsingReflection(this.method, this.target, this.arguments);
-        }
-
-
-        Object interceptor = this.interceptorsAndDynamicMethodMatchers.get(++this.currentInterceptorIndex);
-        if (interceptor instanceof InterceptorAndDynamicMethodMatcher iadmm) {
+        /* 进行链式推进调用 */
+        MethodInterceptor[] interceptors = this.chain.getInterceptors();
+        MethodMatcher[] dynamicMatchers = this.chain.getDynamicMatchers();
+        while (++this.currentInterceptorIndex < interceptors.length) {
+            int index = this.currentInterceptorIndex;
+            if (dynamicMatchers == null || dynamicMatchers[index] == null) {
+                // 不需要动态匹配,静态匹配通过的,直接拦截器调用
+                return interceptors[index].invoke(this);
+            }
             // 动态匹配通知
             // 会将参数存入 JoinPointMatch 里,供通知方法参数绑定
             Class<?> targetClass = (this.targetClass != null ? this.targetClass : method.getDeclaringClass());
-            if (iadmm.methodMatcher().matches(this.method, targetClass, this.arguments)) {
-                return iadmm.methodInterceptor().invoke(this);
-            } else {
-                // 如果动态匹配不上该方法,则再次进入调用下一个拦截方法
-                return proceed();
+            if (dynamicMatchers[index].matches(this.method, targetClass, this.arguments)) {
+                return interceptors[index].invoke(this);
             }
-        } else {
-            // 不需要动态匹配,静态匹配通过的,直接拦截器调用
-            // 拦截器直接调用
-            return ((MethodInterceptor) interceptor).invoke(this);
+            // 如果动态匹配不上该方法,则继续下一个拦截方法
         }
-
+        // 拦截连执行完毕,调用目标方法
+        return invokeJoinpoint();
     }
 
     @Override
@@ -105,7 +106,7 @@ public class ReflectiveMethodInvocation implements MethodInvocation, ProxyMethod
 
     @Override
     public MethodInvocation invocableClone() {
-        Object[] arguments = this.arguments.clone();
+        Object[] arguments = this.arguments;
         if (this.arguments.length > 0) {
             // 对于参数，构建参数数组的独立副本，浅克隆无法对引用类型创建独立副本
             arguments = this.arguments.clone();
@@ -122,9 +123,6 @@ public class ReflectiveMethodInvocation implements MethodInvocation, ProxyMethod
      */
     @Override
     public MethodInvocation invocableClone(Object... arguments) {
-        if (this.userAttributes == null) {
-            this.userAttributes = new HashMap<>();
-        }
         try {
             // 浅拷贝，基本值类型会创建独立副本，但引用类型的属性引用地址还是不变的。
             ReflectiveMethodInvocation clone = (ReflectiveMethodInvocation) clone();
@@ -137,24 +135,26 @@ public class ReflectiveMethodInvocation implements MethodInvocation, ProxyMethod
 
     @Override
     public void setUserAttribute(String key, Object value) {
+        ReflectiveMethodInvocation owner = this.attributesOwner;
         if (value != null) {
-            if (this.userAttributes == null) {
-                this.userAttributes = new HashMap<>();
+            if (owner.userAttributes == null) {
+                owner.userAttributes = new UserAttributes();
             }
-            this.userAttributes.put(key, value);
+            owner.userAttributes.put(key, value);
         } else {
-            if (this.userAttributes != null) {
-                this.userAttributes.remove(key);
+            if (owner.userAttributes != null) {
+                owner.userAttributes.remove(key);
             }
         }
     }
 
     @Override
     public Object getUserAttribute(String key) {
-        if (this.userAttributes == null) {
+        UserAttributes userAttributes = this.attributesOwner.userAttributes;
+        if (userAttributes == null) {
             return null;
         }
-        return this.userAttributes.get(key);
+        return userAttributes.get(key);
     }
 
     public void setArguments(Object[] arguments) {
@@ -162,6 +162,16 @@ public class ReflectiveMethodInvocation implements MethodInvocation, ProxyMethod
     }
 
 
+    /**
+     * 调用连接点方法(目标方法)，默认使用反射，子类可以使用更快的方式调用
+     *
+     * @return 方法返回值
+     * @throws Throwable 调用连接点时出现的异常
+     */
+    protected Object invokeJoinpoint() throws Throwable {
+        return invokeJoinpointUsingReflection(this.method, this.target, this.arguments);
+    }
+
     /**
      * 使用反射调用连接点方法(目标方法)
      *
@@ -0,0 +1,66 @@
+package com.liuxu.springframework.aop.framework;
+
+/**
+ * 方法调用的用户属性，代替 HashMap
+ * - 一次调用中的属性很少（连接点、每个带参数绑定的切点表达式的 JoinPointMatch），按 key/value 交替存放在一个数组中线性查找，
+ * 只需要分配本对象和一个小数组，没有哈希表和节点对象
+ * - 克隆的调用对象共享同一个实例（与原来共享 HashMap 的语义一致）
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+final class UserAttributes {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /** key/value 交替存放 */
+    private Object[] table = new Object[INITIAL_CAPACITY * 2];
+
+    private int size;
+
+
+    Object get(String key) {
+        Object[] table = this.table;
+        for (int i = 0; i < this.size * 2; i += 2) {
+            if (key.equals(table[i])) {
+                return table[i + 1];
+            }
+        }
+        return null;
+    }
+
+    void put(String key, Object value) {
+        Object[] table = this.table;
+        for (int i = 0; i < this.size * 2; i += 2) {
+            if (key.equals(table[i])) {
+                table[i + 1] = value;
+                return;
+            }
+        }
+        if (this.size * 2 == table.length) {
+            Object[] newTable = new Object[table.length * 2];
+            System.arraycopy(table, 0, newTable, 0, table.length);
+            this.table = table = newTable;
+        }
+        table[this.size * 2] = key;
+        table[this.size * 2 + 1] = value;
+        this.size++;
+    }
+
+    void remove(String key) {
+        Object[] table = this.table;
+        for (int i = 0; i < this.size * 2; i += 2) {
+            if (key.equals(table[i])) {
+                int last = (this.size - 1) * 2;
+                // 最后一个属性移到被删除的位置
+                table[i] = table[last];
+                table[i + 1] = table[last + 1];
+                table[last] = null;
+                table[last + 1] = null;
+                this.size--;
+                return;
+            }
+        }
+    }
+
+}
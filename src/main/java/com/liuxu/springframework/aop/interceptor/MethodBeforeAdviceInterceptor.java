@@ -21,6 +21,10 @@ public class MethodBeforeAdviceInterceptor implements MethodInterceptor {
         this.advice = advice;
     }
 
+    public MethodBeforeAdvice getAdvice() {
+        return advice;
+    }
+
     @Override
     public Object invoke(MethodInvocation mi) throws Throwable {
         // 方法前置通知
@@ -186,6 +186,18 @@ public abstract class AopUtils {
         }
     }
 
+    /**
+     * 给{@link AnnotationAwareAspectJAutoProxyCreator} 的 beanDefinition 设置编译拦截链的配置
+     *
+     * @param registry BeanDefinitionRegistry
+     */
+    public static void forceAutoProxyCreatorToCompileAdviceChains(BeanDefinitionRegistry registry) {
+        if (registry.containsBeanDefinition(AUTO_PROXY_CREATOR_BEAN_NAME)) {
+            BeanDefinition beanDefinition = registry.getBeanDefinition(AUTO_PROXY_CREATOR_BEAN_NAME);
+            beanDefinition.getPropertyValues().add(new PropertyValue("compileAdviceChains", Boolean.TRUE));
+        }
+    }
+
 
     /**
      * 拿到完整的代理接口
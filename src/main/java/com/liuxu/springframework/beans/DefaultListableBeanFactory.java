@@ -1,18 +1,26 @@
 package com.liuxu.springframework.beans;
 
+import com.liuxu.springframework.aop.TargetSource;
+import com.liuxu.springframework.aop.framework.ProxyFactory;
 import com.liuxu.springframework.beans.annotion.Component;
 import com.liuxu.springframework.beans.annotion.ComponentScan;
 import com.liuxu.springframework.beans.annotion.Configuration;
+import com.liuxu.springframework.beans.annotion.InjectionMetadata;
+import com.liuxu.springframework.beans.annotion.Lazy;
 import com.liuxu.springframework.beans.annotion.Primary;
 import com.liuxu.springframework.beans.annotion.Priority;
 import com.liuxu.springframework.beans.annotion.Qualifier;
 import com.liuxu.springframework.beans.autowirecapable.AbstractAutowireCapableBeanFactory;
+import com.liuxu.springframework.beans.beandefinition.AbstractBeanDefinition;
 import com.liuxu.springframework.beans.beandefinition.GenericBeanDefinition;
 import com.liuxu.springframework.beans.beandefinition.PropertyValue;
 import com.liuxu.springframework.beans.beandefinition.RootBeanDefinition;
+import com.liuxu.springframework.beans.beandefinition.ScannedGenericBeanDefinition;
+import com.liuxu.springframework.beans.config.AutowiredArgumentsResolver;
 import com.liuxu.springframework.beans.config.DependencyDescriptor;
 import com.liuxu.springframework.beans.destroy.DisposableBean;
 import com.liuxu.springframework.beans.destroy.DisposableBeanAdapter;
+import com.liuxu.springframework.beans.index.CandidateComponentsIndex;
 import com.liuxu.springframework.beans.interfaces.Aware;
 import com.liuxu.springframework.beans.interfaces.BeanDefinition;
 import com.liuxu.springframework.beans.interfaces.BeanDefinitionRegistry;
@@ -26,12 +34,23 @@ import com.liuxu.springframework.beans.interfaces.InitializingBean;
 import com.liuxu.springframework.beans.interfaces.InstantiationAwareBeanPostProcessor;
 import com.liuxu.springframework.beans.interfaces.MergedBeanDefinitionPostProcessor;
 import com.liuxu.springframework.beans.interfaces.ObjectFactory;
+import com.liuxu.springframework.beans.interfaces.ObjectProvider;
+import com.liuxu.springframework.beans.interfaces.Scope;
 import com.liuxu.springframework.beans.interfaces.SmartInitializingSingleton;
 import com.liuxu.springframework.beans.interfaces.SmartInstantiationAwareBeanPostProcessor;
 import com.liuxu.springframework.beans.postprocessor.AutowiredAnnotationBeanPostProcessor;
 import com.liuxu.springframework.beans.postprocessor.CommonAnnotationBeanPostProcessor;
 import com.liuxu.springframework.beans.postprocessor.ConfigurationClassPostProcessor;
+import com.liuxu.springframework.beans.postprocessor.InitDestroyAnnotationBeanPostProcessor;
+import com.liuxu.springframework.beans.support.BeanDefinitionSnapshot;
+import com.liuxu.springframework.beans.support.ClassPathBeanDefinitionScanner;
+import com.liuxu.springframework.beans.support.SingletonDependencyGraph;
+import com.liuxu.springframework.beans.support.TypeFilter;
+import com.liuxu.springframework.core.ResolvableType;
+import com.liuxu.springframework.core.metrics.StartupRecorder;
+import com.liuxu.springframework.core.metrics.StartupStep;
 import com.liuxu.springframework.utils.BeanFactoryUtils;
+import com.liuxu.springframework.utils.BeanUtils;
 import com.liuxu.springframework.utils.ClassUtils;
 import com.liuxu.springframework.utils.OrderUtils;
 import com.liuxu.springframework.utils.ReflectionUtils;
@@ -40,22 +59,38 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * @date: 2025-06-20
@@ -72,7 +107,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     private final Map<String, Object> earlySingletonObjects = new ConcurrentHashMap<>(16);
 
     /** (三级缓存：获取bean实例的工厂[可能返回的是AOP代理]) 单例工厂缓存：Bean 名称 - ObjectFactory */
-    private final Map<String, ObjectFactory<?>> singletonFactories = new HashMap<>(16);
+    private final Map<String, ObjectFactory<?>> singletonFactories = new ConcurrentHashMap<>(16);
+
+    /** 正在调用三级缓存工厂创建提前引用的 bean：bean 名称 - 认领记录 */
+    private final Map<String, EarlyReferenceClaim> earlyReferenceClaims = new ConcurrentHashMap<>(16);
+
+    /** 分段锁的数量（2 的幂） */
+    private static final int SINGLETON_LOCK_STRIPES = 64;
+
+    /** 单例缓存分段锁：同一个 beanName 在三级缓存之间的迁移由同一把锁保护，不同 bean 之间互不阻塞 */
+    private final Object[] singletonLocks = new Object[SINGLETON_LOCK_STRIPES];
+
+    /** 正在创建中的单例：beanName -> 创建任务（记录创建线程，其他线程等待其完成） */
+    private final Map<String, SingletonCreation> singletonsInFlight = new ConcurrentHashMap<>(16);
+
+    /** 线程 -> 该线程正在等待其他线程创建完成的 beanName，用于检测跨线程循环依赖 */
+    private final Map<Thread, String> threadsWaitingForSingleton = new ConcurrentHashMap<>(16);
 
     /** ClassLoader 来解析 Bean 类名 */
     private ClassLoader beanClassLoader = ClassUtils.getDefaultClassLoader();
@@ -83,14 +133,54 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     /** beanName -> 合并后的Bean定义 */
     private final Map<String, RootBeanDefinition> mergedBeanDefinitions = new ConcurrentHashMap<>(256);
 
-    /** Type类型 -> beanName */
-    private final Map<Class<?>, List<String>> allBeanNamesByType = new ConcurrentHashMap<>(64);
+    /**
+     * 类型索引 类型的类名 -> beanName（注册顺序）
+     * - 注册 bean 定义时，将 beanName 追加到 bean 类型的完整类型闭包（自身、父类、所有接口）下，按类型查询只与匹配数量有关
+     * - 不在索引中的类型没有任何 bean 与之匹配，直接返回空数组（相当于缓存了否定结果）
+     */
+    private final Map<String, String[]> allBeanNamesByType = new ConcurrentHashMap<>(64);
+
+    /** 注解索引 注解类名 -> beanName（bean 类上声明的注解） */
+    private final Map<String, String[]> allBeanNamesByAnnotation = new ConcurrentHashMap<>(16);
+
+    private static final String[] EMPTY_STRING_ARRAY = {};
+
+    /**
+     * 有序的候选 beanName 缓存 (依赖类型, @Qualifier, 泛型) -> 按 @Priority 排序的候选 beanName
+     * - 数组创建后不再修改，被所有请求相同候选的注入点共享
+     * - 注册 bean 定义时清空
+     */
+    private final Map<CandidateKey, String[]> orderedCandidateNamesCache = new ConcurrentHashMap<>(64);
+
+    /**
+     * 自动注入候选结果缓存 (依赖类型, @Qualifier, 泛型签名) -> 最终注入的 beanName（@Primary、@Priority 决定的唯一结果）
+     * - 单个依赖的注入点命中缓存时直接按 beanName 获取，不再查找、比较候选 bean
+     * - 注册 bean 定义时清空
+     */
+    private final Map<CandidateKey, String> autowireCandidateCache = new ConcurrentHashMap<>(64);
+
+    /** bean 定义的版本，注册 bean 定义时递增，用于丢弃注册期间计算的候选 beanName、使按 beanName 缓存的注入结果失效 */
+    private volatile int beanDefinitionVersion = 0;
 
     /** 别名-> beanName */
     private final Map<String, String> aliasMap = new ConcurrentHashMap<>(16);
 
+    /**
+     * 已完成初始化的单例快照（不可变）：beanName 及其别名 -> 最终的 bean 实例
+     * - 预实例化完成后发布一次，getBean 命中快照时只需一次哈希查找，不加锁、不分配对象
+     * - 之后创建的单例（懒加载）不追加到快照（每次追加都要复制整个快照），查找时回退到一级缓存
+     * - 销毁单例时失效
+     */
+    private volatile Map<String, Object> singletonSnapshot = Collections.emptyMap();
+
+    /** 是否已发布单例快照 */
+    private volatile boolean singletonSnapshotPublished = false;
+
+    /** 发布单例快照的锁 */
+    private final Object singletonSnapshotLock = new Object();
+
     /** 已注册的bean实例名称 */
-    private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
+    private final Set<String> registeredSingletons = Collections.synchronizedSet(new LinkedHashSet<>(256));
 
     /** BeanPostProcessors to apply. */
     private final List<BeanPostProcessor> beanPostProcessors = new CopyOnWriteArrayList<>();
@@ -107,17 +197,59 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     /** 创建的实例缓存 beanName -> 实例对象 */
     private final ConcurrentMap<String, Object> factoryBeanInstanceCache = new ConcurrentHashMap<>();
 
+    /** 当前线程正在创建的原型（以及自定义作用域）bean，用于检测无法解决的循环依赖 */
+    private final ThreadLocal<Set<String>> prototypesCurrentlyInCreation = ThreadLocal.withInitial(() -> new HashSet<>(8));
+
+    /** 单例代数：每移除一个单例加一，注入时缓存的单例引用与代数一起保存，代数变化后缓存失效 */
+    private final AtomicInteger singletonGeneration = new AtomicInteger();
+
+    /** 注册的自定义作用域 作用域名称 -> 作用域 */
+    private final Map<String, Scope> scopes = new ConcurrentHashMap<>(8);
+
     /** 预过滤后处理器的缓存 */
     private BeanPostProcessorCache beanPostProcessorCache;
 
     /** 标记当前工厂是否在销毁单例中 */
-    private boolean singletonsCurrentlyInDestruction = false;
+    private volatile boolean singletonsCurrentlyInDestruction = false;
 
     /** beanName -> 处理该bean的销毁实例 */
     private final Map<String, DisposableBean> disposableBeans = new LinkedHashMap<>();
 
+    /** beanName -> 依赖该 bean 的 beanName（依赖注入时记录），销毁时依赖它的 bean 先销毁 */
+    private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
+
+    /** 销毁单例时使用的线程数（没有依赖关系的 bean 并行销毁） */
+    private int destructionParallelism = Runtime.getRuntime().availableProcessors();
+
+    /** 单个 bean 销毁的超时时间（毫秒），超时后不再等待，继续销毁它依赖的 bean，0 表示不限制 */
+    private long destroyTimeoutMillis = 0;
+
+    /** 销毁全部单例的超时时间（毫秒），超时后放弃未完成的销毁，0 表示不限制 */
+    private long shutdownTimeoutMillis = 0;
+
+    /** 是否并行预实例化单例 bean（默认关闭，按注册顺序在当前线程创建） */
+    private boolean parallelPreInstantiation = false;
+
+    /** 并行预实例化单例 bean 时使用的线程数 */
+    private int preInstantiationParallelism = Runtime.getRuntime().availableProcessors();
+
+    /** 启动步骤记录器（默认根据系统属性决定是否启用） */
+    private StartupRecorder startupRecorder = StartupRecorder.fromSystemProperties();
+
 
     public DefaultListableBeanFactory(Class<?> configClass) {
+        this(configClass, false);
+    }
+
+    /**
+     * @param configClass              配置类
+     * @param parallelPreInstantiation 是否并行预实例化单例 bean
+     */
+    public DefaultListableBeanFactory(Class<?> configClass, boolean parallelPreInstantiation) {
+        for (int i = 0; i < SINGLETON_LOCK_STRIPES; i++) {
+            this.singletonLocks[i] = new Object();
+        }
+        this.parallelPreInstantiation = parallelPreInstantiation;
         registerAnnotationConfigProcessors(this, null);
         refresh(configClass);
     }
@@ -126,6 +258,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return new DefaultListableBeanFactory(configClass);
     }
 
+    public static DefaultListableBeanFactory run(Class<?> configClass, boolean parallelPreInstantiation) {
+        return new DefaultListableBeanFactory(configClass, parallelPreInstantiation);
+    }
+
     public static final String CONFIGURATION_ANNOTATION_PROCESSOR_BEAN_NAME =
             "com.liuxu.springframework.beans.postprocessor.ConfigurationClassPostProcessor";
 
@@ -166,18 +302,73 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     }
 
     public void refresh(Class<?> configClass) {
-        // 1.加载所有的 beanDefinition
-        ScannerConfigLoadBeanDefinition(configClass);
+        StartupRecorder recorder = this.startupRecorder;
+        long refreshStep = recorder.start("context.refresh", null, configClass);
+        try {
+            // 1.加载所有的 beanDefinition
+            long step = recorder.start("context.bean-definitions.load", null);
+            try {
+                ScannerConfigLoadBeanDefinition(configClass);
+            } finally {
+                recorder.end(step);
+            }
+
+            // 2.执行所有的 BeanFactoryPostProcess 生成相关的 BeanPostProcess
+            step = recorder.start("context.bean-factory.post-process", null);
+            try {
+                invokeBeanFactoryPostProcessors(this);
+            } finally {
+                recorder.end(step);
+            }
 
-        // 2.执行所有的 BeanFactoryPostProcess 生成相关的 BeanPostProcess
-        invokeBeanFactoryPostProcessors(this);
+            // 3.注册BeanPostProcessor
+            step = recorder.start("context.bean-post-processors.register", null);
+            try {
+                registerBeanPostProcessors();
+            } finally {
+                recorder.end(step);
+            }
+
+            // 4.初始化所有非懒加载的单例实例
+            step = recorder.start("context.singletons.pre-instantiate", null);
+            try {
+                finishBeanFactoryInitialization();
+            } finally {
+                recorder.end(step);
+            }
+        } finally {
+            recorder.end(refreshStep);
+            Path profileFile = StartupRecorder.getProfileFile();
+            if (recorder.isEnabled() && profileFile != null) {
+                logSlowestBeans(recorder, 10);
+                recorder.writeFlameGraph(profileFile);
+            }
+            // 启动完成，之后创建的 bean（原型、懒加载）不再记录，避免覆盖启动步骤
+            recorder.freeze();
+        }
+    }
 
-        // 3.注册BeanPostProcessor
-        registerBeanPostProcessors();
+    /**
+     * 输出创建耗时最长的 bean
+     */
+    private void logSlowestBeans(StartupRecorder recorder, int limit) {
+        recorder.getSteps().stream()
+                .filter(step -> "beans.create".equals(step.name()))
+                .sorted(Comparator.comparingLong(StartupStep::durationNanos).reversed())
+                .limit(limit)
+                .forEach(step -> log.info(">>>>>>> 创建 bean [{}] 耗时 {} ms", step.beanName(), step.durationNanos() / 1_000_000.0));
+    }
 
-        // 4.初始化所有非懒加载的单例实例
-        finishBeanFactoryInitialization();
+    /**
+     * 设置启动步骤记录器，需在 {@link #refresh(Class)} 之前设置（构造容器时会直接刷新，此时使用系统属性配置的记录器）
+     * - 刷新结束时记录器会被冻结，之后不再记录新的步骤
+     */
+    public void setStartupRecorder(StartupRecorder startupRecorder) {
+        this.startupRecorder = (startupRecorder != null ? startupRecorder : StartupRecorder.DISABLED);
+    }
 
+    public StartupRecorder getStartupRecorder() {
+        return startupRecorder;
     }
 
 
@@ -188,51 +379,174 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     public void ScannerConfigLoadBeanDefinition(Class<?> configClass) {
         ComponentScan annotation = configClass.getAnnotation(ComponentScan.class);
-        String path = annotation.value();
-        if (path.isBlank()) { // 如果没有指定扫描的包路径则扫描当前类所在包路径
-            path = configClass.getPackageName();
-        }
-        // 包及其子包下所有类
-        List<Class<?>> classes = ClassUtils.reflectionsFindClassByPath(path);
-
-        ArrayList<String> beanPostProcessNames = new ArrayList<>(classes.size() / 2 + 1);
-        ArrayList<String> configBeanNames = new ArrayList<>(3);
-        for (Class<?> aClass : classes) {
-            Component component = null;
-            if ((aClass.isAnnotationPresent(Component.class) && (component = aClass.getAnnotation(Component.class)) != null) ||
-                    aClass.isAnnotationPresent(Configuration.class)) {
-
-                String beanName = BeanFactoryUtils.generateBeanName(aClass);
-                GenericBeanDefinition beanDefinition = new GenericBeanDefinition(aClass);
-
-                // 配置类：使用了 Configuration 注解
-                if (aClass.getAnnotation(Configuration.class) != null) {
-                    configBeanNames.add(beanName);
-                    component = Configuration.class.getAnnotation(Component.class);
-                }
 
-                beanDefinition.setLazyInit(component.lazyInit());
+        // 启用了启动快照并且类路径、扫描配置都没有变化时，直接使用快照中的 bean 定义
+        Path snapshotFile = BeanDefinitionSnapshot.getSnapshotFile();
+        String snapshotKey = null;
+        if (snapshotFile != null) {
+            snapshotKey = BeanDefinitionSnapshot.computeKey(configClass.getName() + annotation);
+            BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshot.load(snapshotFile, snapshotKey);
+            if (snapshot != null && snapshot.isResolvable(getBeanClassLoader())) {
+                loadBeanDefinitionsFromSnapshot(snapshot);
+                log.info(">>>>>>> init loading beanDefinition from snapshot [{}] done...", snapshotFile);
+                return;
+            }
+        }
+        Set<String> existingBeanNames = new HashSet<>(this.beanDefinitionNames);
 
-                if (aClass.isAnnotationPresent(Primary.class)) {
-                    beanDefinition.setPrimary(true);
-                }
+        String[] basePackages = resolveBasePackages(configClass, annotation);
+        boolean hasFilters = annotation.includeFilters().length > 0 || annotation.excludeFilters().length > 0;
 
-                // BeanPostProcessor 接口实现类
-                if (BeanPostProcessor.class.isAssignableFrom(aClass)) {
-                    beanPostProcessNames.add(beanName);
+        // 优先使用编译期生成的组件索引，某个包不是完整索引的（或者配置了过滤器）时扫描类路径
+        CandidateComponentsIndex index = (hasFilters ? null : CandidateComponentsIndex.loadIndex(configClass.getClassLoader()));
+        Map<String, CandidateComponentsIndex.Entry> candidates = new TreeMap<>();
+        boolean useIndex = (index != null);
+        if (useIndex) {
+            for (String basePackage : basePackages) {
+                if (!index.isComplete(basePackage)) {
+                    useIndex = false;
+                    break;
                 }
+                index.getCandidates(basePackage).forEach(candidate -> candidates.put(candidate.className(), candidate));
+            }
+        }
+        if (useIndex) {
+            loadBeanDefinitionsFromIndex(candidates.values(), configClass.getClassLoader());
+        } else {
+            scanBeanDefinitions(basePackages, annotation);
+        }
+
+        if (snapshotFile != null) {
+            createBeanDefinitionSnapshot(snapshotKey, existingBeanNames).write(snapshotFile);
+        }
+        log.info(">>>>>>> init loading beanDefinition done...");
+    }
+
+    /**
+     * 注册快照中的 bean 定义，不加载 Bean 类
+     */
+    private void loadBeanDefinitionsFromSnapshot(BeanDefinitionSnapshot snapshot) {
+        for (BeanDefinitionSnapshot.Entry entry : snapshot.getEntries()) {
+            ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(entry.className(),
+                    getBeanClassLoader(), entry.beanName(), entry.simpleClassName(), entry.typeNames(), entry.annotationNames());
+            beanDefinition.setLazyInit(entry.lazyInit());
+            beanDefinition.setPrimary(entry.primary());
+            beanDefinition.setScope(entry.scope());
+
+            putBeanDefinition(entry.beanName(), beanDefinition);
+            registerAlias(entry.className(), entry.beanName());
+        }
+    }
 
+    /**
+     * 根据本次扫描注册的 bean 定义创建快照
+     *
+     * @param snapshotKey       快照 key
+     * @param existingBeanNames 扫描之前已存在的 beanName（容器内置的处理器）
+     */
+    private BeanDefinitionSnapshot createBeanDefinitionSnapshot(String snapshotKey, Set<String> existingBeanNames) {
+        List<BeanDefinitionSnapshot.Entry> entries = new ArrayList<>();
+        for (String beanName : this.beanDefinitionNames) {
+            if (existingBeanNames.contains(beanName)) {
+                continue;
+            }
+            BeanDefinition bd = this.beanDefinitionMap.get(beanName);
+            if (bd instanceof ScannedGenericBeanDefinition scanned) {
+                entries.add(new BeanDefinitionSnapshot.Entry(beanName, scanned.getBeanClassName(), scanned.getSimpleClassName(),
+                        scanned.getScope(), scanned.isLazyInit(), scanned.isPrimary(), scanned.getTypeNames(), scanned.getAnnotationNames()));
+            } else {
+                Class<?> beanType = bd.getBeanType();
+                Set<String> typeNames = new LinkedHashSet<>();
+                ClassUtils.getTypeClosure(beanType).forEach(type -> typeNames.add(type.getName()));
+                Set<String> annotationNames = new LinkedHashSet<>();
+                Arrays.stream(beanType.getAnnotations()).forEach(annotation -> annotationNames.add(annotation.annotationType().getName()));
+                entries.add(new BeanDefinitionSnapshot.Entry(beanName, beanType.getName(), beanType.getSimpleName(),
+                        bd.getScope(), bd.isLazyInit(), bd.isPrimary(), typeNames, annotationNames));
+            }
+        }
+        return new BeanDefinitionSnapshot(snapshotKey, entries);
+    }
 
-                this.beanDefinitionMap.put(beanName, beanDefinition);
-                this.beanDefinitionNames.add(beanName);
-                registerAlias(aClass.getName(), beanName);
+    /**
+     * 解析扫描的包（去重，保持声明顺序），如果没有指定扫描的包路径则扫描配置类所在包路径
+     */
+    private static String[] resolveBasePackages(Class<?> configClass, ComponentScan annotation) {
+        Set<String> basePackages = new LinkedHashSet<>();
+        for (String basePackage : annotation.value()) {
+            if (!basePackage.isBlank()) {
+                basePackages.add(basePackage.trim());
+            }
+        }
+        for (String basePackage : annotation.basePackages()) {
+            if (!basePackage.isBlank()) {
+                basePackages.add(basePackage.trim());
             }
         }
+        if (basePackages.isEmpty()) {
+            basePackages.add(configClass.getPackageName());
+        }
+        return basePackages.toArray(String[]::new);
+    }
 
-        // 类型映射的BeanName
-        allBeanNamesByType.put(BeanPostProcessor.class, beanPostProcessNames);
-        allBeanNamesByType.put(Configuration.class, configBeanNames);
-        log.info(">>>>>>> init loading beanDefinition done...");
+    /**
+     * 根据组件索引注册 bean 定义，组件的元数据已在编译期解析，不需要再读取注解
+     * - 与扫描一样按类名注册，Bean 类在创建时才加载
+     *
+     * @param candidates  索引中的组件
+     * @param classLoader 类加载器（加载索引的类加载器）
+     */
+    private void loadBeanDefinitionsFromIndex(Collection<CandidateComponentsIndex.Entry> candidates, ClassLoader classLoader) {
+        long step = this.startupRecorder.start("context.bean-definitions.index", null, CandidateComponentsIndex.class);
+        try {
+            for (CandidateComponentsIndex.Entry candidate : candidates) {
+                ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(candidate.className(), classLoader,
+                        candidate.componentName(), candidate.simpleClassName(), candidate.typeNames(), candidate.annotationNames());
+                beanDefinition.setLazyInit(candidate.lazyInit());
+                beanDefinition.setPrimary(candidate.primary());
+                if (candidate.scope() != null) {
+                    beanDefinition.setScope(candidate.scope());
+                }
+
+                String beanName = BeanFactoryUtils.generateBeanName(candidate.componentName(), candidate.simpleClassName());
+                putBeanDefinition(beanName, beanDefinition);
+                registerAlias(candidate.className(), beanName);
+            }
+        } finally {
+            this.startupRecorder.end(step);
+        }
+    }
+
+    /**
+     * 扫描包及其子包下所有使用 Component 注解的类 并注册 bean 定义
+     * - 只读取字节码元数据，bean 定义按类名注册，Bean 类在创建时才加载
+     * - 多个包一次扫描完成，扫描结果按类名排序后依次注册
+     *
+     * @param basePackages 包路径
+     * @param annotation   扫描注解（过滤器）
+     */
+    private void scanBeanDefinitions(String[] basePackages, ComponentScan annotation) {
+        ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(getBeanClassLoader());
+        for (ComponentScan.Filter filter : annotation.includeFilters()) {
+            TypeFilter.of(filter).forEach(scanner::addIncludeFilter);
+        }
+        for (ComponentScan.Filter filter : annotation.excludeFilters()) {
+            TypeFilter.of(filter).forEach(scanner::addExcludeFilter);
+        }
+
+        long step = this.startupRecorder.start("context.bean-definitions.scan", null, ClassPathBeanDefinitionScanner.class);
+        List<ScannedGenericBeanDefinition> scanned;
+        try {
+            scanned = scanner.findCandidateComponents(basePackages);
+        } finally {
+            this.startupRecorder.end(step);
+        }
+        for (ScannedGenericBeanDefinition beanDefinition : scanned) {
+            String beanName = BeanFactoryUtils.generateBeanName(beanDefinition.getComponentName(), beanDefinition.getSimpleClassName());
+
+            // 同名的 bean 定义，后扫描到的覆盖之前的
+            putBeanDefinition(beanName, beanDefinition);
+            registerAlias(beanDefinition.getBeanClassName(), beanName);
+        }
     }
 
     /**
@@ -246,6 +560,9 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             this.aliasMap.remove(alias);
             this.aliasMap.put(alias, beanName);
         }
+        if (this.singletonSnapshotPublished) {
+            publishSingletonSnapshot();
+        }
     }
 
 
@@ -299,7 +616,6 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     public void registerBeanPostProcessors() {
         String[] beanPostProcessorNames = getBeanNamesForType(BeanPostProcessor.class);
-        // List<String> beanPostProcessorNames = allBeanNamesByType.get(BeanPostProcessor.class);
         log.info("BeanPostProcessor size ={}", beanPostProcessorNames.length);
 
         ArrayList<BeanPostProcessor> postProcessors = new ArrayList<>(beanPostProcessorNames.length);
@@ -328,14 +644,25 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         log.info(">>>>>>>>>>>>>> Pre-instantiating singletons in {}", this);
         List<String> beanNames = new ArrayList<>(this.beanDefinitionNames);
 
-        for (String beanName : beanNames) {
-            BeanDefinition bd = this.beanDefinitionMap.get(beanName);
-            if (bd.isSingleton() && !bd.isLazyInit()) {
-                getBean(beanName);
+        if (this.parallelPreInstantiation) {
+            preInstantiateSingletonsInParallel(beanNames);
+        } else {
+            for (String beanName : beanNames) {
+                BeanDefinition bd = this.beanDefinitionMap.get(beanName);
+                if (bd.isSingleton() && !bd.isLazyInit()) {
+                    getBean(beanName);
+                }
             }
         }
         log.info(">>>>>>>>>>>>>> Pre-instantiating singletons end");
 
+        // 等待所有异步初始化方法执行完成
+        for (BeanPostProcessor bp : this.beanPostProcessors) {
+            if (bp instanceof InitDestroyAnnotationBeanPostProcessor ibpp) {
+                ibpp.awaitAsyncInitializations();
+            }
+        }
+
         // 触发所有 SmartInitializingSingleton bean 的初始化后回调
         for (String beanName : beanNames) {
             Object singletonInstance = getSingleton(beanName, true);
@@ -344,6 +671,166 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             }
         }
         log.info(">>>>>>>>>>>>>> Pre-instantiating callback method end");
+
+        // 所有单例初始化完成，发布只读快照
+        publishSingletonSnapshot();
+    }
+
+    /**
+     * 等待指定 bean 初始化完成（包括异步初始化方法），bean 不存在或未使用异步初始化时立即返回
+     * - 依赖了异步初始化 bean 的 bean，可以在使用前调用该方法确保其已就绪
+     *
+     * @param beanName beanName 或 别名
+     * @throws RuntimeException 异步初始化方法执行失败
+     */
+    public void awaitBeanInitialization(String beanName) {
+        String name = transformedBeanName(beanName);
+        for (BeanPostProcessor bp : this.beanPostProcessors) {
+            if (bp instanceof InitDestroyAnnotationBeanPostProcessor ibpp) {
+                ibpp.awaitAsyncInitialization(name);
+            }
+        }
+    }
+
+    /**
+     * 根据当前的一级缓存和别名发布单例快照
+     */
+    private void publishSingletonSnapshot() {
+        synchronized (this.singletonSnapshotLock) {
+            Map<String, Object> snapshot = new HashMap<>(this.singletonObjects.size() + this.aliasMap.size());
+            for (Map.Entry<String, Object> entry : this.singletonObjects.entrySet()) {
+                snapshot.put(entry.getKey(), getObjectForBeanInstance(entry.getValue(), entry.getKey(), entry.getKey()));
+            }
+            // 预先解析别名，别名优先（与 transformedBeanName 一致）
+            for (Map.Entry<String, String> entry : this.aliasMap.entrySet()) {
+                Object bean = snapshot.get(entry.getValue());
+                if (bean != null) {
+                    snapshot.put(entry.getKey(), bean);
+                } else {
+                    snapshot.remove(entry.getKey());
+                }
+            }
+            this.singletonSnapshot = Map.copyOf(snapshot);
+            this.singletonSnapshotPublished = true;
+        }
+    }
+
+    /**
+     * 使单例快照失效（单例被移除时），之后 getBean 都会走完整流程，调用方需持有 {@link #singletonSnapshotLock}
+     */
+    private void invalidateSingletonSnapshot() {
+        this.singletonSnapshot = Collections.emptyMap();
+        this.singletonSnapshotPublished = false;
+    }
+
+
+    /**
+     * 并行预实例化单例bean
+     * - 根据注入元数据构建单例之间的依赖图，依赖全部创建完成的 bean 提交到线程池中创建，相互独立的 bean 可同时创建
+     * - 存在循环依赖的 bean 无法确定顺序，在其余 bean 创建完成后由当前线程按注册顺序创建（依靠三级缓存解决循环引用）
+     * - 方法返回时所有非懒加载的单例都已创建完成
+     *
+     * @param beanNames 所有的 beanName
+     */
+    private void preInstantiateSingletonsInParallel(List<String> beanNames) {
+        SingletonDependencyGraph graph = buildSingletonDependencyGraph(beanNames);
+        log.info(">>>>>>>>>>>>>> Pre-instantiating singletons in parallel, parallelism={}, independent={}, cyclic={}",
+                this.preInstantiationParallelism, graph.getSortedBeanNames().size(), graph.getCyclicBeanNames().size());
+
+        ForkJoinPool pool = new ForkJoinPool(this.preInstantiationParallelism);
+        try {
+            // 工作线程中创建的 bean 挂到当前线程的预实例化步骤下
+            StartupRecorder recorder = this.startupRecorder;
+            long parentStep = recorder.currentStep();
+            // 拓扑顺序中依赖总是先出现，所以依赖的 future 一定已经创建
+            Map<String, CompletableFuture<Void>> futures = new HashMap<>(graph.getSortedBeanNames().size() * 2);
+            for (String beanName : graph.getSortedBeanNames()) {
+                CompletableFuture<?>[] dependencyFutures = graph.getDependencies(beanName).stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture<?>[]::new);
+                futures.put(beanName, CompletableFuture.allOf(dependencyFutures)
+                        .thenRunAsync(() -> {
+                            long previousStep = recorder.attach(parentStep);
+                            try {
+                                getBean(beanName);
+                            } finally {
+                                recorder.detach(previousStep);
+                            }
+                        }, pool));
+            }
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException e) {
+            log.error("并行预实例化单例 bean 出现异常: {}", e.getCause().getMessage());
+            throw new RuntimeException("并行预实例化单例 bean 出现异常", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        for (String beanName : graph.getCyclicBeanNames()) {
+            getBean(beanName);
+        }
+    }
+
+    /**
+     * 构建需要预实例化的单例 bean 的依赖图
+     * - 依赖关系来自 {@link AutowiredAnnotationBeanPostProcessor} 缓存的注入元数据（创建实例时会直接复用该缓存）
+     *
+     * @param beanNames 所有的 beanName
+     * @return 依赖图
+     */
+    private SingletonDependencyGraph buildSingletonDependencyGraph(List<String> beanNames) {
+        SingletonDependencyGraph graph = new SingletonDependencyGraph();
+        for (String beanName : beanNames) {
+            BeanDefinition bd = this.beanDefinitionMap.get(beanName);
+            if (bd.isSingleton() && !bd.isLazyInit() && !containsSingleton(beanName)) {
+                graph.addBean(beanName);
+            }
+        }
+
+        for (String beanName : graph.getBeanNames()) {
+            Class<?> beanType = getMergedLocalBeanDefinition(beanName).getBeanType();
+            for (BeanPostProcessor bp : this.beanPostProcessors) {
+                if (!(bp instanceof AutowiredAnnotationBeanPostProcessor abpp)) {
+                    continue;
+                }
+                List<DependencyDescriptor> descriptors = new ArrayList<>();
+                Constructor<?>[] constructors = abpp.determineCandidateConstructors(beanType, beanName);
+                if (constructors != null) {
+                    descriptors.addAll(Arrays.asList(new AutowiredArgumentsResolver(constructors[0], true).getDependencyDescriptors()));
+                }
+                InjectionMetadata metadata = abpp.findAutowiringMetadata(beanName, beanType);
+                for (InjectionMetadata.InjectedElement element : metadata.getInjectedElements()) {
+                    descriptors.addAll(element.getDependencyDescriptors());
+                }
+                for (DependencyDescriptor descriptor : descriptors) {
+                    // 延迟解析的依赖不在预实例化时创建，不需要先于当前 bean 创建
+                    if (isLazyResolution(descriptor)) {
+                        continue;
+                    }
+                    for (String candidate : getOrderedCandidateNames(resolveElementDescriptor(descriptor))) {
+                        graph.addDependency(beanName, candidate);
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * 设置是否并行预实例化单例 bean，需在 {@link #refresh(Class)} 之前设置
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    /**
+     * 设置并行预实例化单例 bean 时使用的线程数
+     */
+    public void setPreInstantiationParallelism(int preInstantiationParallelism) {
+        if (preInstantiationParallelism < 1) {
+            throw new IllegalArgumentException("preInstantiationParallelism 必须大于 0");
+        }
+        this.preInstantiationParallelism = preInstantiationParallelism;
     }
 
 
@@ -371,11 +858,32 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
                     return createBean(beanName, mdb, args);
                 });
                 beanInstance = getObjectForBeanInstance(sharedInstance, beanName, beanName);
-            } else if (!mdb.isSingleton()) {
-                // 处理其他类型的对象
-                beanInstance = getObjectForBeanInstance(sharedInstance, beanName, beanName);
+            } else if (mdb.isPrototype()) {
+                // 原型对象：每次创建新的实例
+                Object prototypeInstance;
+                beforePrototypeCreation(beanName);
+                try {
+                    prototypeInstance = createBean(beanName, mdb, args);
+                } finally {
+                    afterPrototypeCreation(beanName);
+                }
+                beanInstance = getObjectForBeanInstance(prototypeInstance, beanName, beanName);
             } else {
-                beanInstance = getObjectForBeanInstance(sharedInstance, beanName, beanName);
+                // 自定义作用域：由作用域保存实例
+                String scopeName = mdb.getScope();
+                Scope scope = this.scopes.get(scopeName);
+                if (scope == null) {
+                    throw new IllegalStateException("beanName " + beanName + " 的作用域 '" + scopeName + "' 没有注册");
+                }
+                Object scopedInstance = scope.get(beanName, () -> {
+                    beforePrototypeCreation(beanName);
+                    try {
+                        return createBean(beanName, mdb, args);
+                    } finally {
+                        afterPrototypeCreation(beanName);
+                    }
+                });
+                beanInstance = getObjectForBeanInstance(scopedInstance, beanName, beanName);
             }
 
         }
@@ -383,6 +891,46 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return adaptBeanInstance(beanName, beanInstance, requiredType);
     }
 
+    /**
+     * 原型 bean 创建前，标记为正在创建，同一线程重复创建说明存在无法解决的循环依赖
+     */
+    private void beforePrototypeCreation(String beanName) {
+        if (!this.prototypesCurrentlyInCreation.get().add(beanName)) {
+            throw new RuntimeException("beanName " + beanName + " 正在创建中，非单例 bean 之间存在无法解决的循环依赖");
+        }
+    }
+
+    private void afterPrototypeCreation(String beanName) {
+        this.prototypesCurrentlyInCreation.get().remove(beanName);
+    }
+
+    /**
+     * 注册自定义作用域
+     *
+     * @param scopeName 作用域名称
+     * @param scope     作用域
+     */
+    public void registerScope(String scopeName, Scope scope) {
+        if (BeanDefinition.SCOPE_SINGLETON.equals(scopeName) || BeanDefinition.SCOPE_PROTOTYPE.equals(scopeName) ||
+                AbstractBeanDefinition.SCOPE_DEFAULT.equals(scopeName)) {
+            throw new IllegalArgumentException("不能替换内置的作用域 '" + scopeName + "'");
+        }
+        Scope previous = this.scopes.put(scopeName, scope);
+        if (previous != null && previous != scope) {
+            log.debug("替换作用域 '{}' [{}] -> [{}]", scopeName, previous, scope);
+        }
+    }
+
+    /**
+     * 获取注册的自定义作用域
+     *
+     * @param scopeName 作用域名称
+     * @return 作用域 或 null
+     */
+    public Scope getRegisteredScope(String scopeName) {
+        return this.scopes.get(scopeName);
+    }
+
     /**
      * 合并最终bean定义（spring中会有父子bean定义，子继承夫属性，子覆盖父级属性）
      *
@@ -420,6 +968,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
                 return this.mergedBeanDefinitions.get(beanName);
             }
 
+            long step = this.startupRecorder.start("beans.merge", beanName);
             RootBeanDefinition mbd = null;
 
             // RootBeanDefinition 直接可以赋值不必再合并处理
@@ -432,6 +981,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
                 mbd = new RootBeanDefinition(bd);
 
             }
+            this.startupRecorder.end(step);
 
             if (mbd == null) {
                 log.error("beanName {} getMergedLocalBeanDefinition fail.", beanName);
@@ -485,6 +1035,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     /**
      * 获取单例bean实例
+     * - 其他线程正在创建中的 bean 不会返回提前暴露的引用（避免拿到半成品），由调用方等待其创建完成
      *
      * @param beanName            beanName
      * @param allowEarlyReference 是否允许提前引用
@@ -493,32 +1044,115 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     protected Object getSingleton(String beanName, boolean allowEarlyReference) {
         Object singletonObject = this.singletonObjects.get(beanName);
         if (singletonObject == null) {
-            // 从二级缓存中获取 提前暴露的bean
-            singletonObject = this.earlySingletonObjects.get(beanName);
-            if (singletonObject == null && allowEarlyReference) {
-                synchronized (this.singletonObjects) {
-                    // double check
-                    singletonObject = this.singletonObjects.get(beanName);
-                    if (singletonObject == null) {
-                        singletonObject = this.earlySingletonObjects.get(beanName);
-                        if (singletonObject == null) {
-                            // 从三级缓存中获取bean工厂，创建半成品bean，将其存入二级缓存
-                            ObjectFactory<?> objectFactory = this.singletonFactories.get(beanName);
-                            if (objectFactory != null) {
-                                singletonObject = objectFactory.getObject();
-                                this.earlySingletonObjects.put(beanName, singletonObject);
-                                this.singletonFactories.remove(beanName);
-                            }
-                        }
-                    }
-                }
+            SingletonCreation creation = this.singletonsInFlight.get(beanName);
+            if (creation != null && creation.thread != Thread.currentThread()) {
+                return null;
+            }
+            singletonObject = getEarlySingleton(beanName, allowEarlyReference);
+        }
+        return singletonObject;
+    }
 
+    /**
+     * 获取提前暴露的单例引用（二级、三级缓存），不检查创建线程
+     * - 在分段锁内认领三级缓存的工厂（从三级缓存移除，同一个工厂只会被调用一次），在锁外调用工厂：
+     *   工厂会执行 getEarlyBeanReference（可能创建代理、获取其他 bean），持锁调用时两个线程可能以相反的顺序获取分段锁而死锁
+     * - 工厂调用期间，其他线程等待认领者的结果，而不是拿到 null
+     *
+     * @param beanName            beanName
+     * @param allowEarlyReference 是否允许通过三级缓存的工厂创建提前引用
+     * @return 提前暴露的引用 或 null
+     */
+    private Object getEarlySingleton(String beanName, boolean allowEarlyReference) {
+        // 从二级缓存中获取 提前暴露的bean
+        Object singletonObject = this.earlySingletonObjects.get(beanName);
+        if (singletonObject != null) {
+            return singletonObject;
+        }
+        ObjectFactory<?> objectFactory = null;
+        EarlyReferenceClaim claim;
+        synchronized (getSingletonLock(beanName)) {
+            // double check
+            singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject == null) {
+                singletonObject = this.earlySingletonObjects.get(beanName);
+            }
+            if (singletonObject != null) {
+                return singletonObject;
+            }
+            claim = this.earlyReferenceClaims.get(beanName);
+            if (claim == null) {
+                if (!allowEarlyReference) {
+                    return null;
+                }
+                // 认领三级缓存中的bean工厂
+                objectFactory = this.singletonFactories.remove(beanName);
+                if (objectFactory == null) {
+                    return null;
+                }
+                claim = new EarlyReferenceClaim(Thread.currentThread());
+                this.earlyReferenceClaims.put(beanName, claim);
             }
+        }
+        if (objectFactory == null) {
+            return awaitEarlyReference(beanName, claim);
+        }
 
+        // 在锁外创建半成品bean
+        try {
+            singletonObject = objectFactory.getObject();
+        } catch (RuntimeException | Error e) {
+            synchronized (getSingletonLock(beanName)) {
+                this.earlyReferenceClaims.remove(beanName);
+                // 归还工厂，后续的循环引用仍可以重试
+                if (!this.singletonObjects.containsKey(beanName) && this.registeredSingletons.contains(beanName)) {
+                    this.singletonFactories.putIfAbsent(beanName, objectFactory);
+                }
+            }
+            claim.future.completeExceptionally(e);
+            throw e;
+        }
+
+        // 再次检查后存入二级缓存：期间 bean 可能已经创建完成（使用成品）或已被移除（不再发布）
+        synchronized (getSingletonLock(beanName)) {
+            this.earlyReferenceClaims.remove(beanName);
+            Object completed = this.singletonObjects.get(beanName);
+            if (completed != null) {
+                singletonObject = completed;
+            } else if (this.registeredSingletons.contains(beanName)) {
+                this.earlySingletonObjects.put(beanName, singletonObject);
+            }
         }
+        claim.future.complete(singletonObject);
         return singletonObject;
     }
 
+    /**
+     * 等待其他线程认领的工厂创建完提前引用
+     * - 认领者是当前线程时（工厂调用中再次获取同一个 bean），没有可用的提前引用
+     *
+     * @return 提前暴露的引用 或 null（工厂调用失败）
+     */
+    private Object awaitEarlyReference(String beanName, EarlyReferenceClaim claim) {
+        if (claim.thread == Thread.currentThread()) {
+            return null;
+        }
+        try {
+            return claim.future.join();
+        } catch (CompletionException e) {
+            log.warn("beanName {} 的提前引用由线程 {} 创建失败: {}", beanName, claim.thread.getName(), e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 获取 beanName 对应的单例缓存分段锁
+     */
+    private Object getSingletonLock(String beanName) {
+        int h = beanName.hashCode();
+        return this.singletonLocks[(h ^ (h >>> 16)) & (SINGLETON_LOCK_STRIPES - 1)];
+    }
+
 
     /**
      * 添加Bean后处理器
@@ -554,10 +1188,11 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      * @param bean     bean实例
      */
     public void addSingleton(String beanName, Object bean) {
-        synchronized (this.singletonObjects) {
+        synchronized (getSingletonLock(beanName)) {
+            // 先放入一级缓存再移除二、三级缓存，无锁读取的线程总能在某一级缓存中看到该 bean
+            this.singletonObjects.put(beanName, bean);
             this.singletonFactories.remove(beanName);
             this.earlySingletonObjects.remove(beanName);
-            this.singletonObjects.put(beanName, bean);
             this.registeredSingletons.add(beanName);
         }
     }
@@ -569,7 +1204,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      * @param singletonFactory bean工厂
      */
     protected void addSingletonFactory(String beanName, ObjectFactory<?> singletonFactory) {
-        synchronized (this.singletonObjects) {
+        synchronized (getSingletonLock(beanName)) {
             if (!this.singletonObjects.containsKey(beanName)) {
                 this.singletonFactories.put(beanName, singletonFactory);
                 this.earlySingletonObjects.remove(beanName);
@@ -582,12 +1217,19 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      * 移除指定名称的单例缓存
      */
     protected void removeSingleton(String beanName) {
-        synchronized (this.singletonObjects) {
-            if (this.singletonObjects.containsKey(beanName)) {
-                this.singletonObjects.remove(beanName);
-                this.earlySingletonObjects.remove(beanName);
-                this.singletonFactories.remove(beanName);
-                this.registeredSingletons.remove(beanName);
+        // 与发布快照使用同一把锁，先移除再使快照失效：并发发布的快照要么在移除之前（随后失效），要么不包含该 bean
+        synchronized (this.singletonSnapshotLock) {
+            synchronized (getSingletonLock(beanName)) {
+                if (this.singletonObjects.containsKey(beanName)) {
+                    this.singletonGeneration.incrementAndGet();
+                    this.singletonObjects.remove(beanName);
+                    this.earlySingletonObjects.remove(beanName);
+                    this.singletonFactories.remove(beanName);
+                    this.registeredSingletons.remove(beanName);
+                }
+            }
+            if (this.singletonSnapshotPublished) {
+                invalidateSingletonSnapshot();
             }
         }
     }
@@ -595,50 +1237,149 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     /**
      * 从工厂创建bean实例
+     * - 每个 bean 单独创建，不持有全局锁：第一个请求的线程负责创建，其他线程等待该 bean 的创建任务完成
+     * - 等待会形成跨线程的循环依赖时（A 线程创建 x 需要 y，B 线程创建 y 需要 x），使用提前暴露的引用，与单线程解决循环依赖一致
      *
      * @param beanName         beanName
      * @param singletonFactory 单例工厂
      * @return bean实例
      */
     public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
-        synchronized (this.singletonObjects) {
+        while (true) {
             Object singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject != null) {
+                return singletonObject;
+            }
 
-            if (singletonObject == null) {
-                if (this.singletonsCurrentlyInDestruction) {
-                    log.warn("[getSingleton] beanName: {}. 当前工厂的单例处于销毁状态，不允许创建单例 Bean（不要在执行销毁方法是从 BeanFactory 请求 bean!", beanName);
-                    throw new RuntimeException("[getSingleton] beanName: " + beanName + ". 当前工厂的单例处于销毁状态，不允许创建单例 Bean（不要在执行销毁方法是从 BeanFactory 请求 bean!");
-                }
+            SingletonCreation creation = new SingletonCreation(Thread.currentThread());
+            SingletonCreation existing = this.singletonsInFlight.putIfAbsent(beanName, creation);
+            if (existing == null) {
+                return createSingleton(beanName, singletonFactory, creation);
+            }
 
-                // 创建单例对象前 - 将beanName加入正在创建单例中
+            if (existing.thread == Thread.currentThread()) {
+                // 当前线程重复创建同一个 bean（无法通过提前暴露的引用解决的循环依赖）
                 beforeSingletonCreation(beanName);
-                boolean newSingleton = false;
-                try {
-                    // 获取实例
-                    singletonObject = singletonFactory.getObject();
-                    newSingleton = true;
-                } catch (Exception e) {
-                    newSingleton = false;
-                    throw new RuntimeException("[getSingleton] 创建 bean 创建异常 beanName " + beanName, e);
-                } finally {
-                    // 创建单例实例后 - 将beanName从正在创建中移除
-                    afterSingletonCreation(beanName);
-                }
-                if (newSingleton) {
-                    addSingleton(beanName, singletonObject);
-                }
+            }
 
+            singletonObject = awaitSingleton(beanName, existing);
+            if (singletonObject != null) {
+                return singletonObject;
             }
+            // 其他线程创建失败，重新尝试由当前线程创建
+        }
+    }
 
+    /**
+     * 由当前线程创建单例
+     *
+     * @param beanName         beanName
+     * @param singletonFactory 单例工厂
+     * @param creation         当前线程登记的创建任务
+     * @return bean实例
+     */
+    private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory, SingletonCreation creation) {
+        try {
+            // double check：登记创建任务前，其他线程可能刚好完成了创建
+            Object singletonObject = this.singletonObjects.get(beanName);
+            if (singletonObject != null) {
+                creation.future.complete(singletonObject);
+                return singletonObject;
+            }
+
+            if (this.singletonsCurrentlyInDestruction) {
+                log.warn("[getSingleton] beanName: {}. 当前工厂的单例处于销毁状态，不允许创建单例 Bean（不要在执行销毁方法是从 BeanFactory 请求 bean!", beanName);
+                throw new RuntimeException("[getSingleton] beanName: " + beanName + ". 当前工厂的单例处于销毁状态，不允许创建单例 Bean（不要在执行销毁方法是从 BeanFactory 请求 bean!");
+            }
+
+            // 创建单例对象前 - 将beanName加入正在创建单例中
+            beforeSingletonCreation(beanName);
+            try {
+                // 获取实例
+                singletonObject = singletonFactory.getObject();
+            } catch (Exception e) {
+                throw new RuntimeException("[getSingleton] 创建 bean 创建异常 beanName " + beanName, e);
+            } finally {
+                // 创建单例实例后 - 将beanName从正在创建中移除
+                afterSingletonCreation(beanName);
+            }
+            addSingleton(beanName, singletonObject);
+            creation.future.complete(singletonObject);
             return singletonObject;
+        } catch (RuntimeException e) {
+            creation.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.singletonsInFlight.remove(beanName, creation);
+        }
+    }
+
+    /**
+     * 等待其他线程创建完成的单例
+     *
+     * @param beanName beanName
+     * @param creation 其他线程的创建任务
+     * @return bean实例，或 null（创建任务已失败，需要重试）
+     */
+    private Object awaitSingleton(String beanName, SingletonCreation creation) {
+        Thread current = Thread.currentThread();
+        // 先登记等待关系再检测，两个相互等待的线程至少有一个能检测到循环
+        this.threadsWaitingForSingleton.put(current, beanName);
+        try {
+            if (isWaitingCycle(current, creation.thread)) {
+                Object earlySingleton = getEarlySingleton(beanName, true);
+                if (earlySingleton != null) {
+                    log.info("beanName {} 正在由线程 {} 创建, 出现跨线程循环依赖，使用提前暴露的引用", beanName, creation.thread.getName());
+                    return earlySingleton;
+                }
+                log.error("beanName {} 正在由线程 {} 创建, 出现跨线程循环依赖且没有提前暴露的引用", beanName, creation.thread.getName());
+                throw new RuntimeException("beanName " + beanName + " 出现跨线程循环依赖且没有提前暴露的引用，无法创建");
+            }
+            return creation.future.join();
+        } catch (CompletionException e) {
+            log.warn("beanName {} 由线程 {} 创建失败: {}", beanName, creation.thread.getName(), e.getCause().getMessage());
+            return null;
+        } finally {
+            this.threadsWaitingForSingleton.remove(current);
         }
     }
 
+    /**
+     * 检测当前线程等待 owner 线程是否会形成等待环（owner 直接或间接地在等待当前线程创建的 bean）
+     *
+     * @param current 当前线程
+     * @param owner   正在创建目标 bean 的线程
+     * @return true：会形成死锁
+     */
+    private boolean isWaitingCycle(Thread current, Thread owner) {
+        Set<Thread> visited = new HashSet<>(4);
+        Thread thread = owner;
+        while (thread != null && visited.add(thread)) {
+            if (thread == current) {
+                return true;
+            }
+            String waitingFor = this.threadsWaitingForSingleton.get(thread);
+            SingletonCreation creation = (waitingFor != null ? this.singletonsInFlight.get(waitingFor) : null);
+            thread = (creation != null ? creation.thread : null);
+        }
+        return false;
+    }
+
 
     public Object createBean(String beanName, RootBeanDefinition mbd, Object[] args) {
+        long createStep = this.startupRecorder.start("beans.create", beanName);
+        try {
+            return createBean(beanName, mbd, args, this.startupRecorder);
+        } finally {
+            this.startupRecorder.end(createStep);
+        }
+    }
+
+    private Object createBean(String beanName, RootBeanDefinition mbd, Object[] args, StartupRecorder recorder) {
         RootBeanDefinition mbdToUse = mbd;
 
         // 1. 尝试获取代理对象
+        long step = recorder.start("beans.resolve-before-instantiation", beanName);
         try {
             Object bean = resolveBeforeInstantiation(beanName, mbdToUse);
             if (bean != null) {
@@ -647,6 +1388,8 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             }
         } catch (Exception e) {
             throw new RuntimeException(e);
+        } finally {
+            recorder.end(step);
         }
 
         // 2. 没有代理对象，则创建实例
@@ -661,9 +1404,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     private Object doCreateBean(String beanName, RootBeanDefinition mbd, Object[] args) {
         // 1.创建实例
-        Object beanInstance = this.factoryBeanInstanceCache.get(beanName);
+        Object beanInstance = (mbd.isSingleton() ? this.factoryBeanInstanceCache.remove(beanName) : null);
+        StartupRecorder recorder = this.startupRecorder;
         if (beanInstance == null) {
-            beanInstance = createBeanInstance(beanName, mbd, args);
+            long step = recorder.start("beans.instantiate", beanName);
+            try {
+                beanInstance = createBeanInstance(beanName, mbd, args);
+            } finally {
+                recorder.end(step);
+            }
         }
 
         Class<?> beanType = beanInstance.getClass();
@@ -671,7 +1420,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         synchronized (mbd.postProcessingLock) {
             if (!mbd.isPostProcessed()) {
                 // 执行后处理器，确定初始化、销毁方法
-                applyMergedBeanDefinitionPostProcessors(mbd, beanType, beanName);
+                long step = recorder.start("beans.merged-definition.post-process", beanName);
+                try {
+                    applyMergedBeanDefinitionPostProcessors(mbd, beanType, beanName);
+                } finally {
+                    recorder.end(step);
+                }
             }
             mbd.markAsPostProcessed();
         }
@@ -689,9 +1443,19 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         Object exposedObject = beanInstance;
         try {
             // 4.注入属性
-            populateBean(beanName, mbd, exposedObject);
+            long step = recorder.start("beans.populate", beanName);
+            try {
+                populateBean(beanName, mbd, exposedObject);
+            } finally {
+                recorder.end(step);
+            }
             // 5.初始化bean
-            exposedObject = initializeBean(beanName, exposedObject, mbd);
+            step = recorder.start("beans.initialize", beanName);
+            try {
+                exposedObject = initializeBean(beanName, exposedObject, mbd);
+            } finally {
+                recorder.end(step);
+            }
         } catch (Exception e) {
             throw new RuntimeException("注入属性 and 执行初始化方法 出现错误..", e);
         }
@@ -726,32 +1490,63 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      * @return bean实例对象
      */
     private Object createBeanInstance(String beanName, RootBeanDefinition mbd, Object[] args) {
-        Class<?> beanType = mbd.getBeanType();
-        Object beanInstance = null;
+        Supplier<?> instantiator = mbd.resolvedInstantiator;
+        if (instantiator == null) {
+            instantiator = resolveInstantiator(beanName, mbd.getBeanType());
+            mbd.resolvedInstantiator = instantiator;
+        }
         try {
-            for (Constructor<?> constructor : beanType.getConstructors()) {
-                // 调用无参构造函数创建实例
-                if (constructor.getParameterCount() == 0) {
-                    beanInstance = constructor.newInstance();
-                    break;
-                }
+            return instantiator.get();
+        } catch (Throwable e) {
+            log.error("创建bean实例，调用构造函数异常： {}", e.getMessage());
+            throw new RuntimeException("beanName " + beanName + " 创建bean实例失败", e);
+        }
+    }
+
+    /**
+     * 解析实例化器
+     * - 后处理器确定了构造函数时（构造函数注入），缓存参数解析器和构造函数调用器，之后每次创建实例只按缓存的 beanName 获取参数
+     * - 否则查找无参构造函数，生成直接调用构造函数的 Supplier
+     *
+     * @param beanName beanName
+     * @param beanType bean类型
+     * @return 实例化器
+     */
+    private Supplier<?> resolveInstantiator(String beanName, Class<?> beanType) {
+        Constructor<?> autowiredConstructor = determineAutowiredConstructor(beanType, beanName);
+        if (autowiredConstructor != null) {
+            if (autowiredConstructor.getParameterCount() == 0) {
+                return BeanUtils.createInstantiator(autowiredConstructor);
             }
-            if (beanInstance == null) {
-                throw new RuntimeException("创建bean实例，没有无参构造，创建实例失败...");
+            AutowiredArgumentsResolver argumentsResolver = new AutowiredArgumentsResolver(autowiredConstructor,
+                    AutowiredAnnotationBeanPostProcessor.isRequired(autowiredConstructor));
+            Function<Object[], ?> constructorInvoker = BeanUtils.createConstructorInvoker(autowiredConstructor);
+            return () -> constructorInvoker.apply(argumentsResolver.resolve(beanName, this));
+        }
+        for (Constructor<?> constructor : beanType.getConstructors()) {
+            // 调用无参构造函数创建实例
+            if (constructor.getParameterCount() == 0) {
+                return BeanUtils.createInstantiator(constructor);
             }
-            // 加入缓存
-            factoryBeanInstanceCache.put(beanName, beanType);
-            return beanInstance;
-        } catch (InstantiationException e) {
-            log.error("创建bean实例，实例化异常： {}", e.getMessage());
-            throw new RuntimeException(e);
-        } catch (IllegalAccessException e) {
-            log.error("创建bean实例，非法访问异常： {}", e.getMessage());
-            throw new RuntimeException(e);
-        } catch (InvocationTargetException e) {
-            log.error("创建bean实例，调用目标方法异常： {}", e.getMessage());
-            throw new RuntimeException(e);
         }
+        throw new RuntimeException("创建bean实例，没有无参构造，创建实例失败...");
+    }
+
+    /**
+     * 通过后处理器确定用于构造函数注入的构造函数
+     *
+     * @param beanType bean类型
+     * @param beanName beanName
+     * @return 构造函数 或 null（使用无参构造函数）
+     */
+    private Constructor<?> determineAutowiredConstructor(Class<?> beanType, String beanName) {
+        for (SmartInstantiationAwareBeanPostProcessor postProcessor : getBeanPostProcessorCache().smartInstantiationAware) {
+            Constructor<?>[] candidates = postProcessor.determineCandidateConstructors(beanType, beanName);
+            if (candidates != null && candidates.length > 0) {
+                return candidates[0];
+            }
+        }
+        return null;
     }
 
     /**
@@ -793,7 +1588,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         // 后处理 -进行属性依赖注入
         if (!getBeanPostProcessorCache().instantiationAware.isEmpty()) {
             for (InstantiationAwareBeanPostProcessor bp : getBeanPostProcessorCache().instantiationAware) {
-                bp.postProcessProperties(bean, beanName);
+                long step = this.startupRecorder.start("beans.post-process.properties", beanName, bp.getClass());
+                try {
+                    bp.postProcessProperties(bean, beanName);
+                } finally {
+                    this.startupRecorder.end(step);
+                }
             }
         }
 
@@ -824,7 +1624,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
                 throw new RuntimeException("beanName:" + beanName + ", 无法找到属性" + pv.fieldName() + "的 setter 方法，请检查属性名称是否正确");
             }
             ReflectionUtils.makeAccessible(method);
-            ReflectionUtils.invokeMethod(method, pv.value());
+            ReflectionUtils.invokeMethod(method, bean, pv.value());
         }
     }
 
@@ -846,16 +1646,26 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         // liuxu: 2.执行 BeanPostProcessor 初始化之前回调后处理器
         wrappedBean = applyBeanPostProcessorsBeforeInitialization(bean, beanName);
 
+        long step = this.startupRecorder.start("beans.init-methods", beanName);
         try {
             // liuxu: 3.执行 初始化方法
             invokeInitMethods(beanName, bean, mbd);
         } catch (Exception e) {
             throw new RuntimeException("执行初始化方法出现异常：{}", e);
+        } finally {
+            this.startupRecorder.end(step);
         }
 
         // liuxu: 4.执行 BeanPostProcessor 初始化之后回调后处理器（会尝试创建代理）
         wrappedBean = applyBeanPostProcessorsAfterInitialization(bean, beanName);
 
+        // liuxu: 5.初始化之后的后处理器全部执行完，再提交异步初始化方法，避免与后处理器并发访问 bean
+        for (BeanPostProcessor bp : this.beanPostProcessors) {
+            if (bp instanceof InitDestroyAnnotationBeanPostProcessor ibpp) {
+                ibpp.submitAsyncInitialization(bean, beanName, mbd.isSingleton());
+            }
+        }
+
         return wrappedBean;
 
     }
@@ -869,11 +1679,27 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     private void registerDisposableBeanIfNecessary(String beanName, Object bean, RootBeanDefinition mbd) {
         log.info(">>>>>>>>>>>> invoke disposable method");
-        if (mbd.isSingleton() && requiresDestruction(bean, mbd)) {
-            registerDisposableBean(beanName, new DisposableBeanAdapter(bean, beanName, mbd,
-                    getBeanPostProcessorCache().destructionAware));
+        if (mbd.isPrototype() || !requiresDestruction(bean, mbd)) {
+            // 原型 bean 不由容器管理销毁
+            return;
+        }
+        DisposableBeanAdapter disposableBean = new DisposableBeanAdapter(bean, beanName, mbd,
+                getBeanPostProcessorCache().destructionAware);
+        if (mbd.isSingleton()) {
+            registerDisposableBean(beanName, disposableBean);
         } else {
-            // 其他的作用域...
+            // 其他的作用域，由作用域决定何时销毁
+            Scope scope = this.scopes.get(mbd.getScope());
+            if (scope == null) {
+                throw new IllegalStateException("beanName " + beanName + " 的作用域 '" + mbd.getScope() + "' 没有注册");
+            }
+            scope.registerDestructionCallback(beanName, () -> {
+                try {
+                    disposableBean.destroy();
+                } catch (Exception e) {
+                    log.warn("销毁 bean [{}] 失败", beanName, e);
+                }
+            });
         }
 
     }
@@ -939,8 +1765,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     public Object applyBeanPostProcessorsBeforeInitialization(Object existingBean, String beanName) {
         Object result = existingBean;
 
+        StartupRecorder recorder = this.startupRecorder;
         for (BeanPostProcessor beanPostProcessor : this.beanPostProcessors) {
-            Object current = beanPostProcessor.postProcessBeforeInitialization(result, beanName);
+            long step = recorder.start("beans.post-process.before-initialization", beanName, beanPostProcessor.getClass());
+            Object current;
+            try {
+                current = beanPostProcessor.postProcessBeforeInitialization(result, beanName);
+            } finally {
+                recorder.end(step);
+            }
             if (current == null) {// 没有新的实例返回
                 return result;
             }
@@ -982,8 +1815,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     protected Object applyBeanPostProcessorsAfterInitialization(Object existingBean, String beanName) {
         Object result = existingBean;
+        StartupRecorder recorder = this.startupRecorder;
         for (BeanPostProcessor processor : this.beanPostProcessors) { // 尝试创建代理
-            Object current = processor.postProcessAfterInitialization(result, beanName);
+            long step = recorder.start("beans.post-process.after-initialization", beanName, processor.getClass());
+            Object current;
+            try {
+                current = processor.postProcessAfterInitialization(result, beanName);
+            } finally {
+                recorder.end(step);
+            }
             if (current == null) { // 没有返回新实例
                 return result;
             }
@@ -1137,6 +1977,23 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return false;
     }
 
+    /**
+     * 是否原型
+     *
+     * @param name beanName
+     * @return boolean
+     */
+    public boolean isPrototype(String name) {
+        String beanName = transformedBeanName(name);
+
+        BeanDefinition beanDefinition = this.beanDefinitionMap.get(beanName);
+        if (beanDefinition != null) {
+            return beanDefinition.isPrototype();
+        }
+
+        return false;
+    }
+
     /**
      * 尝试转变beanName (如果传入的是别名的话)
      *
@@ -1155,6 +2012,28 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return this.singletonObjects.containsKey(beanName);
     }
 
+    /**
+     * 获取完全初始化的单例（不包括提前暴露的引用）
+     *
+     * @param beanName beanName
+     * @return 单例 或 null
+     */
+    public Object getSingletonIfInitialized(String beanName) {
+        return this.singletonObjects.get(beanName);
+    }
+
+    /**
+     * 获取单例代数，移除单例时变化，用于判断缓存的单例引用是否仍然有效
+     */
+    public int getSingletonGeneration() {
+        return this.singletonGeneration.get();
+    }
+
+    @Override
+    public int getBeanDefinitionVersion() {
+        return this.beanDefinitionVersion;
+    }
+
     @Override
     public boolean containsBean(String name) {
         String beanName = transformedBeanName(name);
@@ -1167,10 +2046,21 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     @Override
     public Object getBean(String name) {
+        // 快速路径：已完成初始化的单例
+        Object bean = this.singletonSnapshot.get(name);
+        if (bean != null) {
+            return bean;
+        }
         return doGetBean(name, null, null, false);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> T getBean(String name, Class<T> requiredType) {
+        // 快速路径：已完成初始化的单例，类型不匹配时交由完整流程报错
+        Object bean = this.singletonSnapshot.get(name);
+        if (bean != null && (requiredType == null || requiredType.isInstance(bean))) {
+            return (T) bean;
+        }
         return doGetBean(name, requiredType, null, false);
     }
 
@@ -1218,8 +2108,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     @Override
     public void registryBeanDefinition(String beanName, Class<?> beanClass) {
-
-
+        registryBeanDefinition(beanName, new GenericBeanDefinition(beanClass));
     }
 
     @Override
@@ -1228,13 +2117,256 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         if (existingDefinition != null) {
             log.info("bean {} 已存在 bean 定义, 无需重复注册", beanName);
         } else {
-            synchronized (this.beanDefinitionMap) {
-                this.beanDefinitionMap.put(beanName, beanDefinition);
+            putBeanDefinition(beanName, beanDefinition);
+        }
+    }
+
+    /**
+     * 存入 bean 定义，并增量维护类型索引
+     * - 已存在同名的 bean 定义时覆盖，并从索引中移除旧的定义
+     *
+     * @param beanName       beanName
+     * @param beanDefinition bean定义
+     */
+    private void putBeanDefinition(String beanName, BeanDefinition beanDefinition) {
+        synchronized (this.beanDefinitionMap) {
+            BeanDefinition existingDefinition = this.beanDefinitionMap.put(beanName, beanDefinition);
+            if (existingDefinition != null) {
+                unindexBeanDefinition(beanName);
+                this.mergedBeanDefinitions.remove(beanName);
+            } else {
                 List<String> updatedDefinitions = new ArrayList<>(this.beanDefinitionNames.size() + 1);
                 updatedDefinitions.addAll(this.beanDefinitionNames);
                 updatedDefinitions.add(beanName);
                 this.beanDefinitionNames = updatedDefinitions;
             }
+            indexBeanDefinition(beanName, beanDefinition);
+            this.beanDefinitionVersion++;
+            this.orderedCandidateNamesCache.clear();
+            this.autowireCandidateCache.clear();
+        }
+    }
+
+    /**
+     * 将 bean 定义加入类型索引、注解索引（按类名索引）
+     * - 扫描得到的 bean 定义直接使用字节码元数据，不加载 Bean 类
+     */
+    private void indexBeanDefinition(String beanName, BeanDefinition beanDefinition) {
+        Collection<String> typeNames;
+        Collection<String> annotationNames;
+        if (beanDefinition instanceof ScannedGenericBeanDefinition scanned) {
+            typeNames = scanned.getTypeNames();
+            annotationNames = scanned.getAnnotationNames();
+        } else {
+            Class<?> beanType = beanDefinition.getBeanType();
+            if (beanType == null) {
+                return;
+            }
+            typeNames = ClassUtils.getTypeClosure(beanType).stream().map(Class::getName).toList();
+            annotationNames = Arrays.stream(beanType.getAnnotations()).map(annotation -> annotation.annotationType().getName()).toList();
+        }
+        for (String typeName : typeNames) {
+            this.allBeanNamesByType.merge(typeName, new String[]{beanName}, DefaultListableBeanFactory::concatBeanNames);
+        }
+        for (String annotationName : annotationNames) {
+            this.allBeanNamesByAnnotation.merge(annotationName, new String[]{beanName}, DefaultListableBeanFactory::concatBeanNames);
+        }
+    }
+
+    /**
+     * 从类型索引、注解索引中移除指定的 beanName
+     */
+    private void unindexBeanDefinition(String beanName) {
+        for (Map<String, String[]> index : List.of(this.allBeanNamesByType, this.allBeanNamesByAnnotation)) {
+            index.replaceAll((type, names) -> Arrays.stream(names).filter(name -> !name.equals(beanName)).toArray(String[]::new));
+            index.values().removeIf(names -> names.length == 0);
+        }
+    }
+
+    private static String[] concatBeanNames(String[] existing, String[] added) {
+        String[] result = Arrays.copyOf(existing, existing.length + added.length);
+        System.arraycopy(added, 0, result, existing.length, added.length);
+        return result;
+    }
+
+    /**
+     * 延迟解析时使用的依赖描述：解析目标 bean 时不再重复延迟
+     */
+    private static class DeferredDependencyDescriptor extends DependencyDescriptor {
+
+        DeferredDependencyDescriptor(DependencyDescriptor original, ResolvableType type, boolean required) {
+            super(original, type, required);
+        }
+    }
+
+    /**
+     * ObjectFactory、ObjectProvider 注入点注入的提供者
+     * - 调用时才解析依赖，首次解析后缓存唯一注入的 beanName，之后直接按 beanName 获取
+     * - 单例依赖由容器保证只创建一次（并发调用时等待同一个创建任务）
+     */
+    private class DependencyObjectProvider implements ObjectProvider<Object> {
+
+        /** 依赖描述（必须） */
+        private final DependencyDescriptor requiredDescriptor;
+
+        /** 依赖描述（非必须） */
+        private final DependencyDescriptor optionalDescriptor;
+
+        /** 需要注入依赖的 beanName */
+        private final String beanName;
+
+        /** 缓存的唯一注入的 beanName，bean 定义版本变化后失效 */
+        private volatile InjectionShortcut shortcut;
+
+        DependencyObjectProvider(DependencyDescriptor descriptor, ResolvableType type, String beanName) {
+            this.requiredDescriptor = new DeferredDependencyDescriptor(descriptor, type, true);
+            this.optionalDescriptor = new DeferredDependencyDescriptor(descriptor, type, false);
+            this.beanName = beanName;
+        }
+
+        @Override
+        public Object getObject() {
+            return resolve(this.requiredDescriptor);
+        }
+
+        @Override
+        public Object getIfAvailable() {
+            return resolve(this.optionalDescriptor);
+        }
+
+        /**
+         * 缓存的 beanName 是否是单例，单例可以由调用方缓存
+         */
+        boolean isSingletonShortcut() {
+            InjectionShortcut shortcut = this.shortcut;
+            return (isValid(shortcut) && isSingleton(shortcut.beanName()));
+        }
+
+        private Object resolve(DependencyDescriptor descriptor) {
+            Class<?> type = descriptor.getDependencyType();
+            InjectionShortcut shortcut = this.shortcut;
+            if (isValid(shortcut)) {
+                Object value = getBean(shortcut.beanName(), type);
+                if (this.beanName != null) {
+                    registerDependentBean(shortcut.beanName(), this.beanName);
+                }
+                return value;
+            }
+            int version = beanDefinitionVersion;
+            Set<String> autowiredBeanNames = new LinkedHashSet<>(2);
+            Object value = resolveDependency(descriptor, this.beanName, autowiredBeanNames);
+            if (value != null && autowiredBeanNames.size() == 1) {
+                String autowiredBeanName = autowiredBeanNames.iterator().next();
+                if (isTypeMatch(autowiredBeanName, type)) {
+                    this.shortcut = new InjectionShortcut(autowiredBeanName, version);
+                }
+            }
+            return value;
+        }
+
+        private boolean isValid(InjectionShortcut shortcut) {
+            return (shortcut != null && shortcut.beanDefinitionVersion() == beanDefinitionVersion);
+        }
+
+        @Override
+        public String toString() {
+            return "DependencyObjectProvider for " + this.requiredDescriptor.getDependencyType().getName();
+        }
+    }
+
+    /**
+     * 缓存的唯一注入的 beanName 以及缓存时的 bean 定义版本
+     */
+    private record InjectionShortcut(String beanName, int beanDefinitionVersion) {
+    }
+
+    /**
+     * {@link Lazy} 代理的目标对象：首次调用时通过提供者解析，单例依赖解析后缓存
+     */
+    private static class LazyResolutionTargetSource implements TargetSource {
+
+        private final Class<?> type;
+
+        private final DependencyObjectProvider provider;
+
+        /** 缓存的单例目标对象 */
+        private volatile Object target;
+
+        LazyResolutionTargetSource(Class<?> type, DependencyObjectProvider provider) {
+            this.type = type;
+            this.provider = provider;
+        }
+
+        @Override
+        public Class<?> getTargetClass() {
+            return this.type;
+        }
+
+        @Override
+        public boolean isStatic() {
+            return false;
+        }
+
+        @Override
+        public Object getTarget() {
+            Object target = this.target;
+            if (target == null) {
+                target = this.provider.getObject();
+                if (this.provider.isSingletonShortcut()) {
+                    this.target = target;
+                }
+            }
+            return target;
+        }
+
+        @Override
+        public void releaseTarget(Object target) {
+        }
+    }
+
+    /**
+     * 候选 beanName 缓存的 key
+     *
+     * @param type           依赖类型
+     * @param qualifier      {@link Qualifier} 指定的 beanName（没有为 null）
+     * @param resolvableType 依赖类型（包括泛型）
+     */
+    private record CandidateKey(Class<?> type, String qualifier, ResolvableType resolvableType) {
+
+        static CandidateKey of(DependencyDescriptor descriptor) {
+            return new CandidateKey(descriptor.getDependencyType(), getQualifierValue(descriptor), descriptor.getResolvableType());
+        }
+    }
+
+    /**
+     * 三级缓存工厂的认领记录，由认领线程调用工厂，其他请求提前引用的线程等待
+     */
+    private static class EarlyReferenceClaim {
+
+        /** 调用工厂的线程 */
+        final Thread thread;
+
+        /** 提前引用 */
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        EarlyReferenceClaim(Thread thread) {
+            this.thread = thread;
+        }
+    }
+
+    /**
+     * 单例的创建任务，由创建线程完成，其他请求该 bean 的线程等待
+     */
+    private static class SingletonCreation {
+
+        /** 创建该 bean 的线程 */
+        final Thread thread;
+
+        /** 创建结果 */
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        SingletonCreation(Thread thread) {
+            this.thread = thread;
         }
     }
 
@@ -1261,9 +2393,24 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     }
 
 
+    /**
+     * 解析依赖，并记录依赖关系（注入的 bean -> 需要注入依赖的 bean），用于按依赖顺序销毁
+     */
     @Override
     public Object resolveDependency(DependencyDescriptor descriptor, String requestingBeanName,
                                     Set<String> autowiredBeanNames) {
+        Set<String> beanNames = (autowiredBeanNames != null ? autowiredBeanNames : new LinkedHashSet<>(2));
+        Object value = doResolveDependency(descriptor, requestingBeanName, beanNames);
+        if (requestingBeanName != null) {
+            for (String beanName : beanNames) {
+                registerDependentBean(beanName, requestingBeanName);
+            }
+        }
+        return value;
+    }
+
+    private Object doResolveDependency(DependencyDescriptor descriptor, String requestingBeanName,
+                                       Set<String> autowiredBeanNames) {
 
         /** ① 检查缓存，直接获取对象如果存在缓存就会走此 */
         Object shortcut = descriptor.resolveShortcut(this);
@@ -1271,14 +2418,44 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             return shortcut;
         }
 
+        /** ② ObjectFactory、ObjectProvider 类型和 @Lazy 的注入点，延迟到使用时解析 */
+        Class<?> type = descriptor.getDependencyType();
+        if (type == ObjectFactory.class || type == ObjectProvider.class) {
+            return new DependencyObjectProvider(descriptor, descriptor.getResolvableType().getGeneric(0), requestingBeanName);
+        }
+        if (isLazyResolution(descriptor)) {
+            return buildLazyResolutionProxy(descriptor, requestingBeanName);
+        }
+
+        /** ③ Optional、集合、Map 类型的注入点，按元素类型解析 */
+        if (type == Optional.class) {
+            DependencyDescriptor elementDescriptor = resolveElementDescriptor(descriptor);
+            return Optional.ofNullable(resolveDependency(elementDescriptor, requestingBeanName, autowiredBeanNames));
+        }
+        if (isMultipleBeansType(descriptor)) {
+            return resolveMultipleBeans(descriptor, requestingBeanName, autowiredBeanNames);
+        }
+
+
+        /** ④ 单个依赖：命中候选结果缓存时直接按 beanName 获取 */
+        CandidateKey candidateKey = CandidateKey.of(descriptor);
+        String cachedCandidate = this.autowireCandidateCache.get(candidateKey);
+        if (cachedCandidate != null && !isSelfReference(requestingBeanName, cachedCandidate)) {
+            if (autowiredBeanNames != null) {
+                autowiredBeanNames.add(cachedCandidate);
+            }
+            return descriptor.resolveCandidate(cachedCandidate, type, this);
+        }
 
         // 根据类型查询对应的bean实例映射 key:BeanName value:Bean实例或者Bean的Class
+        int version = this.beanDefinitionVersion;
         Map<String, Object> autowireCandidates = findAutowireCandidates(requestingBeanName, descriptor.getDependencyType(), descriptor);
         if (autowireCandidates.isEmpty()) {
             if (descriptor.isRequired()) {
                 log.error("给 beanName：{} 的 field:{} 进行依赖注入失败, 预计至少有 1 个 bean 符合自动装配候选条件,类型：{}", requestingBeanName, descriptor.getFieldName(), descriptor.getDependencyType());
                 throw new RuntimeException("预计至少有 1 个 bean 符合自动装配候选条件。Dependency annotations: " + Arrays.toString(descriptor.getAnnotations()));
             }
+            return null;
         }
 
         String autowiredBeanName;
@@ -1308,6 +2485,11 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             autowiredBeanNames.add(autowiredBeanName);
         }
 
+        // 候选中不包含请求的 bean 自身时，结果与请求的 bean 无关，缓存最终注入的 beanName
+        if (requestingBeanName == null || !isAutowireCandidate(requestingBeanName, descriptor)) {
+            cacheIfDefinitionsUnchanged(this.autowireCandidateCache, candidateKey, autowiredBeanName, version);
+        }
+
         // 如果是 Class 类型，说明未创建对象，根据 BeanName 初始化实例对象
         if (instanceCandidate instanceof Class<?> clazz) {
             instanceCandidate = descriptor.resolveCandidate(autowiredBeanName, clazz, this);
@@ -1316,22 +2498,209 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
         return instanceCandidate;
     }
 
+    /**
+     * 是否延迟解析的注入点
+     * - ObjectFactory、ObjectProvider 类型
+     * - 使用了 {@link Lazy}（final 类无法代理，仍然立即解析）
+     *
+     * @param descriptor 依赖描述符
+     * @return true:延迟解析
+     */
+    private boolean isLazyResolution(DependencyDescriptor descriptor) {
+        Class<?> type = descriptor.getDependencyType();
+        if (type == ObjectFactory.class || type == ObjectProvider.class) {
+            return true;
+        }
+        if (descriptor instanceof DeferredDependencyDescriptor || Modifier.isFinal(type.getModifiers())) {
+            return false;
+        }
+        for (Annotation annotation : descriptor.getAnnotations()) {
+            if (annotation instanceof Lazy) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 创建延迟解析的代理：首次调用代理的方法时才解析依赖
+     * - 接口类型使用 JDK 代理，类使用 CGLIB 代理（创建代理实例时会调用类的无参构造函数）
+     *
+     * @param descriptor         依赖描述符
+     * @param requestingBeanName 需要注入依赖的 beanName
+     * @return 代理对象
+     */
+    private Object buildLazyResolutionProxy(DependencyDescriptor descriptor, String requestingBeanName) {
+        Class<?> type = descriptor.getDependencyType();
+        DependencyObjectProvider provider = new DependencyObjectProvider(descriptor, descriptor.getResolvableType(), requestingBeanName);
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTargetSource(new LazyResolutionTargetSource(type, provider));
+        if (type.isInterface()) {
+            proxyFactory.addInterfaces(type);
+        } else {
+            proxyFactory.setProxyTargetClass(true);
+        }
+        return proxyFactory.getProxy();
+    }
+
+    /**
+     * 是否 List、Collection、Set、Map（key 为 String）类型的注入点
+     *
+     * @param descriptor 依赖描述符
+     * @return true:注入所有候选 bean
+     */
+    private boolean isMultipleBeansType(DependencyDescriptor descriptor) {
+        Class<?> type = descriptor.getDependencyType();
+        if (type == List.class || type == Collection.class || type == Set.class) {
+            return true;
+        }
+        return (type == Map.class && descriptor.getResolvableType().getGeneric(0).resolve() == String.class);
+    }
+
+    /**
+     * 将 Optional、集合、Map 类型的依赖描述符转换为元素类型的依赖描述符，其他类型原样返回
+     * - 元素类型无法确定（原始类型、{@code ?}、{@code ? extends Object}）时会匹配所有 bean，直接拒绝
+     *
+     * @param descriptor 依赖描述符
+     * @return 元素类型的依赖描述符
+     * @throws IllegalArgumentException 元素类型无法确定
+     */
+    private DependencyDescriptor resolveElementDescriptor(DependencyDescriptor descriptor) {
+        Class<?> type = descriptor.getDependencyType();
+        ResolvableType elementType;
+        if (type == Optional.class || (isMultipleBeansType(descriptor) && type != Map.class)) {
+            elementType = descriptor.getResolvableType().getGeneric(0);
+        } else if (type == Map.class && isMultipleBeansType(descriptor)) {
+            elementType = descriptor.getResolvableType().getGeneric(1);
+        } else {
+            return descriptor;
+        }
+        if (elementType.resolve() == null) {
+            throw new IllegalArgumentException("注入点 " + descriptor.getFieldName() + " 的类型 " + type.getName() +
+                    " 没有指定元素类型（原始类型或通配符），无法确定要注入的 bean");
+        }
+        return new DependencyDescriptor(descriptor, elementType, false);
+    }
+
+    /**
+     * 解析集合、Map 类型的注入点：注入所有候选 bean，按 {@link Priority} 排序（值越小越靠前，没有优先级的按注册顺序排在最后）
+     * - 返回不可变的集合、Map
+     *
+     * @param descriptor         依赖描述符
+     * @param requestingBeanName 需要注入依赖的 beanName
+     * @param autowiredBeanNames 记录注入的 beanName
+     * @return List、Set、Map 或 null（没有候选 bean 且不是必须的）
+     */
+    private Object resolveMultipleBeans(DependencyDescriptor descriptor, String requestingBeanName, Set<String> autowiredBeanNames) {
+        Class<?> type = descriptor.getDependencyType();
+        DependencyDescriptor elementDescriptor = resolveElementDescriptor(descriptor);
+        Class<?> elementType = elementDescriptor.getDependencyType();
+
+        String[] candidateNames = getOrderedCandidateNames(elementDescriptor);
+        Map<String, Object> beans = new LinkedHashMap<>(candidateNames.length * 2);
+        for (String candidateName : candidateNames) {
+            if (!isSelfReference(requestingBeanName, candidateName)) {
+                beans.put(candidateName, elementDescriptor.resolveCandidate(candidateName, elementType, this));
+            }
+        }
+        if (beans.isEmpty()) {
+            if (descriptor.isRequired()) {
+                log.error("给 beanName：{} 的 field:{} 进行依赖注入失败, 预计至少有 1 个 bean 符合自动装配候选条件,类型：{}", requestingBeanName, descriptor.getFieldName(), elementType);
+                throw new RuntimeException("预计至少有 1 个 bean 符合自动装配候选条件。类型：" + elementType + " Dependency annotations: " + Arrays.toString(descriptor.getAnnotations()));
+            }
+            return null;
+        }
+
+        if (autowiredBeanNames != null) {
+            autowiredBeanNames.addAll(beans.keySet());
+        }
+        if (type == Map.class) {
+            return Collections.unmodifiableMap(beans);
+        }
+        if (type == Set.class) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(beans.values()));
+        }
+        return List.copyOf(beans.values());
+    }
+
+    /**
+     * 获取有序的候选 beanName：符合自动装配条件（类型、泛型、@Qualifier）的 bean，按 {@link Priority} 排序
+     * - 每个 (依赖类型, @Qualifier, 泛型) 只计算一次，之后共享同一个数组，调用方不能修改
+     *
+     * @param descriptor 依赖描述符
+     * @return 候选 beanName
+     */
+    private String[] getOrderedCandidateNames(DependencyDescriptor descriptor) {
+        CandidateKey key = CandidateKey.of(descriptor);
+        String[] candidateNames = this.orderedCandidateNamesCache.get(key);
+        if (candidateNames != null) {
+            return candidateNames;
+        }
+
+        int version = this.beanDefinitionVersion;
+        List<String> candidates = new ArrayList<>();
+        for (String candidate : getBeanNamesForType(key.type())) {
+            if (isAutowireCandidate(candidate, descriptor)) {
+                candidates.add(candidate);
+            }
+        }
+        // 稳定排序，优先级相同的保持注册顺序
+        candidates.sort(Comparator.comparingInt(candidate -> {
+            Integer priority = getPriority(getMergedLocalBeanDefinition(candidate).getBeanType());
+            return (priority != null ? priority : Integer.MAX_VALUE);
+        }));
+        candidateNames = candidates.toArray(EMPTY_STRING_ARRAY);
+        cacheIfDefinitionsUnchanged(this.orderedCandidateNamesCache, key, candidateNames, version);
+        return candidateNames;
+    }
+
+    /**
+     * 缓存根据 bean 定义计算的结果，计算期间注册了新的 bean 定义时结果可能不完整，不缓存
+     *
+     * @param cache   缓存
+     * @param key     key
+     * @param value   计算结果
+     * @param version 计算前的 bean 定义版本
+     */
+    private <K, V> void cacheIfDefinitionsUnchanged(Map<K, V> cache, K key, V value, int version) {
+        synchronized (this.beanDefinitionMap) {
+            if (version == this.beanDefinitionVersion) {
+                cache.putIfAbsent(key, value);
+            }
+        }
+    }
+
+    /**
+     * 获取注入点上 {@link Qualifier} 指定的 beanName
+     *
+     * @param descriptor 依赖描述符
+     * @return beanName 或 null（没有使用 @Qualifier）
+     */
+    private static String getQualifierValue(DependencyDescriptor descriptor) {
+        for (Annotation annotation : descriptor.getAnnotations()) {
+            if (annotation instanceof Qualifier qualifier) {
+                return qualifier.value();
+            }
+        }
+        return null;
+    }
+
     /**
      * 根据类型查询对应的bean映射
      *
      * @param beanName     等给属性或参数注入依赖的 beanName
      * @param requiredType 属性或参数需要注入的依赖类型
      * @param descriptor   依赖描述符
-     * @return beanName-> bean实例（bean Class）
+     * @return beanName-> bean实例（bean Class），按 {@link Priority} 排序
      */
     private Map<String, Object> findAutowireCandidates(String beanName, Class<?> requiredType, DependencyDescriptor descriptor) {
-        // 获取所有候选依赖的Bean名称
-        String[] candidateName = getBeanNamesForType(requiredType);
-        HashMap<String, Object> result = new HashMap<>(candidateName.length);
+        // 获取所有候选依赖的Bean名称（已检查自动装配条件：@Qualifier 等）
+        String[] candidateNames = getOrderedCandidateNames(descriptor);
+        Map<String, Object> result = new LinkedHashMap<>(candidateNames.length * 2);
 
-        for (String candidate : candidateName) {
-            // 排除自引用 && 检查是否符合自动装配条件（@Qualifier、泛型等）
-            if (!isSelfReference(beanName, candidate) && isAutowireCandidate(candidate, descriptor)) {
+        for (String candidate : candidateNames) {
+            // 排除自引用
+            if (!isSelfReference(beanName, candidate)) {
                 // 加入候选 Map 中
                 addCandidateEntry(result, candidate, descriptor, requiredType);
             }
@@ -1367,7 +2736,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
      */
     private boolean isAutowireCandidate(String beanName, DependencyDescriptor descriptor) {
         // 检查Bean定义
-        if (!this.beanDefinitionNames.contains(beanName)) {
+        if (!this.beanDefinitionMap.containsKey(beanName)) {
             return false;
         }
 
@@ -1377,6 +2746,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
             return false;
         }
 
+        // 检查泛型匹配（Repository<Order> 不匹配 Repository<User>），bean 类的泛型解析结果由 ResolvableType 缓存
+        ResolvableType requiredType = descriptor.getResolvableType();
+        if (requiredType.hasGenerics() && !requiredType.isAssignableFrom(ResolvableType.forClass(rbd.getBeanType()))) {
+            return false;
+        }
+
         // 检查 Qualifier 注解
         for (Annotation fieldAnnotation : descriptor.getAnnotations()) {
             if (fieldAnnotation instanceof Qualifier qualifier) {
@@ -1416,30 +2791,25 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     /**
      * 根据类型获获取对应的BeanName
+     * - 直接查询类型索引，耗时只与匹配的数量有关
      *
      * @param type Class
      * @return BeanName[]
      */
     public String[] getBeanNamesForType(Class<?> type) {
-        Map<Class<?>, List<String>> cache = this.allBeanNamesByType;
-        // 1.缓存获取
-        List<String> dbNames = cache.get(type);
-        if (dbNames != null && !dbNames.isEmpty()) {
-            return dbNames.toArray(new String[]{});
-        }
-
-        // 2.缓存未命中，查询所有的beanName
-        List<String> result = new ArrayList<>();
-        for (String beanName : this.beanDefinitionNames) {
-            RootBeanDefinition rbd = getMergedLocalBeanDefinition(beanName);
-            if (isTypeMatch(beanName, type)) {
-                result.add(beanName);
-            }
-        }
+        String[] beanNames = this.allBeanNamesByType.get(type.getName());
+        return (beanNames != null ? beanNames.clone() : EMPTY_STRING_ARRAY);
+    }
 
-        // 3.加入缓存
-        cache.put(type, result);
-        return result.toArray(new String[]{});
+    /**
+     * 获取类上声明了指定注解的 BeanName
+     *
+     * @param annotationType 注解类型
+     * @return BeanName[]
+     */
+    public String[] getBeanNamesForAnnotation(Class<? extends Annotation> annotationType) {
+        String[] beanNames = this.allBeanNamesByAnnotation.get(annotationType.getName());
+        return (beanNames != null ? beanNames.clone() : EMPTY_STRING_ARRAY);
     }
 
 
@@ -1599,14 +2969,41 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
     }
 
 
+    /**
+     * 记录依赖关系
+     *
+     * @param beanName          被依赖的 beanName
+     * @param dependentBeanName 依赖它的 beanName
+     */
+    @Override
+    public void registerDependentBean(String beanName, String dependentBeanName) {
+        String canonicalName = transformedBeanName(beanName);
+        if (!canonicalName.equals(dependentBeanName)) {
+            this.dependentBeanMap.computeIfAbsent(canonicalName, k -> ConcurrentHashMap.newKeySet()).add(dependentBeanName);
+        }
+    }
+
+    /**
+     * 获取依赖指定 bean 的 beanName
+     *
+     * @param beanName beanName
+     * @return 依赖它的 beanName
+     */
+    public String[] getDependentBeans(String beanName) {
+        Set<String> dependentBeans = this.dependentBeanMap.get(beanName);
+        return (dependentBeans != null ? dependentBeans.toArray(EMPTY_STRING_ARRAY) : EMPTY_STRING_ARRAY);
+    }
+
     /**
      * 销毁全部单例
+     * - 依赖其他 bean 的先销毁（A 依赖 B，B 依赖 C，销毁顺序为：A -> B -> C），没有依赖关系的 bean 并行销毁
+     * - 单个 bean 销毁超时后不再等待，继续销毁它依赖的 bean；整体超时后放弃未完成的销毁
+     * - 存在循环依赖的 bean 无法确定顺序，最后按注册顺序倒序串行销毁
+     * - 最后关闭异步初始化方法的线程池
      */
     public void destroySingletons() {
         // 标记执行销毁中
-        synchronized (this.singletonObjects) {
-            this.singletonsCurrentlyInDestruction = true;
-        }
+        this.singletonsCurrentlyInDestruction = true;
 
         // 拿到所有存在销毁适配实例的 beanName
         String[] disposableBeanNames = {};
@@ -1615,15 +3012,153 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
                     disposableBeans.keySet().toArray(disposableBeanNames) : disposableBeanNames);
         }
 
-        // 倒序执行销毁
+        if (disposableBeanNames.length > 0) {
+            SingletonDependencyGraph graph = buildDestructionGraph(disposableBeanNames);
+            long deadline = (this.shutdownTimeoutMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.shutdownTimeoutMillis) : 0);
+            if (destroySingletonsInParallel(graph, deadline)) {
+                // 倒序执行销毁
+                List<String> cyclicBeanNames = graph.getCyclicBeanNames();
+                for (int i = cyclicBeanNames.size() - 1; i >= 0; i--) {
+                    destroySingleton(cyclicBeanNames.get(i));
+                }
+            }
+        }
+        this.dependentBeanMap.clear();
+
+        // 所有 bean 销毁完成（销毁前会等待未完成的异步初始化），关闭异步初始化线程池
+        for (BeanPostProcessor bp : this.beanPostProcessors) {
+            if (bp instanceof InitDestroyAnnotationBeanPostProcessor ibpp) {
+                ibpp.shutdownAsyncInitExecutor();
+            }
+        }
+    }
+
+    /**
+     * 构建销毁顺序的依赖图：bean 的销毁“依赖于”所有依赖它的 bean 先完成销毁
+     * - 依赖关系会穿过不需要销毁的 bean 传递（A 依赖 B，B 依赖 C，B 不需要销毁，A 仍然先于 C 销毁）
+     *
+     * @param disposableBeanNames 需要销毁的 beanName（注册顺序）
+     * @return 依赖图
+     */
+    private SingletonDependencyGraph buildDestructionGraph(String[] disposableBeanNames) {
+        SingletonDependencyGraph graph = new SingletonDependencyGraph();
+        // 倒序添加，没有依赖关系的 bean 保持原来的倒序销毁顺序
         for (int i = disposableBeanNames.length - 1; i >= 0; i--) {
-            destroySingleton(disposableBeanNames[i]);
+            graph.addBean(disposableBeanNames[i]);
+        }
+        for (String beanName : disposableBeanNames) {
+            Deque<String> pending = new ArrayDeque<>(getDependentBeanSet(beanName));
+            Set<String> visited = new HashSet<>();
+            while (!pending.isEmpty()) {
+                String dependent = pending.poll();
+                if (!visited.add(dependent)) {
+                    continue;
+                }
+                if (graph.getBeanNames().contains(dependent)) {
+                    graph.addDependency(beanName, dependent);
+                } else {
+                    pending.addAll(getDependentBeanSet(dependent));
+                }
+            }
+        }
+        return graph;
+    }
+
+    private Set<String> getDependentBeanSet(String beanName) {
+        return this.dependentBeanMap.getOrDefault(beanName, Collections.emptySet());
+    }
+
+    /**
+     * 按依赖图并行销毁（不包括循环依赖中的 bean）
+     *
+     * @param graph    依赖图
+     * @param deadline 整体超时的截止时间（nanoTime），0 表示不限制
+     * @return true:全部完成 false:整体超时
+     */
+    private boolean destroySingletonsInParallel(SingletonDependencyGraph graph, long deadline) {
+        ForkJoinPool pool = new ForkJoinPool(this.destructionParallelism);
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>(graph.getSortedBeanNames().size() * 2);
+        try {
+            // 拓扑顺序中依赖它的 bean 总是先出现，所以等待的 future 一定已经创建
+            for (String beanName : graph.getSortedBeanNames()) {
+                CompletableFuture<?>[] dependentFutures = graph.getDependencies(beanName).stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture<?>[]::new);
+                futures.put(beanName, CompletableFuture.allOf(dependentFutures)
+                        .thenCompose(ignored -> destroySingletonAsync(beanName, pool)));
+            }
+
+            CompletableFuture<Void> all = CompletableFuture.allOf(futures.values().toArray(CompletableFuture<?>[]::new));
+            if (deadline == 0) {
+                all.join();
+                return true;
+            }
+            all.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            List<String> unfinished = futures.entrySet().stream().filter(entry -> !entry.getValue().isDone())
+                    .map(Map.Entry::getKey).toList();
+            log.error("销毁单例超过 {} ms，放弃未完成的销毁: {}", this.shutdownTimeoutMillis, unfinished);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | CompletionException e) {
+            // destroySingletonAsync 返回的 future 总是正常完成，这里只作为兜底
+            log.error("销毁单例出现异常", e.getCause());
+            return true;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 异步销毁单例，返回的 future 总是正常完成，它依赖的 bean 的销毁不会因为失败或超时而被跳过
+     * - 销毁失败时记录错误
+     * - 设置了单个 bean 的超时时间时，超时后不再等待销毁方法
+     */
+    private CompletableFuture<Void> destroySingletonAsync(String beanName, ForkJoinPool pool) {
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> destroySingleton(beanName), pool);
+        if (this.destroyTimeoutMillis > 0) {
+            future = future.orTimeout(this.destroyTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return future.exceptionally(ex -> {
+            Throwable cause = (ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            if (cause instanceof TimeoutException) {
+                log.warn("销毁 beanName: {} 超过 {} ms，不再等待", beanName, this.destroyTimeoutMillis);
+            } else {
+                log.error("销毁 beanName: {} 出现错误，继续销毁它依赖的 bean", beanName, cause);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 设置销毁单例时使用的线程数
+     */
+    public void setDestructionParallelism(int destructionParallelism) {
+        if (destructionParallelism < 1) {
+            throw new IllegalArgumentException("destructionParallelism 必须大于 0");
         }
+        this.destructionParallelism = destructionParallelism;
+    }
 
+    /**
+     * 设置单个 bean 销毁的超时时间（毫秒），0 表示不限制
+     */
+    public void setDestroyTimeoutMillis(long destroyTimeoutMillis) {
+        this.destroyTimeoutMillis = destroyTimeoutMillis;
     }
 
     /**
-     * 销毁指定单例
+     * 设置销毁全部单例的超时时间（毫秒），0 表示不限制
+     */
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+
+    /**
+     * 销毁指定单例，依赖它的 bean 先销毁
      *
      * @param beanName beanName
      */
@@ -1645,24 +3180,56 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
     /**
      * 销毁指定 bean
+     * - 先销毁依赖它的 bean（例如：A 依赖于 B ,B依赖于C，销毁 C 时顺序为：A -> B -> C）
+     * - 使用显式的栈按深度优先后序遍历依赖它的 bean，依赖链很长时不会栈溢出
+     * - 某个 bean 的销毁方法失败时记录错误，继续销毁其余的 bean
      *
      * @param beanName       beanName
      * @param disposableBean 执行所有销毁方法的适配器实例
      */
     protected void destroyBean(String beanName, DisposableBean disposableBean) {
-        // spring 源码中会销毁该 Bean 所有依赖的 Bean
-        // 例如：A 依赖于 B ,B依赖于C，销毁顺序为：C -> B -> A
-        // 这里就不处理那么细腻了，只销毁自己
+        Deque<DestructionFrame> stack = new ArrayDeque<>();
+        stack.push(new DestructionFrame(beanName, disposableBean, removeDependentBeans(beanName)));
+        while (!stack.isEmpty()) {
+            DestructionFrame frame = stack.peek();
+            if (frame.dependentBeans().hasNext()) {
+                // 与 destroySingleton 相同：移除单例缓存和销毁适配器，先处理依赖它的 bean
+                String dependentBeanName = frame.dependentBeans().next();
+                removeSingleton(dependentBeanName);
+                DisposableBean dependentDisposableBean;
+                synchronized (this.disposableBeans) {
+                    dependentDisposableBean = this.disposableBeans.remove(dependentBeanName);
+                }
+                stack.push(new DestructionFrame(dependentBeanName, dependentDisposableBean, removeDependentBeans(dependentBeanName)));
+            } else {
+                stack.pop();
+                invokeDestroyMethods(frame.beanName(), frame.disposableBean());
+            }
+        }
+    }
+
+    /**
+     * 移除并返回依赖指定 bean 的 beanName
+     */
+    private Iterator<String> removeDependentBeans(String beanName) {
+        Set<String> dependentBeans = this.dependentBeanMap.remove(beanName);
+        return (dependentBeans != null ? dependentBeans.iterator() : Collections.emptyIterator());
+    }
+
+    private void invokeDestroyMethods(String beanName, DisposableBean disposableBean) {
         if (disposableBean != null) {
             try {
-
                 disposableBean.destroy();
             } catch (Exception e) {
-                log.error("销毁 beanName: {} 出现错误...", beanName);
+                log.error("销毁 beanName: {} 出现错误...", beanName, e);
             }
         }
+    }
 
-
+    /**
+     * 待销毁的 bean 及其剩余未销毁的依赖它的 bean
+     */
+    private record DestructionFrame(String beanName, DisposableBean disposableBean, Iterator<String> dependentBeans) {
     }
 
     /**
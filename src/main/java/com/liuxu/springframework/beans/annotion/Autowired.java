@@ -11,7 +11,7 @@ import java.lang.annotation.Target;
  * @date: 2025-07-02
  * @author: liuxu
  */
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.CONSTRUCTOR, ElementType.METHOD})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Autowired {
 
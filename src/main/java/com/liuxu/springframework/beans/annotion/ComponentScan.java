@@ -7,6 +7,8 @@ import java.lang.annotation.Target;
 
 /**
  * 容器启动扫描路径
+ * - 可以指定多个包，都未指定时扫描配置类所在的包
+ * - 使用了 {@link Component} 的类（以及 includeFilters 匹配的类）是组件，excludeFilters 匹配的类会被排除
  *
  * @date: 2025-06-20
  * @author: liuxu
@@ -14,5 +16,49 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
 public @interface ComponentScan {
-    String value() default "";
+
+    /** 扫描的包，同 {@link #basePackages()} */
+    String[] value() default {};
+
+    /** 扫描的包 */
+    String[] basePackages() default {};
+
+    /** 额外作为组件的类型过滤器 */
+    Filter[] includeFilters() default {};
+
+    /** 排除的类型过滤器（优先于 includeFilters） */
+    Filter[] excludeFilters() default {};
+
+
+    /**
+     * 类型过滤器
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({})
+    @interface Filter {
+
+        /** 过滤类型 */
+        FilterType type() default FilterType.ANNOTATION;
+
+        /** 注解（ANNOTATION）或 父类型（ASSIGNABLE_TYPE） */
+        Class<?>[] classes() default {};
+
+        /** 类名正则表达式（REGEX） */
+        String[] pattern() default {};
+    }
+
+    /**
+     * 过滤类型
+     */
+    enum FilterType {
+
+        /** 类上使用了指定的注解（包括元注解） */
+        ANNOTATION,
+
+        /** 可以赋值给指定的类型 */
+        ASSIGNABLE_TYPE,
+
+        /** 类名匹配正则表达式 */
+        REGEX
+    }
 }
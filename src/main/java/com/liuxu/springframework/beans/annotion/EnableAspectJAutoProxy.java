@@ -30,5 +30,10 @@ public @interface EnableAspectJAutoProxy {
      */
     boolean proxyTargetClass() default false;
 
+    /**
+     * 是否冻结代理配置，并把每个方法的拦截链编译为 {@link com.liuxu.springframework.aop.framework.CompiledAdviceChain}
+     */
+    boolean compileAdviceChains() default false;
+
 
 }
@@ -1,12 +1,18 @@
 package com.liuxu.springframework.beans.annotion;
 
+import com.liuxu.springframework.beans.config.DependencyDescriptor;
+import com.liuxu.springframework.utils.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * 注入时的元数据类
- * 包含：需要注入的字段信息
+ * 包含：需要注入的字段、方法信息
  *
  * @date: 2025-07-02
  * @author: liuxu
@@ -63,6 +69,14 @@ public class InjectionMetadata {
     }
 
 
+    /**
+     * 需要注入的元素列表
+     */
+    public Collection<InjectedElement> getInjectedElements() {
+        return Collections.unmodifiableCollection(this.injectedElements);
+    }
+
+
     /**
      * 给目标对象按元数据进行依赖注入
      *
@@ -89,10 +103,37 @@ public class InjectionMetadata {
         /** 成员是否是字段 */
         protected final boolean isField;
 
+        /** 预编译的字段赋值句柄 {@code (Object, Object)void}，构建元数据时创建一次，每次注入直接调用 */
+        private final MethodHandle fieldSetter;
+
 
         public InjectedElement(Member member, boolean isField) {
             this.member = member;
             this.isField = isField;
+            this.fieldSetter = (isField ? ReflectionUtils.createFieldSetter((Field) member) : null);
+        }
+
+        public Member getMember() {
+            return member;
+        }
+
+        /**
+         * 返回该元素对应的依赖描述符（字段一个，方法每个参数一个），用于在创建实例之前分析 bean 之间的依赖关系
+         *
+         * @return 依赖描述符
+         */
+        public List<DependencyDescriptor> getDependencyDescriptors() {
+            return (this.isField ? List.of(new DependencyDescriptor((Field) this.member, true)) : Collections.emptyList());
+        }
+
+        /**
+         * 给目标对象的字段赋值
+         *
+         * @param target 目标对象
+         * @param value  字段值
+         */
+        protected void setFieldValue(Object target, Object value) throws Throwable {
+            this.fieldSetter.invokeExact(target, value);
         }
 
         /**
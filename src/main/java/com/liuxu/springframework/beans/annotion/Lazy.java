@@ -0,0 +1,22 @@
+package com.liuxu.springframework.beans.annotion;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 延迟解析的注入点
+ * - 注入的是依赖的代理对象，首次调用代理的方法时才解析（创建）依赖的 bean
+ * - 接口类型使用 JDK 代理，类使用 CGLIB 代理
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Lazy {
+
+}
@@ -7,6 +7,10 @@ import java.lang.annotation.Target;
 
 /**
  * 标识初始化方法注解
+ * - {@link #async()} 为 true 时，初始化方法在 bean 创建完成后提交到有界线程池中执行，不阻塞单例的创建
+ * - 只有单例异步执行；原型等其他作用域的 bean 在创建线程中同步执行
+ * - 预实例化单例时，会等待所有异步初始化方法执行完成后才回调 {@code SmartInitializingSingleton}
+ * - 依赖它的 bean 可以通过 {@code DefaultListableBeanFactory#awaitBeanInitialization} 等待它初始化完成
  *
  * @date: 2025-07-17
  * @author: liuxu
@@ -14,4 +18,10 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface PostConstruct {
+
+    /**
+     * 是否异步执行（同一个 bean 的异步初始化方法在同步初始化方法之后，按顺序在同一个任务中执行）
+     */
+    boolean async() default false;
+
 }
@@ -11,7 +11,7 @@ import java.lang.annotation.Target;
  * @date: 2025-07-05
  * @author: liuxu
  */
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
 @Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
 public @interface Qualifier {
 
@@ -0,0 +1,24 @@
+package com.liuxu.springframework.beans.annotion;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * bean 的作用域
+ * - {@code singleton}（默认）、{@code prototype}，或者通过 {@code registerScope} 注册到容器的自定义作用域
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Scope {
+
+    /** 作用域名称 */
+    String value();
+
+}
@@ -15,9 +15,15 @@ import java.util.Map;
  */
 public abstract class AbstractBeanDefinition implements BeanDefinition {
 
-    /** Bean 的 Class 类型 */
+    /** Bean 的 Class 类型（按类名定义时，首次使用才加载） */
     private volatile Class<?> beanType;
 
+    /** Bean 的类名，按类名定义时使用 */
+    private String beanClassName;
+
+    /** 加载 Bean 类使用的类加载器 */
+    private ClassLoader beanClassLoader;
+
     public static final String SCOPE_DEFAULT = "";
 
     /** 作用域 */
@@ -55,6 +61,17 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
         this.beanType = beanType;
     }
 
+    /**
+     * 按类名定义 bean，不加载类，首次调用 {@link #getBeanType()} 时才加载
+     *
+     * @param beanClassName   类名
+     * @param beanClassLoader 类加载器
+     */
+    public AbstractBeanDefinition(String beanClassName, ClassLoader beanClassLoader) {
+        this.beanClassName = beanClassName;
+        this.beanClassLoader = beanClassLoader;
+    }
+
 
     public AbstractBeanDefinition(AbstractBeanDefinition bd) {
         this.scope = bd.getScope();
@@ -62,7 +79,10 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
         this.initMethodNames = bd.getInitMethodNames();
         this.destroyMethodNames = bd.getDestroyMethodNames();
         this.lazyInit = bd.isLazyInit();
-        this.beanType = bd.getBeanType();
+        // 不触发类加载，只复制已有的状态
+        this.beanType = bd.beanType;
+        this.beanClassName = bd.beanClassName;
+        this.beanClassLoader = bd.beanClassLoader;
         this.primary = bd.primary;
         this.propertyValues = bd.propertyValues;
     }
@@ -86,9 +106,42 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
 
     @Override
     public Class<?> getBeanType() {
+        Class<?> beanType = this.beanType;
+        if (beanType == null && this.beanClassName != null) {
+            beanType = resolveBeanType();
+        }
         return beanType;
     }
 
+    /**
+     * 加载按类名定义的 Bean 类
+     */
+    private synchronized Class<?> resolveBeanType() {
+        if (this.beanType == null) {
+            try {
+                this.beanType = Class.forName(this.beanClassName, false, this.beanClassLoader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new RuntimeException("加载 bean 类 [" + this.beanClassName + "] 失败", e);
+            }
+        }
+        return this.beanType;
+    }
+
+    /**
+     * 获取 Bean 的类名，不会触发类加载
+     */
+    public String getBeanClassName() {
+        Class<?> beanType = this.beanType;
+        return (beanType != null ? beanType.getName() : this.beanClassName);
+    }
+
+    /**
+     * Bean 类是否已加载
+     */
+    public boolean hasBeanType() {
+        return this.beanType != null;
+    }
+
     @Override
     public void setBeanType(Class<?> beanType) {
         this.beanType = beanType;
@@ -99,6 +152,7 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
         this.scope = scope;
     }
 
+    @Override
     public String getScope() {
         return scope;
     }
@@ -126,6 +180,11 @@ public abstract class AbstractBeanDefinition implements BeanDefinition {
         return scope.equals(SCOPE_DEFAULT) || scope.equals(SCOPE_SINGLETON);
     }
 
+    @Override
+    public boolean isPrototype() {
+        return scope.equals(SCOPE_PROTOTYPE);
+    }
+
 
     public String[] getDependsOn() {
         return dependsOn;
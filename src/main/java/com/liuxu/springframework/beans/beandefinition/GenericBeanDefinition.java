@@ -13,6 +13,10 @@ public class GenericBeanDefinition extends AbstractBeanDefinition {
         super(clazz);
     }
 
+    public GenericBeanDefinition(String beanClassName, ClassLoader beanClassLoader) {
+        super(beanClassName, beanClassLoader);
+    }
+
     public GenericBeanDefinition(GenericBeanDefinition beanDefinition) {
         super(beanDefinition);
     }
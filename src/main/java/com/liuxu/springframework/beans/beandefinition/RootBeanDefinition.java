@@ -4,6 +4,7 @@ import com.liuxu.springframework.beans.annotion.PostConstruct;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * 最终的 bean 定义类，注册bean实例时会使用此类
@@ -31,6 +32,9 @@ public class RootBeanDefinition extends AbstractBeanDefinition {
     /** 用于缓存已解析的销毁方法名称（也缓存推断结果）：避免重复反射检查 */
     public volatile String resolvedDestroyMethodName;
 
+    /** 缓存已解析的实例化器（无参构造函数）：避免每次创建实例都查找构造函数、反射调用 */
+    public volatile Supplier<?> resolvedInstantiator;
+
 
     public RootBeanDefinition(Class<?> clazz) {
         super(clazz);
@@ -0,0 +1,65 @@
+package com.liuxu.springframework.beans.beandefinition;
+
+import java.util.Set;
+
+/**
+ * 组件扫描得到的 bean 定义
+ * - 只记录类名以及从字节码读取的元数据（类型层次、类上的注解），不加载类
+ * - 类型索引、注解索引直接使用这里的元数据，Bean 类在首次创建时才加载
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class ScannedGenericBeanDefinition extends GenericBeanDefinition {
+
+    /** {@code @Component} 注解指定的 beanName，未指定时为空字符串 */
+    private final String componentName;
+
+    /** 类的简单名称 */
+    private final String simpleClassName;
+
+    /** 类自身、所有父类和实现的接口的类名 */
+    private final Set<String> typeNames;
+
+    /** 类上直接声明（或继承）的注解类名 */
+    private final Set<String> annotationNames;
+
+
+    public ScannedGenericBeanDefinition(String beanClassName, ClassLoader beanClassLoader, String componentName,
+                                        String simpleClassName, Set<String> typeNames, Set<String> annotationNames) {
+        super(beanClassName, beanClassLoader);
+        this.componentName = componentName;
+        this.simpleClassName = simpleClassName;
+        this.typeNames = typeNames;
+        this.annotationNames = annotationNames;
+    }
+
+    public ScannedGenericBeanDefinition(ScannedGenericBeanDefinition beanDefinition) {
+        super(beanDefinition);
+        this.componentName = beanDefinition.componentName;
+        this.simpleClassName = beanDefinition.simpleClassName;
+        this.typeNames = beanDefinition.typeNames;
+        this.annotationNames = beanDefinition.annotationNames;
+    }
+
+    public String getComponentName() {
+        return componentName;
+    }
+
+    public String getSimpleClassName() {
+        return simpleClassName;
+    }
+
+    public Set<String> getTypeNames() {
+        return typeNames;
+    }
+
+    public Set<String> getAnnotationNames() {
+        return annotationNames;
+    }
+
+    @Override
+    public AbstractBeanDefinition cloneBeanDefinition() {
+        return new ScannedGenericBeanDefinition(this);
+    }
+}
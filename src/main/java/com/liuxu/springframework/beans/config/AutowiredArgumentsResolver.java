@@ -0,0 +1,97 @@
+package com.liuxu.springframework.beans.config;
+
+import com.liuxu.springframework.beans.interfaces.AutowireCapableBeanFactory;
+
+import java.lang.reflect.Executable;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 构造函数、方法参数的依赖解析器
+ * - 每个参数预先创建依赖描述符
+ * - 首次解析时走完整的依赖解析，记录每个参数唯一注入的 beanName
+ * - 之后直接按 beanName 获取，不再查找自动注入的候选者（原型 bean 每次创建都会解析参数），同样记录依赖关系
+ * - 注册 bean 定义后（bean 定义版本变化）缓存失效，重新完整解析
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class AutowiredArgumentsResolver {
+
+    private final Executable executable;
+
+    /** 每个参数的依赖描述符 */
+    private final DependencyDescriptor[] descriptors;
+
+    /** 每个参数缓存的 beanName，首次解析前为 null */
+    private volatile Shortcuts shortcuts;
+
+
+    public AutowiredArgumentsResolver(Executable executable, boolean required) {
+        this.executable = executable;
+        this.descriptors = new DependencyDescriptor[executable.getParameterCount()];
+        for (int i = 0; i < this.descriptors.length; i++) {
+            this.descriptors[i] = new DependencyDescriptor(executable, i, required);
+        }
+    }
+
+    public Executable getExecutable() {
+        return executable;
+    }
+
+    public DependencyDescriptor[] getDependencyDescriptors() {
+        return descriptors.clone();
+    }
+
+    /**
+     * 解析所有参数
+     *
+     * @param beanName    需要注入依赖的 beanName
+     * @param beanFactory bean 工厂
+     * @return 参数
+     */
+    public Object[] resolve(String beanName, AutowireCapableBeanFactory beanFactory) {
+        Object[] args = new Object[this.descriptors.length];
+        Shortcuts cached = this.shortcuts;
+        if (cached != null && cached.beanDefinitionVersion() == beanFactory.getBeanDefinitionVersion()) {
+            String[] beanNames = cached.beanNames();
+            for (int i = 0; i < args.length; i++) {
+                DependencyDescriptor descriptor = this.descriptors[i];
+                if (beanNames[i] != null) {
+                    args[i] = beanFactory.getBean(beanNames[i], descriptor.getDependencyType());
+                    if (beanName != null) {
+                        beanFactory.registerDependentBean(beanNames[i], beanName);
+                    }
+                } else {
+                    args[i] = beanFactory.resolveDependency(descriptor, beanName, null);
+                }
+            }
+            return args;
+        }
+
+        int version = beanFactory.getBeanDefinitionVersion();
+        String[] shortcuts = new String[args.length];
+        for (int i = 0; i < args.length; i++) {
+            DependencyDescriptor descriptor = this.descriptors[i];
+            Set<String> autowiredBeanNames = new LinkedHashSet<>(2);
+            args[i] = beanFactory.resolveDependency(descriptor, beanName, autowiredBeanNames);
+            if (args[i] != null && autowiredBeanNames.size() == 1) {
+                String autowiredBeanName = autowiredBeanNames.iterator().next();
+                if (beanFactory.containsBean(autowiredBeanName) &&
+                        beanFactory.isTypeMatch(autowiredBeanName, descriptor.getDependencyType())) {
+                    shortcuts[i] = autowiredBeanName;
+                }
+            }
+        }
+        this.shortcuts = new Shortcuts(shortcuts, version);
+        return args;
+    }
+
+
+    /**
+     * 每个参数缓存的 beanName（元素为 null 表示该参数每次都需要完整解析）以及缓存时的 bean 定义版本
+     */
+    private record Shortcuts(String[] beanNames, int beanDefinitionVersion) {
+    }
+
+}
@@ -1,9 +1,12 @@
 package com.liuxu.springframework.beans.config;
 
 import com.liuxu.springframework.beans.interfaces.BeanFactory;
+import com.liuxu.springframework.core.ResolvableType;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Type;
 
 /**
  * 即将完成特定注入的依赖详细描述
@@ -21,10 +24,22 @@ public class DependencyDescriptor {
     /** 字段 */
     protected Field field;
 
-    /** 字段的注解 */
+    /** 方法或构造函数（注入方法、构造函数参数时） */
+    protected Executable executable;
+
+    /** 参数下标 */
+    protected int parameterIndex;
+
+    /** 嵌套的依赖类型（集合、Map、Optional 的元素类型） */
+    private ResolvableType nestedType;
+
+    /** 解析后的依赖类型（包括泛型） */
+    private volatile ResolvableType resolvableType;
+
+    /** 字段（或参数）的注解 */
     private volatile Annotation[] fieldAnnotations;
 
-    /** 字段名 */
+    /** 字段名（或参数名） */
     private String fieldName;
 
     /** 是否必须 */
@@ -38,9 +53,38 @@ public class DependencyDescriptor {
         this.fieldName = field.getName();
     }
 
+    /**
+     * 方法、构造函数参数的依赖描述
+     *
+     * @param executable     方法或构造函数
+     * @param parameterIndex 参数下标
+     * @param required       是否必须
+     */
+    public DependencyDescriptor(Executable executable, int parameterIndex, boolean required) {
+        this.executable = executable;
+        this.parameterIndex = parameterIndex;
+        this.required = required;
+        this.declaringClass = executable.getDeclaringClass();
+        this.fieldName = executable.getParameters()[parameterIndex].getName();
+    }
+
     public DependencyDescriptor(DependencyDescriptor original) {
+        this(original, original.nestedType, original.required);
+    }
+
+    /**
+     * 嵌套的依赖描述：注入点相同，依赖的类型为集合、Map、Optional 的元素类型
+     *
+     * @param original   原依赖描述
+     * @param nestedType 元素类型（包括泛型）
+     * @param required   是否必须
+     */
+    public DependencyDescriptor(DependencyDescriptor original, ResolvableType nestedType, boolean required) {
         this.field = original.field;
-        this.required = original.required;
+        this.executable = original.executable;
+        this.parameterIndex = original.parameterIndex;
+        this.nestedType = nestedType;
+        this.required = required;
         this.declaringClass = original.declaringClass;
         this.fieldName = original.fieldName;
     }
@@ -59,6 +103,14 @@ public class DependencyDescriptor {
             }
             return annotations;
         }
+        if (this.executable != null) {
+            Annotation[] annotations = this.fieldAnnotations;
+            if (annotations == null) {
+                annotations = this.executable.getParameterAnnotations()[this.parameterIndex];
+                this.fieldAnnotations = annotations;
+            }
+            return annotations;
+        }
         log.error("{} 注入的依赖描述中不存在任何注解.", LOG_PREFIX);
         return new Annotation[]{};
     }
@@ -69,13 +121,55 @@ public class DependencyDescriptor {
      * @return 依赖的Class<?> 或者 null (如果不存在)
      */
     public Class<?> getDependencyType() {
+        if (this.nestedType != null) {
+            return this.nestedType.toClass();
+        }
         if (this.field != null) {
             return this.field.getType();
         }
+        if (this.executable != null) {
+            return this.executable.getParameterTypes()[this.parameterIndex];
+        }
         log.error("{} 注入的依赖描述符中不存在 filed.", LOG_PREFIX);
         return null;
     }
 
+    /**
+     * 返回注入点声明的泛型类型（字段或参数）
+     *
+     * @return 泛型类型 或者 null (如果不存在)
+     */
+    public Type getGenericType() {
+        if (this.field != null) {
+            return this.field.getGenericType();
+        }
+        if (this.executable != null) {
+            Type[] types = this.executable.getGenericParameterTypes();
+            // 内部类构造函数的泛型参数可能不包含隐式参数
+            return (types.length == this.executable.getParameterCount() ? types[this.parameterIndex] :
+                    this.executable.getParameterTypes()[this.parameterIndex]);
+        }
+        return null;
+    }
+
+    /**
+     * 返回解析后的依赖类型（包括泛型），用于按泛型匹配候选 bean
+     *
+     * @return 依赖类型
+     */
+    public ResolvableType getResolvableType() {
+        if (this.nestedType != null) {
+            return this.nestedType;
+        }
+        ResolvableType resolvableType = this.resolvableType;
+        if (resolvableType == null) {
+            Type genericType = getGenericType();
+            resolvableType = (genericType != null ? ResolvableType.forType(genericType) : ResolvableType.NONE);
+            this.resolvableType = resolvableType;
+        }
+        return resolvableType;
+    }
+
     public String getFieldName() {
         return fieldName;
     }
@@ -10,13 +10,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 适配类，适配销毁bean的各种销毁方法
+ * - 自定义销毁方法按类解析一次并预编译为 {@link MethodHandle}，之后每个实例的销毁只是一次直接调用
  *
  * @date: 2025-07-17
  * @author: liuxu
@@ -30,6 +33,20 @@ public class DisposableBeanAdapter implements DisposableBean {
     private static final String SHUTDOWN_METHOD_NAME = "shutdown";
     private static final Logger log = LoggerFactory.getLogger(DisposableBeanAdapter.class);
 
+    /** 表示类中不存在该名称的销毁方法 */
+    private static final DestroyMethod NO_DESTROY_METHOD = new DestroyMethod(null, null, null);
+
+    /**
+     * 自定义销毁方法缓存  beanClass -> (销毁方法名称 -> 预编译的销毁方法 或 NO_DESTROY_METHOD)
+     * 使用 ClassValue 挂在类上，不会因为缓存而阻止类和它的类加载器被回收
+     */
+    private static final ClassValue<Map<String, DestroyMethod>> destroyMethodCache = new ClassValue<>() {
+        @Override
+        protected Map<String, DestroyMethod> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
     private final Object bean;
 
     private final String beanName;
@@ -44,7 +61,7 @@ public class DisposableBeanAdapter implements DisposableBean {
     private String[] destroyMethodNames;
 
     // 销毁方法实例列表
-    private transient Method[] destroyMethods;
+    private transient DestroyMethod[] destroyMethods;
 
     private List<DestructionAwareBeanPostProcessor> beanPostProcessors;
 
@@ -83,19 +100,19 @@ public class DisposableBeanAdapter implements DisposableBean {
             if (!invokeDisposableBean) {
                 // 处理推断方法
                 this.destroyMethodNames = destroyMethodNames;
-                ArrayList<Method> methodArrayList = new ArrayList<>(destroyMethodNames.length);
+                ArrayList<DestroyMethod> methodArrayList = new ArrayList<>(destroyMethodNames.length);
                 for (String destroyMethodName : destroyMethodNames) {
 
                     /* 根据方法名匹配销毁方法实例 ，并校验方法的合法性 */
-                    Method destroyMethod = determineDestroyMethod(destroyMethodName);
-                    if (destroyMethod == null) {
+                    DestroyMethod destroyMethod = resolveDestroyMethod(destroyMethodName);
+                    if (destroyMethod == NO_DESTROY_METHOD) {
                         // 不存在销毁方法，如果是必须要存在销毁方法，这块则抛出异常
                         return;
                     } else {
 
                         // 校验方法参数
-                        if (destroyMethod.getParameterCount() > 0) {
-                            Class<?>[] parameterTypes = destroyMethod.getParameterTypes();
+                        if (destroyMethod.method().getParameterCount() > 0) {
+                            Class<?>[] parameterTypes = destroyMethod.method().getParameterTypes();
                             if (parameterTypes.length > 1) {
                                 throw new IllegalArgumentException("无效的销毁方法: " + destroyMethodName + ". 在 bean: " + beanName + " 中发现：该方法接受多个参数");
                             } else if (parameterTypes.length == 1 && parameterTypes[0] != boolean.class) {
@@ -108,7 +125,7 @@ public class DisposableBeanAdapter implements DisposableBean {
                     }
                 }
 
-                this.destroyMethods = methodArrayList.toArray(new Method[]{});
+                this.destroyMethods = methodArrayList.toArray(new DestroyMethod[]{});
             }
         }
 
@@ -124,6 +141,34 @@ public class DisposableBeanAdapter implements DisposableBean {
         this.invokeAutoCloseable = invokeAutoCloseable;
     }
 
+    /**
+     * 获取预编译的销毁方法（按类缓存）
+     *
+     * @param destroyMethodName 销毁方法名称
+     * @return 销毁方法 或 NO_DESTROY_METHOD
+     */
+    private DestroyMethod resolveDestroyMethod(String destroyMethodName) {
+        Map<String, DestroyMethod> destroyMethods = destroyMethodCache.get(this.bean.getClass());
+        DestroyMethod destroyMethod = destroyMethods.get(destroyMethodName);
+        if (destroyMethod == null) {
+            Method method = determineDestroyMethod(destroyMethodName);
+            if (method == null) {
+                // 推断的销毁方法通常不存在，同样缓存查找结果
+                destroyMethods.putIfAbsent(destroyMethodName, NO_DESTROY_METHOD);
+                return NO_DESTROY_METHOD;
+            }
+            if (method.getParameterCount() > 1 ||
+                    (method.getParameterCount() == 1 && method.getParameterTypes()[0] != boolean.class)) {
+                // 无效的销毁方法不缓存，每次由调用方校验并抛出异常
+                return new DestroyMethod(method, null, null);
+            }
+            Object[] args = (method.getParameterCount() == 1 ? new Object[]{Boolean.TRUE} : new Object[0]);
+            destroyMethod = new DestroyMethod(method, ReflectionUtils.createMethodInvoker(method), args);
+            destroyMethods.putIfAbsent(destroyMethodName, destroyMethod);
+        }
+        return destroyMethod;
+    }
+
     /**
      * 根据指定的销毁方法名称，确定最终的销毁方法，并返回销毁方法对象
      *
@@ -199,7 +244,7 @@ public class DisposableBeanAdapter implements DisposableBean {
                 throw new RuntimeException(e);
             }
         } else if (this.destroyMethods != null) {
-            for (Method destroyMethod : destroyMethods) {
+            for (DestroyMethod destroyMethod : destroyMethods) {
                 invokeCustomDestroyMethod(destroyMethod);
             }
         } else if (this.destroyMethodNames != null) {
@@ -216,19 +261,13 @@ public class DisposableBeanAdapter implements DisposableBean {
     /**
      * 调用自定义销毁方法
      *
-     * @param destroyMethod 销毁方法实例
+     * @param destroyMethod 销毁方法
      */
-    private void invokeCustomDestroyMethod(Method destroyMethod) {
-        int parameterCount = destroyMethod.getParameterCount();
-        Object[] objects = new Object[parameterCount];
-        if (parameterCount == 1) {
-            objects[0] = Boolean.TRUE;
-        }
+    private void invokeCustomDestroyMethod(DestroyMethod destroyMethod) {
         try {
-            ReflectionUtils.makeAccessible(destroyMethod);
-            destroyMethod.invoke(this.bean, objects);
-        } catch (InvocationTargetException | IllegalAccessException e) {
-            log.error("BeanName: {} 销毁方法 {} 执行出现错误 {}", this.beanName, destroyMethod.getName(), e.getMessage());
+            Object ignored = destroyMethod.invoker().invokeExact(this.bean, destroyMethod.args());
+        } catch (Throwable e) {
+            log.error("BeanName: {} 销毁方法 {} 执行出现错误 {}", this.beanName, destroyMethod.method().getName(), e.getMessage());
             throw new RuntimeException(e);
         }
     }
@@ -254,7 +293,7 @@ public class DisposableBeanAdapter implements DisposableBean {
             }
         }
 
-        return processors;
+        return postProcessors;
     }
 
 
@@ -354,4 +393,15 @@ public class DisposableBeanAdapter implements DisposableBean {
         return false;
     }
 
+
+    /**
+     * 预编译的销毁方法
+     *
+     * @param method  销毁方法
+     * @param invoker 调用句柄 (Object,Object[])Object
+     * @param args    调用参数（只有一个 boolean 参数时为 true）
+     */
+    private record DestroyMethod(Method method, MethodHandle invoker, Object[] args) {
+    }
+
 }
@@ -32,6 +32,13 @@ public class AspectJAutoProxyRegistrar implements ImportBeanDefinitionRegistrar
             AopUtils.forceAutoProxyCreatorToUseClassProxying(registry);
         }
 
+        // 获取 compileAdviceChains 属性的值
+        Boolean compileAdviceChains = importAnnotationMateData.getAttributeValue("compileAdviceChains", Boolean.FALSE);
+        if (compileAdviceChains) {
+            // 冻结代理配置，编译拦截链
+            AopUtils.forceAutoProxyCreatorToCompileAdviceChains(registry);
+        }
+
 
     }
 }
@@ -0,0 +1,211 @@
+package com.liuxu.springframework.beans.index;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编译期生成的组件索引
+ * - 由 {@link CandidateComponentsIndexer} 在编译时写入 {@value #COMPONENTS_RESOURCE_LOCATION}
+ * - 启动时合并类路径下所有的索引文件，按包名查询组件，不需要扫描类路径，也不会加载类
+ * - 每个组件一行：{@code 类名=component[,lazy][,primary][,name=beanName][,scope=作用域],type=类型...,annotation=注解...}，
+ *   记录与类路径扫描相同的元数据，bean 定义可以直接按类名注册
+ * - 只有包含某个包的所有类路径根（目录、jar）都有完整的索引时，才能用索引代替扫描该包：
+ *   没有索引的根（没有启用处理器编译、其他 jar 中的同名包）或旧格式的索引中可能有索引之外的组件
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class CandidateComponentsIndex {
+
+    /** 索引文件位置 */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/simple-spring.components";
+
+    /** 设置该系统属性为 true 时忽略索引，总是扫描类路径 */
+    public static final String IGNORE_INDEX_PROPERTY_NAME = "simple-spring.index.ignore";
+
+    /** 索引完整的标记（不是类名，不会与组件冲突），由 {@link CandidateComponentsIndexer} 写入 */
+    static final String COMPLETE_KEY = "@complete";
+
+    static final String FLAG_COMPONENT = "component";
+
+    static final String FLAG_LAZY = "lazy";
+
+    static final String FLAG_PRIMARY = "primary";
+
+    static final String ATTRIBUTE_NAME = "name";
+
+    static final String ATTRIBUTE_SCOPE = "scope";
+
+    static final String ATTRIBUTE_TYPE = "type";
+
+    static final String ATTRIBUTE_ANNOTATION = "annotation";
+
+    /** 类加载器 -> 索引（null 表示没有索引） */
+    private static final Map<ClassLoader, IndexHolder> cache = new ConcurrentHashMap<>(4);
+
+    private final ClassLoader classLoader;
+
+    /** 类名 -> 组件信息，按类名排序 */
+    private final Map<String, Entry> entries;
+
+    /** 有完整索引的类路径根 */
+    private final Set<String> completeRoots;
+
+
+    private CandidateComponentsIndex(ClassLoader classLoader, Map<String, Entry> entries, Set<String> completeRoots) {
+        this.classLoader = classLoader;
+        this.entries = entries;
+        this.completeRoots = completeRoots;
+    }
+
+    /**
+     * 加载类路径下的组件索引
+     *
+     * @param classLoader 类加载器
+     * @return 组件索引 或 null（类路径下不存在索引，或设置了忽略索引）
+     */
+    public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) {
+        if (Boolean.getBoolean(IGNORE_INDEX_PROPERTY_NAME)) {
+            return null;
+        }
+        return cache.computeIfAbsent(classLoader, cl -> new IndexHolder(doLoadIndex(cl))).index;
+    }
+
+    private static CandidateComponentsIndex doLoadIndex(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return null;
+            }
+            Map<String, Entry> entries = new TreeMap<>();
+            Set<String> completeRoots = new HashSet<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                Properties properties = new Properties();
+                try (InputStream in = url.openStream()) {
+                    properties.load(in);
+                }
+                if (properties.remove(COMPLETE_KEY) != null) {
+                    String location = url.toString();
+                    completeRoots.add(location.substring(0, location.length() - COMPONENTS_RESOURCE_LOCATION.length()));
+                }
+                for (String className : properties.stringPropertyNames()) {
+                    entries.put(className, Entry.parse(className, properties.getProperty(className)));
+                }
+            }
+            return new CandidateComponentsIndex(classLoader, Collections.unmodifiableMap(entries), completeRoots);
+        } catch (IOException e) {
+            throw new IllegalStateException("加载组件索引 [" + COMPONENTS_RESOURCE_LOCATION + "] 失败", e);
+        }
+    }
+
+    /**
+     * 索引是否包含指定包下的所有组件：类路径下每个包含该包的根都有完整的索引
+     *
+     * @param basePackage 包名
+     * @return true:可以用索引代替扫描 false:需要扫描类路径
+     */
+    public boolean isComplete(String basePackage) {
+        String packagePath = basePackage.replace('.', '/');
+        try {
+            Enumeration<URL> urls = this.classLoader.getResources(packagePath);
+            while (urls.hasMoreElements()) {
+                String location = urls.nextElement().toString();
+                if (location.endsWith("/")) {
+                    location = location.substring(0, location.length() - 1);
+                }
+                String root = location.substring(0, location.length() - packagePath.length());
+                if (!this.completeRoots.contains(root)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取指定包及其子包下的组件
+     *
+     * @param basePackage 包名
+     * @return 组件列表（按类名排序）
+     */
+    public List<Entry> getCandidates(String basePackage) {
+        String prefix = basePackage + ".";
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : this.entries.values()) {
+            if (entry.className().startsWith(prefix)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * 索引中的一个组件
+     *
+     * @param className       类名
+     * @param componentName   {@code @Component} 指定的 beanName，未指定时为空字符串
+     * @param simpleClassName 类的简单名称
+     * @param scope           {@code @Scope} 指定的作用域 或 null
+     * @param lazyInit        是否懒加载
+     * @param primary         是否主要的（{@code @Primary}）
+     * @param typeNames       类自身、所有父类和实现的接口的类名
+     * @param annotationNames 类上声明（或继承）的注解类名
+     */
+    public record Entry(String className, String componentName, String simpleClassName, String scope,
+                        boolean lazyInit, boolean primary, Set<String> typeNames, Set<String> annotationNames) {
+
+        static Entry parse(String className, String value) {
+            String componentName = "";
+            String scope = null;
+            boolean lazyInit = false;
+            boolean primary = false;
+            Set<String> typeNames = new LinkedHashSet<>();
+            Set<String> annotationNames = new LinkedHashSet<>();
+            for (String token : value.split(",")) {
+                token = token.trim();
+                int separator = token.indexOf('=');
+                if (separator < 0) {
+                    lazyInit |= FLAG_LAZY.equals(token);
+                    primary |= FLAG_PRIMARY.equals(token);
+                    continue;
+                }
+                String attributeValue = token.substring(separator + 1);
+                switch (token.substring(0, separator)) {
+                    case ATTRIBUTE_NAME -> componentName = attributeValue;
+                    case ATTRIBUTE_SCOPE -> scope = attributeValue;
+                    case ATTRIBUTE_TYPE -> typeNames.add(attributeValue);
+                    case ATTRIBUTE_ANNOTATION -> annotationNames.add(attributeValue);
+                    default -> {
+                    }
+                }
+            }
+            if (typeNames.isEmpty()) {
+                typeNames.add(className);
+            }
+            String simpleClassName = className.substring(Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+            return new Entry(className, componentName, simpleClassName, scope, lazyInit, primary,
+                    Collections.unmodifiableSet(typeNames), Collections.unmodifiableSet(annotationNames));
+        }
+    }
+
+    /** ConcurrentHashMap 不能存放 null，包装一层 */
+    private record IndexHolder(CandidateComponentsIndex index) {
+    }
+
+}
@@ -0,0 +1,267 @@
+package com.liuxu.springframework.beans.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 编译期生成组件索引的注解处理器
+ * - 收集使用 {@code @Component} 注解的具体类写入 {@value CandidateComponentsIndex#COMPONENTS_RESOURCE_LOCATION}，
+ *   与类路径扫描一致支持元注解：使用了被 {@code @Component} 标注的注解（例如 {@code @Configuration}、自定义的派生注解）的类同样是组件
+ * - 索引中记录组件的标记（懒加载、主要的）和与类路径扫描相同的元数据（beanName、作用域、类型闭包、类上的注解），
+ *   启动时直接读取索引按类名注册 bean 定义，不再进行类路径扫描，也不加载 Bean 类
+ * - 增量编译时会与已有的索引合并：本次编译处理过的类以本次结果为准（不再是组件的类会被移除），
+ *   没有处理的类只保留仍然存在的，写出的索引标记为完整，启动时才会信任
+ * <p>
+ * 依赖本框架的项目编译时会通过 {@code META-INF/services} 自动启用该处理器
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ * @see CandidateComponentsIndex
+ */
+@SupportedAnnotationTypes("*")
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+    static final String COMPONENT_ANNOTATION = "com.liuxu.springframework.beans.annotion.Component";
+
+    static final String CONFIGURATION_ANNOTATION = "com.liuxu.springframework.beans.annotion.Configuration";
+
+    private static final String PRIMARY_ANNOTATION = "com.liuxu.springframework.beans.annotion.Primary";
+
+    private static final String SCOPE_ANNOTATION = "com.liuxu.springframework.beans.annotion.Scope";
+
+    /** 类名 -> 组件标记，按类名排序保证输出稳定 */
+    private final Map<String, String> components = new TreeMap<>();
+
+    /** 本次编译处理过的所有类（二进制名），用于合并已有索引时移除不再是组件的类 */
+    private final Set<String> processedTypes = new HashSet<>();
+
+    /** 注解类名 -> 是否组件派生注解（自身是 {@code @Component} 或者被它标注） */
+    private final Map<String, Boolean> stereotypeCache = new HashMap<>();
+
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        // 派生注解可能是任意注解，不能只处理 @Component 标注的元素，遍历本轮所有的类（包括嵌套类）
+        for (Element element : roundEnv.getRootElements()) {
+            collectComponents(element);
+        }
+
+        if (roundEnv.processingOver() && !this.processedTypes.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collectComponents(Element element) {
+        if (element instanceof TypeElement type) {
+            String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+            this.processedTypes.add(className);
+            if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT) && isComponent(type)) {
+                this.components.put(className, resolveEntry(type));
+            }
+        }
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed.getKind().isClass() || enclosed.getKind().isInterface()) {
+                collectComponents(enclosed);
+            }
+        }
+    }
+
+    /**
+     * 类上是否存在组件注解（直接使用或者通过元注解）
+     */
+    private boolean isComponent(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (this.stereotypeCache.computeIfAbsent(annotation.getQualifiedName().toString(),
+                    name -> isStereotype(annotation, new HashSet<>()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 注解是否是 {@code @Component} 或者（递归地）被它标注
+     *
+     * @param annotation 注解类型
+     * @param visited    已检查的注解（注解之间可以互相标注）
+     */
+    private boolean isStereotype(TypeElement annotation, Set<String> visited) {
+        String name = annotation.getQualifiedName().toString();
+        if (COMPONENT_ANNOTATION.equals(name)) {
+            return true;
+        }
+        if (name.startsWith("java.lang.annotation.") || !visited.add(name)) {
+            return false;
+        }
+        for (AnnotationMirror mirror : annotation.getAnnotationMirrors()) {
+            if (isStereotype((TypeElement) mirror.getAnnotationType().asElement(), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 解析组件在索引中的内容，与类路径扫描一致：
+     * - beanName、懒加载只读取直接使用的 {@code @Component}，配置类不支持懒加载
+     * - 作用域只读取直接使用的 {@code @Scope}
+     * - 类型闭包包括类自身、所有父类和接口，注解包括继承的注解
+     *
+     * @param type 组件类
+     * @return 逗号分隔的标记和属性
+     */
+    private String resolveEntry(TypeElement type) {
+        boolean configuration = false;
+        boolean lazy = false;
+        boolean primary = false;
+        String componentName = "";
+        String scope = null;
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            switch (name) {
+                case CONFIGURATION_ANNOTATION -> configuration = true;
+                case PRIMARY_ANNOTATION -> primary = true;
+                case SCOPE_ANNOTATION -> scope = (String) getAnnotationValue(mirror, "value");
+                case COMPONENT_ANNOTATION -> {
+                    lazy = Boolean.TRUE.equals(getAnnotationValue(mirror, "lazyInit"));
+                    Object value = getAnnotationValue(mirror, "value");
+                    componentName = (value != null ? (String) value : "");
+                }
+                default -> {
+                }
+            }
+        }
+
+        StringBuilder entry = new StringBuilder(CandidateComponentsIndex.FLAG_COMPONENT);
+        if (lazy && !configuration) {
+            entry.append(',').append(CandidateComponentsIndex.FLAG_LAZY);
+        }
+        if (primary) {
+            entry.append(',').append(CandidateComponentsIndex.FLAG_PRIMARY);
+        }
+        if (!componentName.isEmpty()) {
+            appendAttribute(entry, CandidateComponentsIndex.ATTRIBUTE_NAME, componentName);
+        }
+        if (scope != null) {
+            appendAttribute(entry, CandidateComponentsIndex.ATTRIBUTE_SCOPE, scope);
+        }
+        Set<String> typeNames = new LinkedHashSet<>();
+        collectTypeNames(type.asType(), typeNames);
+        typeNames.forEach(typeName -> appendAttribute(entry, CandidateComponentsIndex.ATTRIBUTE_TYPE, typeName));
+        for (AnnotationMirror mirror : processingEnv.getElementUtils().getAllAnnotationMirrors(type)) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            appendAttribute(entry, CandidateComponentsIndex.ATTRIBUTE_ANNOTATION,
+                    processingEnv.getElementUtils().getBinaryName(annotation).toString());
+        }
+        return entry.toString();
+    }
+
+    /**
+     * 注解上显式指定的属性值
+     *
+     * @return 属性值 或 null（使用默认值）
+     */
+    private static Object getAnnotationValue(AnnotationMirror mirror, String attributeName) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attributeName)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 收集类型闭包（类自身、所有父类、所有接口，包括 Object）的二进制名
+     */
+    private void collectTypeNames(TypeMirror typeMirror, Set<String> typeNames) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(typeMirror);
+        if (erasure.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) erasure).asElement();
+        if (typeNames.add(processingEnv.getElementUtils().getBinaryName(element).toString())) {
+            for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(erasure)) {
+                collectTypeNames(supertype, typeNames);
+            }
+        }
+    }
+
+    private static void appendAttribute(StringBuilder entry, String name, String value) {
+        entry.append(',').append(name).append('=').append(value);
+    }
+
+    /**
+     * 写出索引文件，合并已存在的索引（增量编译时只会处理变化的类）
+     * - 本次处理过的类以本次结果为准，已有索引中不再是组件的类被移除
+     * - 本次没有处理的类只有仍然存在时才保留（类已删除时移除）
+     */
+    private void writeIndex() {
+        Properties existing = new Properties();
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION);
+            try (InputStream in = file.openInputStream()) {
+                existing.load(in);
+            }
+        } catch (IOException e) {
+            // 不存在已有的索引
+        }
+
+        Properties index = new Properties();
+        for (String className : existing.stringPropertyNames()) {
+            if (!className.equals(CandidateComponentsIndex.COMPLETE_KEY) && !this.processedTypes.contains(className) &&
+                    processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                index.setProperty(className, existing.getProperty(className));
+            }
+        }
+        index.putAll(this.components);
+        if (index.isEmpty() && existing.isEmpty()) {
+            // 没有组件，也没有需要清理的旧索引
+            return;
+        }
+        index.setProperty(CandidateComponentsIndex.COMPLETE_KEY, Boolean.TRUE.toString());
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION);
+            try (OutputStream out = file.openOutputStream()) {
+                index.store(out, null);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "写入组件索引失败: " + e);
+        }
+    }
+
+}
@@ -30,5 +30,18 @@ public interface AutowireCapableBeanFactory extends BeanFactory {
      */
     Object resolveDependency(DependencyDescriptor descriptor, String requestingBeanName, Set<String> autowiredBeanNames);
 
+    /**
+     * 记录依赖关系（按依赖顺序销毁），按缓存的 beanName 直接注入（不经过 {@link #resolveDependency}）时需要调用
+     *
+     * @param beanName          被依赖的 beanName
+     * @param dependentBeanName 依赖它的 beanName
+     */
+    void registerDependentBean(String beanName, String dependentBeanName);
+
+    /**
+     * bean 定义的版本，注册 bean 定义时变化；按 beanName 缓存的注入结果需与版本一起保存，版本变化后重新解析
+     */
+    int getBeanDefinitionVersion();
+
 
 }
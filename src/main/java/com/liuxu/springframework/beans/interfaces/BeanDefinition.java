@@ -15,6 +15,8 @@ public interface BeanDefinition {
 
     String SCOPE_SINGLETON = "singleton";
 
+    String SCOPE_PROTOTYPE = "prototype";
+
     Class<?> getBeanType();
 
     void setBeanType(Class<?> beanType);
@@ -25,6 +27,9 @@ public interface BeanDefinition {
 
     boolean isSingleton();
 
+    boolean isPrototype();
+
+    String getScope();
 
     void setScope(String scope);
 
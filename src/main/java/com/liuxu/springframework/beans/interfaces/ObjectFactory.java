@@ -3,6 +3,7 @@ package com.liuxu.springframework.beans.interfaces;
 /**
  * 对象工厂，
  * - 用于三级缓存
+ * - 作为注入点类型时，注入 {@link ObjectProvider}，使用时才解析依赖
  *
  * @date: 2025-06-20
  * @author: liuxu
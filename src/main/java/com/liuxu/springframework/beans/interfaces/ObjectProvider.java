@@ -0,0 +1,42 @@
+package com.liuxu.springframework.beans.interfaces;
+
+import java.util.function.Consumer;
+
+/**
+ * 依赖的提供者，{@link ObjectFactory} 的扩展
+ * - 作为注入点类型时，注入的是提供者本身，调用 {@link #getObject()} 时才解析（创建）依赖的 bean
+ * - 用于延迟创建开销大、很少使用的依赖
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public interface ObjectProvider<T> extends ObjectFactory<T> {
+
+    /**
+     * 获取依赖的 bean，不存在时抛出异常
+     *
+     * @return bean 实例
+     */
+    @Override
+    T getObject();
+
+    /**
+     * 获取依赖的 bean
+     *
+     * @return bean 实例 或 null（不存在）
+     */
+    T getIfAvailable();
+
+    /**
+     * 依赖的 bean 存在时进行消费
+     *
+     * @param consumer 消费者
+     */
+    default void ifAvailable(Consumer<T> consumer) {
+        T dependency = getIfAvailable();
+        if (dependency != null) {
+            consumer.accept(dependency);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.liuxu.springframework.beans.interfaces;
+
+/**
+ * 自定义作用域 SPI
+ * - 通过 {@code DefaultListableBeanFactory#registerScope} 注册，作用域名称与 bean 定义的 scope 对应
+ * - 作用域负责保存 bean 实例，不存在时通过 objectFactory 创建（创建过程与单例相同：注入属性、初始化、后处理）
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public interface Scope {
+
+    /**
+     * 获取作用域中的 bean 实例，不存在时创建
+     *
+     * @param name          beanName
+     * @param objectFactory 创建 bean 实例的工厂
+     * @return bean 实例
+     */
+    Object get(String name, ObjectFactory<?> objectFactory);
+
+    /**
+     * 从作用域中移除 bean 实例
+     *
+     * @param name beanName
+     * @return 移除的实例 或 null
+     */
+    Object remove(String name);
+
+    /**
+     * 注册 bean 实例的销毁回调，作用域结束（或实例被移除）时执行
+     *
+     * @param name     beanName
+     * @param callback 销毁回调
+     */
+    void registerDestructionCallback(String name, Runnable callback);
+
+}
@@ -1,5 +1,7 @@
 package com.liuxu.springframework.beans.interfaces;
 
+import java.lang.reflect.Constructor;
+
 /**
  * 接口的 {@link InstantiationAwareBeanPostProcessor} 扩展，添加一个回调，用于预测已处理 Bean 的最终类型。
  * 注意： 该接口是一个专用接口，主要用于框架内的内部使用。通常，应用程序提供的后处理器应该简单地实现普通 {@link BeanPostProcessor} 接口
@@ -34,6 +36,17 @@ public interface SmartInstantiationAwareBeanPostProcessor extends InstantiationA
     }
 
 
+    /**
+     * 确定用于实例化 bean 的候选构造函数，默认null（使用无参构造函数）
+     *
+     * @param beanClass bean 类型
+     * @param beanName  beanName
+     * @return 候选构造函数 或 null
+     */
+    default Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, String beanName) {
+        return null;
+    }
+
     /**
      * 循环依赖时尝试从三级缓存获取依赖的对象
      *
@@ -4,24 +4,31 @@ import com.liuxu.springframework.beans.DefaultListableBeanFactory;
 import com.liuxu.springframework.beans.annotion.Autowired;
 import com.liuxu.springframework.beans.annotion.InjectionMetadata;
 import com.liuxu.springframework.beans.beandefinition.RootBeanDefinition;
+import com.liuxu.springframework.beans.config.AutowiredArgumentsResolver;
 import com.liuxu.springframework.beans.config.DependencyDescriptor;
 import com.liuxu.springframework.beans.interfaces.AutowireCapableBeanFactory;
 import com.liuxu.springframework.beans.interfaces.BeanFactory;
 import com.liuxu.springframework.beans.interfaces.BeanFactoryAware;
-import com.liuxu.springframework.beans.interfaces.InstantiationAwareBeanPostProcessor;
 import com.liuxu.springframework.beans.interfaces.MergedBeanDefinitionPostProcessor;
+import com.liuxu.springframework.beans.interfaces.SmartInstantiationAwareBeanPostProcessor;
 import com.liuxu.springframework.utils.AnnotationUtils;
 import com.liuxu.springframework.utils.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -29,11 +36,13 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 实现AutoWired注解依赖注入
+ * - 字段注入、方法注入：构建注入元数据，每个元素缓存解析结果
+ * - 构造函数注入：确定用于实例化的构造函数，由容器缓存参数解析器和构造函数调用器
  *
  * @date: 2025-07-02
  * @author: liuxu
  */
-public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitionPostProcessor, InstantiationAwareBeanPostProcessor, BeanFactoryAware {
+public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitionPostProcessor, SmartInstantiationAwareBeanPostProcessor, BeanFactoryAware {
 
     private static final Logger log = LoggerFactory.getLogger(AutowiredAnnotationBeanPostProcessor.class);
 
@@ -55,6 +64,70 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
     /** 缓存  beanName\ClassName -> 需要注入的字段和参数 */
     private final Map<String, InjectionMetadata> injectionMetadataCache = new ConcurrentHashMap<>(256);
 
+    /** 缓存  Class -> 用于实例化的候选构造函数（没有则为空数组） */
+    private final Map<Class<?>, Constructor<?>[]> candidateConstructorsCache = new ConcurrentHashMap<>(256);
+
+
+    /**
+     * 确定用于实例化的构造函数
+     * - 使用了 @Autowired 的构造函数（只能有一个）
+     * - 否则类只有一个构造函数且有参数时使用该构造函数
+     * - 否则返回 null，由容器使用无参构造函数
+     *
+     * @param beanClass bean 类型
+     * @param beanName  beanName
+     * @return 候选构造函数 或 null
+     */
+    @Override
+    public Constructor<?>[] determineCandidateConstructors(Class<?> beanClass, String beanName) {
+        Constructor<?>[] candidates = this.candidateConstructorsCache.computeIfAbsent(beanClass, this::findCandidateConstructors);
+        return (candidates.length > 0 ? candidates : null);
+    }
+
+    private Constructor<?>[] findCandidateConstructors(Class<?> beanClass) {
+        Constructor<?>[] constructors = beanClass.getDeclaredConstructors();
+        Constructor<?> autowiredConstructor = null;
+        for (Constructor<?> constructor : constructors) {
+            if (findAutowiredAnnotation(constructor.getDeclaredAnnotations()) != null) {
+                if (autowiredConstructor != null) {
+                    throw new IllegalStateException("类 " + beanClass.getName() + " 存在多个使用了 @Autowired 的构造函数: "
+                            + autowiredConstructor + " , " + constructor);
+                }
+                autowiredConstructor = constructor;
+            }
+        }
+        if (autowiredConstructor != null) {
+            return new Constructor<?>[]{autowiredConstructor};
+        }
+        if (constructors.length == 1 && constructors[0].getParameterCount() > 0) {
+            return new Constructor<?>[]{constructors[0]};
+        }
+        return new Constructor<?>[0];
+    }
+
+    /**
+     * 查找自动注入的注解
+     *
+     * @param annotations 构造函数、方法上的注解
+     * @return Autowired 注解 或 null
+     */
+    private Autowired findAutowiredAnnotation(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (this.autowiredAnnotationTypes.contains(annotation.annotationType()) && annotation instanceof Autowired aw) {
+                return aw;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 构造函数 @Autowired 的 required 属性，没有注解（唯一的构造函数）时为 true
+     */
+    public static boolean isRequired(Constructor<?> constructor) {
+        Autowired autowired = constructor.getAnnotation(Autowired.class);
+        return (autowired == null || autowired.required());
+    }
+
 
     /**
      * 后处理器 -Bean的合并Bean定义后处理
@@ -82,7 +155,7 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
      * @param clazz    托管 bean 实际的类型
      * @return bean自动注入的元数据信息
      */
-    private InjectionMetadata findAutowiringMetadata(String beanName, Class<?> clazz) {
+    public InjectionMetadata findAutowiringMetadata(String beanName, Class<?> clazz) {
         // 缓存key
         String cacheKey = (!beanName.isBlank() ? beanName : clazz.getName());
 
@@ -131,7 +204,19 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
                 }
             });
 
-            /* TODO 后续可兼容方法参数 */
+            /* 处理方法（静态方法、桥接方法、被子类重写的方法不处理） */
+            ReflectionUtils.doWithLocalMethods(targetClass, method -> {
+                Autowired aw = findAutowiredAnnotation(method.getDeclaredAnnotations());
+                if (aw == null || method.isBridge() || Modifier.isStatic(method.getModifiers()) ||
+                        !method.equals(ReflectionUtils.findMethod(clazz, method.getName(), method.getParameterTypes()))) {
+                    return;
+                }
+                if (method.getParameterCount() == 0) {
+                    log.warn("@Autowired 只能用于有参数的方法: {}", method);
+                    return;
+                }
+                elements.add(new AutowiredMethodElement(aw.required(), method));
+            });
 
             // 拿到父类，继续进行处理
             targetClass = targetClass.getSuperclass();
@@ -190,6 +275,37 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
     }
 
 
+    /**
+     * 缓存注入的单例引用
+     * - 依赖的 bean 是完全初始化的单例时，直接缓存实例，后续注入不需要再经过容器查找
+     * - 容器移除单例后代数变化，缓存失效，重新走快捷依赖描述符
+     * - 注册 bean 定义后 bean 定义版本变化，缓存失效，重新完整解析
+     *
+     * @param beanName   依赖的 beanName
+     * @param value      注入的值
+     * @param generation 查找前的单例代数
+     * @param version    查找前的 bean 定义版本
+     * @return 缓存 或 null（不是完全初始化的单例）
+     */
+    private SingletonShortcut createSingletonShortcut(String beanName, Object value, int generation, int version) {
+        if (this.beanFactory instanceof DefaultListableBeanFactory lbf && value != null &&
+                lbf.isSingleton(beanName) && lbf.getSingletonIfInitialized(beanName) == value) {
+            return new SingletonShortcut(beanName, value, generation, version);
+        }
+        return null;
+    }
+
+    private boolean isValid(SingletonShortcut shortcut) {
+        return (shortcut != null && this.beanFactory instanceof DefaultListableBeanFactory lbf &&
+                shortcut.generation() == lbf.getSingletonGeneration() &&
+                shortcut.beanDefinitionVersion() == lbf.getBeanDefinitionVersion());
+    }
+
+    private int currentSingletonGeneration() {
+        return (this.beanFactory instanceof DefaultListableBeanFactory lbf ? lbf.getSingletonGeneration() : 0);
+    }
+
+
     /**
      * AutoWired 针对注入元数据的字段扩展
      */
@@ -204,6 +320,12 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
         /** 缓存的字段值 */
         private volatile Object cachedFieldValue;
 
+        /** 缓存字段值时的 bean 定义版本，版本变化后重新解析 */
+        private volatile int cachedBeanDefinitionVersion;
+
+        /** 缓存的单例引用 */
+        private volatile SingletonShortcut cachedSingleton;
+
         public AutowiredFieldElement(boolean required, Member member, boolean isField) {
             super(member, isField);
             this.required = required;
@@ -211,25 +333,39 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
 
         /**
          * AutoWired 扩展自己的字段依赖注入细节
+         * - 通过预编译的赋值句柄注入，不再反射赋值
+         * - 已缓存单例引用时直接注入该引用
+         * - 按缓存直接注入时同样记录依赖关系，保证按依赖顺序销毁
          *
          * @param target   目标对象
          * @param beanName Bean Name
          */
         @Override
         protected void inject(Object target, String beanName) throws Throwable {
-            Field field = (Field) this.member;
             Object value;
-            if (this.isCache) {
+            SingletonShortcut singleton = this.cachedSingleton;
+            if (isValid(singleton)) {
+                value = singleton.instance();
+                beanFactory.registerDependentBean(singleton.beanName(), beanName);
+            } else if (this.isCache && this.cachedBeanDefinitionVersion == beanFactory.getBeanDefinitionVersion()) {
                 // 解析缓存的字段或者方法参数
-                value = resolveCachedArgument(beanName, this.cachedFieldValue);
+                int generation = currentSingletonGeneration();
+                int version = this.cachedBeanDefinitionVersion;
+                Object cachedFieldValue = this.cachedFieldValue;
+                value = resolveCachedArgument(beanName, cachedFieldValue);
+                if (cachedFieldValue instanceof ShortcutDependencyDescriptor shortcut) {
+                    // 快捷依赖描述符直接按 beanName 获取，不经过候选者查找，需要自己记录依赖关系
+                    beanFactory.registerDependentBean(shortcut.shortcut, beanName);
+                    // 首次注入时依赖的单例可能还在创建中（循环依赖），初始化完成后再缓存
+                    this.cachedSingleton = createSingletonShortcut(shortcut.shortcut, value, generation, version);
+                }
             } else {
                 // 缓存中不存在，进入解析字段值核心方法
-                value = resolveFieldValue(field, target, beanName);
+                value = resolveFieldValue((Field) this.member, target, beanName);
             }
 
             if (value != null) {
-                ReflectionUtils.makeAccessible(field);
-                field.set(target, value);
+                setFieldValue(target, value);
             }
         }
 
@@ -245,6 +381,8 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
             DependencyDescriptor desc = new DependencyDescriptor(field, this.required);
             // 记录自动注入的BeanName
             HashSet<String> autowiredBeanNames = new HashSet<>(2);
+            int generation = currentSingletonGeneration();
+            int version = beanFactory.getBeanDefinitionVersion();
             Object value;
             try {
                 value = beanFactory.resolveDependency(desc, beanName, autowiredBeanNames);
@@ -255,7 +393,7 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
 
             // 缓存处理
             synchronized (this) {
-                if (!this.isCache) {
+                if (!this.isCache || this.cachedBeanDefinitionVersion != version) {
                     // 解析的结果不是空，字段值是必须的，就将其进行缓存
                     if (value != null || this.required) {
                         Object cachedFieldValue = desc;
@@ -265,10 +403,13 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
                                     && beanFactory.isTypeMatch(autowiredBeanName, field.getType())) {
                                 // 创建快捷依赖描述类作为缓存，后续直接根据beanName获取实例
                                 cachedFieldValue = new ShortcutDependencyDescriptor(desc, autowiredBeanName);
+                                this.cachedSingleton = createSingletonShortcut(autowiredBeanName, value, generation, version);
                             }
                         }
                         this.cachedFieldValue = cachedFieldValue;
                         this.isCache = true;
+                        // 最后写入版本，读到新版本时一定能读到新的缓存值
+                        this.cachedBeanDefinitionVersion = version;
                     }
                 }
             }
@@ -277,6 +418,53 @@ public class AutowiredAnnotationBeanPostProcessor implements MergedBeanDefinitio
         }
     }
 
+    /**
+     * AutoWired 针对注入元数据的方法扩展
+     * - 参数解析器缓存每个参数注入的 beanName，预编译的调用句柄调用方法
+     */
+    private class AutowiredMethodElement extends InjectionMetadata.InjectedElement {
+
+        /** 参数解析器 */
+        private final AutowiredArgumentsResolver argumentsResolver;
+
+        /** 预编译的方法调用句柄 {@code (Object, Object[])Object} */
+        private final MethodHandle invoker;
+
+        public AutowiredMethodElement(boolean required, Method method) {
+            super(method, false);
+            this.argumentsResolver = new AutowiredArgumentsResolver(method, required);
+            this.invoker = ReflectionUtils.createMethodInvoker(method);
+        }
+
+        @Override
+        public List<DependencyDescriptor> getDependencyDescriptors() {
+            return Arrays.asList(this.argumentsResolver.getDependencyDescriptors());
+        }
+
+        /**
+         * 解析方法参数并调用方法，存在没有解析到的参数时（非必须）不调用
+         *
+         * @param target   目标对象
+         * @param beanName Bean Name
+         */
+        @Override
+        protected void inject(Object target, String beanName) throws Throwable {
+            Object[] args = this.argumentsResolver.resolve(beanName, beanFactory);
+            for (Object arg : args) {
+                if (arg == null) {
+                    return;
+                }
+            }
+            Object ignored = this.invoker.invokeExact(target, args);
+        }
+    }
+
+    /**
+     * 缓存的单例引用以及缓存时的单例代数、bean 定义版本
+     */
+    private record SingletonShortcut(String beanName, Object instance, int generation, int beanDefinitionVersion) {
+    }
+
     /**
      * 创建一个快捷依赖描述符，便于存储缓存
      */
@@ -43,7 +43,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
     public void processConfigBeanDefinitions(DefaultListableBeanFactory beanFactory) {
 
         // 解析所有配置类上的注解
-        String[] configBeanName = beanFactory.getBeanNamesForType(Configuration.class);
+        String[] configBeanName = beanFactory.getBeanNamesForAnnotation(Configuration.class);
         // key:注解的类型  value:配置类型数组
         Map<Annotation, Class<?>[]> candidateBeanDefinition = new HashMap<>();
         for (String beanName : configBeanName) {
@@ -11,20 +11,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 初始化、销毁方法 后处理器
+ * - 异步初始化方法（{@link PostConstruct#async()}）在 bean 创建完成后提交到有界线程池执行，不占用单例的创建锁
+ * - 异步初始化由容器在所有初始化之后的后处理器执行完后提交（{@link #submitAsyncInitialization}），不会与后处理器（例如创建代理）并发执行
+ * - 只有单例使用异步初始化；原型等其他作用域的 bean 无法按 beanName 等待，异步初始化方法在创建线程中同步执行
+ * - 只有启动时的失败是致命的：容器在预实例化结束时等待全部异步初始化，失败会中断启动；
+ *   懒加载的单例在启动之后才创建，失败只记录日志，bean 仍留在单例缓存中（可能已被注入到其他 bean），
+ *   失败保留到 {@link #awaitAsyncInitialization} 时抛出，需要确认 bean 已就绪的调用方应先等待
  *
  * @date: 2025-07-17
  * @author: liuxu
@@ -44,6 +60,15 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
     // 生命周期元数据缓存  beanClass -> 生命周期元数据
     private final Map<Class<?>, LifecycleMetadata> lifecycleMetadataCache = new ConcurrentHashMap<>(256);
 
+    // 未完成或执行失败（等待时抛出异常）的单例异步初始化  beanName -> 异步初始化方法执行完成的 future，执行成功后移除
+    private final Map<String, CompletableFuture<Void>> asyncInitFutures = new ConcurrentHashMap<>(16);
+
+    // 执行异步初始化方法的线程数
+    private int asyncInitParallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    // 执行异步初始化方法的线程池，首次使用时创建
+    private volatile ExecutorService asyncInitExecutor;
+
     /**
      * 指定要检查的 标识初始化方法 的注解. 指示在配置 bean 后要调用的初始化方法。
      * 可以使用任何自定义注解.
@@ -83,6 +108,17 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
     }
 
 
+    /**
+     * 设置执行异步初始化方法的线程数，需在创建第一个异步初始化的 bean 之前设置
+     */
+    public void setAsyncInitParallelism(int asyncInitParallelism) {
+        if (asyncInitParallelism < 1) {
+            throw new IllegalArgumentException("asyncInitParallelism 必须大于 0");
+        }
+        this.asyncInitParallelism = asyncInitParallelism;
+    }
+
+
     @Override
     public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
         findLifecycleMetadata(beanDefinition, beanType);
@@ -144,13 +180,13 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
             ReflectionUtils.doWithLocalMethods(currentClass, method -> {
                 for (Class<? extends Annotation> initAnnotationType : this.initAnnotationTypes) {
                     if (initAnnotationType != null && method.isAnnotationPresent(initAnnotationType)) {
-                        currInitMethods.add(new LifecycleMethod(method, beanClass));
+                        currInitMethods.add(new LifecycleMethod(method, beanClass, isAsyncInitMethod(method)));
                     }
                 }
 
                 for (Class<? extends Annotation> destroyAnnotationType : this.destroyAnnotationTypes) {
                     if (destroyAnnotationType != null && method.isAnnotationPresent(destroyAnnotationType)) {
-                        currDestroyMethods.add(new LifecycleMethod(method, beanClass));
+                        currDestroyMethods.add(new LifecycleMethod(method, beanClass, false));
                     }
                 }
             });
@@ -170,22 +206,146 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
                 this.emptyLifecycleMetadata : new LifecycleMetadata(beanClass, initMethods, destroyMethods));
     }
 
+    private static boolean isAsyncInitMethod(Method method) {
+        PostConstruct postConstruct = method.getAnnotation(PostConstruct.class);
+        return (postConstruct != null && postConstruct.async());
+    }
+
 
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) {
         log.info("invoke init before method");
         LifecycleMetadata lifecycleMetadata = findLifecycleMetadata(bean.getClass());
         try {
-            lifecycleMetadata.invokeInitMethods(bean, beanName);
+            lifecycleMetadata.invokeInitMethods(bean, beanName, false);
         } catch (Throwable e) {
             throw new RuntimeException(beanName + ": 调用初始化方法失败", e);
         }
         return bean;
     }
 
+    /**
+     * 执行异步初始化方法，由容器在初始化之后的后处理器全部执行完后调用
+     * - 单例：提交到线程池执行，可通过 {@link #awaitAsyncInitialization} 等待
+     * - 其他作用域：在当前线程同步执行
+     *
+     * @param bean      bean 实例（未包装的原始对象）
+     * @param beanName  beanName
+     * @param singleton 是否单例
+     */
+    public void submitAsyncInitialization(Object bean, String beanName, boolean singleton) {
+        LifecycleMetadata lifecycleMetadata = findLifecycleMetadata(bean.getClass());
+        if (!lifecycleMetadata.hasAsyncInitMethods()) {
+            return;
+        }
+        if (!singleton) {
+            try {
+                lifecycleMetadata.invokeInitMethods(bean, beanName, true);
+            } catch (Throwable e) {
+                throw new RuntimeException(beanName + ": 调用异步初始化方法失败", e);
+            }
+            return;
+        }
+
+        CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+            try {
+                lifecycleMetadata.invokeInitMethods(bean, beanName, true);
+            } catch (Throwable e) {
+                throw new CompletionException(e);
+            }
+        }, getAsyncInitExecutor());
+        this.asyncInitFutures.put(beanName, future);
+        // 先放入再注册回调，回调中的移除一定在放入之后
+        future.whenComplete((result, ex) -> {
+            if (ex == null) {
+                this.asyncInitFutures.remove(beanName, future);
+            } else {
+                // 失败的 future 保留，等待时抛出（启动时由容器等待，启动之后由调用方等待）
+                log.error("{} : 调用异步初始化方法失败: {}", beanName, ex.getCause().toString());
+            }
+        });
+    }
+
+    private ExecutorService getAsyncInitExecutor() {
+        ExecutorService executor = this.asyncInitExecutor;
+        if (executor == null) {
+            synchronized (this.asyncInitFutures) {
+                executor = this.asyncInitExecutor;
+                if (executor == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    ThreadPoolExecutor threadPool = new ThreadPoolExecutor(this.asyncInitParallelism, this.asyncInitParallelism,
+                            60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "async-init-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    // 空闲线程自动回收，容器销毁时关闭（shutdownAsyncInitExecutor）
+                    threadPool.allowCoreThreadTimeOut(true);
+                    this.asyncInitExecutor = executor = threadPool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * 等待指定 bean 的异步初始化方法执行完成
+     *
+     * @param beanName beanName
+     * @throws RuntimeException 异步初始化方法执行失败
+     */
+    public void awaitAsyncInitialization(String beanName) {
+        CompletableFuture<Void> future = this.asyncInitFutures.get(beanName);
+        if (future == null) {
+            return;
+        }
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(beanName + ": 调用异步初始化方法失败", e.getCause());
+        }
+        this.asyncInitFutures.remove(beanName, future);
+    }
+
+    /**
+     * 等待所有 bean 的异步初始化方法执行完成
+     *
+     * @throws RuntimeException 任意一个异步初始化方法执行失败
+     */
+    public void awaitAsyncInitializations() {
+        for (String beanName : new ArrayList<>(this.asyncInitFutures.keySet())) {
+            awaitAsyncInitialization(beanName);
+        }
+    }
+
+    /**
+     * 关闭执行异步初始化方法的线程池，由容器在销毁全部单例后调用
+     * - 已提交的异步初始化方法继续执行完，不再接受新的任务；之后再创建异步初始化的 bean 会重新创建线程池
+     */
+    public void shutdownAsyncInitExecutor() {
+        ExecutorService executor;
+        synchronized (this.asyncInitFutures) {
+            executor = this.asyncInitExecutor;
+            this.asyncInitExecutor = null;
+            this.asyncInitFutures.clear();
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     @Override
     public void postProcessBeforeDestruction(Object bean, String beanName) throws Exception {
         log.info("{} : invoke destroy before...", beanName);
+        // 异步初始化还未完成时，先等待其完成再执行销毁方法
+        CompletableFuture<Void> asyncInitFuture = this.asyncInitFutures.remove(beanName);
+        if (asyncInitFuture != null) {
+            try {
+                asyncInitFuture.join();
+            } catch (CompletionException e) {
+                log.warn("{} : 异步初始化方法执行失败: {}", beanName, e.getCause().toString());
+            }
+        }
         LifecycleMetadata metadata = findLifecycleMetadata(bean.getClass());
         try {
             metadata.invokeDestroyMethods(bean, beanName);
@@ -203,53 +363,60 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
 
     /**
      * 生命周期元数据
+     * - 按类构建并缓存，生命周期方法在构建时预编译为 {@link MethodHandle}，每个实例的回调只是一次直接调用
      */
     private static class LifecycleMetadata {
+        private static final LifecycleMethod[] EMPTY_LIFECYCLE_METHODS = new LifecycleMethod[0];
+
         private final Class<?> beanClass;
 
-        private final Collection<LifecycleMethod> initMethods;
+        private final LifecycleMethod[] initMethods;
 
-        private final Collection<LifecycleMethod> destroyMethods;
+        private final LifecycleMethod[] destroyMethods;
 
         // 检查后不属于外部声明管理的初始化方法，根据方法元数据中的限定名进行了去重
-        private volatile Set<LifecycleMethod> checkedInitMethods;
+        private volatile LifecycleMethod[] checkedInitMethods;
 
         // 检查后不属于外部声明管理的销毁方法，根据方法元数据中的限定名进行了去重
-        private volatile Set<LifecycleMethod> checkedDestroyMethods;
+        private volatile LifecycleMethod[] checkedDestroyMethods;
 
 
         public LifecycleMetadata(Class<?> beanClass, Collection<LifecycleMethod> initMethods, Collection<LifecycleMethod> destroyMethods) {
             this.beanClass = beanClass;
-            this.initMethods = initMethods;
-            this.destroyMethods = destroyMethods;
+            this.initMethods = initMethods.toArray(EMPTY_LIFECYCLE_METHODS);
+            this.destroyMethods = destroyMethods.toArray(EMPTY_LIFECYCLE_METHODS);
         }
 
         /**
          * 验证初始化、销毁方法 -整理出不是外部声明管理的方法
+         * - 同一个类的多个 bean 定义检查结果相同时，复用已有的检查结果
          *
          * @param beanDefinition BeanDefinition
          */
         public void checkInitDestroyMethods(RootBeanDefinition beanDefinition) {
-            Set<LifecycleMethod> checkedInitMethods = new HashSet<>(this.initMethods.size());
-            for (LifecycleMethod lifecycleMethod : initMethods) {
-                String identifier = lifecycleMethod.getIdentifier();
-                if (!beanDefinition.isExternallyManagedInitMethods(identifier)) {
-                    beanDefinition.registerExternallyManagedInitMethod(identifier);
-                    checkedInitMethods.add(lifecycleMethod);
-                }
+            if (this.initMethods.length == 0 && this.destroyMethods.length == 0) {
+                return;
             }
+            this.checkedInitMethods = checkLifecycleMethods(this.initMethods, this.checkedInitMethods,
+                    beanDefinition::isExternallyManagedInitMethods, beanDefinition::registerExternallyManagedInitMethod);
+            this.checkedDestroyMethods = checkLifecycleMethods(this.destroyMethods, this.checkedDestroyMethods,
+                    beanDefinition::isExternallyManagedDestroyMethods, beanDefinition::registerExternallyManagedDestroyMethod);
+        }
 
-            Set<LifecycleMethod> checkedDestroyMethods = new HashSet<>(this.destroyMethods.size());
-            for (LifecycleMethod lifecycleMethod : destroyMethods) {
+        private static LifecycleMethod[] checkLifecycleMethods(LifecycleMethod[] methods, LifecycleMethod[] previous,
+                                                               Predicate<String> externallyManaged, Consumer<String> register) {
+            List<LifecycleMethod> checked = new ArrayList<>(methods.length);
+            for (LifecycleMethod lifecycleMethod : methods) {
                 String identifier = lifecycleMethod.getIdentifier();
-                if (!beanDefinition.isExternallyManagedDestroyMethods(identifier)) {
-                    beanDefinition.registerExternallyManagedDestroyMethod(identifier);
-                    checkedDestroyMethods.add(lifecycleMethod);
+                if (!externallyManaged.test(identifier)) {
+                    register.accept(identifier);
+                    checked.add(lifecycleMethod);
                 }
             }
-
-            this.checkedInitMethods = checkedInitMethods;
-            this.checkedDestroyMethods = checkedDestroyMethods;
+            if (previous != null && previous.length == checked.size() && checked.equals(Arrays.asList(previous))) {
+                return previous;
+            }
+            return checked.toArray(EMPTY_LIFECYCLE_METHODS);
         }
 
 
@@ -258,20 +425,20 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
          *
          * @param target   bean实例
          * @param beanName beanName
+         * @param async    true:只调用异步初始化方法 false:只调用同步初始化方法
          */
-        public void invokeInitMethods(Object target, String beanName) throws Throwable {
+        public void invokeInitMethods(Object target, String beanName, boolean async) throws Throwable {
             // 类似给成员变量进行线程快照，长调用链中的稳定取值，避免其他线程修改为null出现错误
-            Collection<LifecycleMethod> checkedInitMethods = this.checkedInitMethods;
+            LifecycleMethod[] checkedInitMethods = this.checkedInitMethods;
 
-            Collection<LifecycleMethod> initMethodsToIterate = (checkedInitMethods != null ?
+            LifecycleMethod[] initMethodsToIterate = (checkedInitMethods != null ?
                     checkedInitMethods : this.initMethods);
 
-            if (!initMethodsToIterate.isEmpty()) {
-                for (LifecycleMethod initMethod : initMethodsToIterate) {
+            for (LifecycleMethod initMethod : initMethodsToIterate) {
+                if (initMethod.isAsync() == async) {
                     initMethod.invoke(target);
                 }
             }
-
         }
 
         /**
@@ -279,19 +446,30 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
          *
          * @param target   bean实例
          * @param beanName beanName
-         * @throws Throwable 反射调用方法可能出现异常
+         * @throws Throwable 调用方法可能出现异常
          */
         public void invokeDestroyMethods(Object target, String beanName) throws Throwable {
-            Collection<LifecycleMethod> checkedDestroyMethods = this.checkedDestroyMethods;
+            LifecycleMethod[] checkedDestroyMethods = this.checkedDestroyMethods;
 
-            Collection<LifecycleMethod> destroyMethodsToUse = (checkedDestroyMethods != null ?
+            LifecycleMethod[] destroyMethodsToUse = (checkedDestroyMethods != null ?
                     checkedDestroyMethods : this.destroyMethods);
 
-            if (!destroyMethodsToUse.isEmpty()) {
-                for (LifecycleMethod destroyMethod : destroyMethodsToUse) {
-                    destroyMethod.invoke(target);
+            for (LifecycleMethod destroyMethod : destroyMethodsToUse) {
+                destroyMethod.invoke(target);
+            }
+        }
+
+        /**
+         * 是否有异步初始化方法
+         */
+        public boolean hasAsyncInitMethods() {
+            LifecycleMethod[] checkedInitMethods = this.checkedInitMethods;
+            for (LifecycleMethod initMethod : (checkedInitMethods != null ? checkedInitMethods : this.initMethods)) {
+                if (initMethod.isAsync()) {
+                    return true;
                 }
             }
+            return false;
         }
 
         /**
@@ -300,12 +478,12 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
          * @return true:有销毁方法 false:无销毁方法
          */
         public boolean hasDestroyMethods() {
-            Collection<LifecycleMethod> checkedDestroyMethods = this.checkedDestroyMethods;
+            LifecycleMethod[] checkedDestroyMethods = this.checkedDestroyMethods;
 
-            Collection<LifecycleMethod> destroyMethods = (checkedDestroyMethods != null ?
+            LifecycleMethod[] destroyMethods = (checkedDestroyMethods != null ?
                     checkedDestroyMethods : this.destroyMethods);
 
-            return !destroyMethods.isEmpty();
+            return destroyMethods.length > 0;
         }
 
     }
@@ -314,13 +492,21 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
      * 生命周期方法
      */
     private static class LifecycleMethod {
+        private static final Object[] EMPTY_ARGS = new Object[0];
+
         // 方法
         private final Method method;
 
         // 方法的限定名称
         private final String identifier;
 
-        public LifecycleMethod(Method method, Class<?> beanClass) {
+        // 是否异步执行
+        private final boolean async;
+
+        // 预编译的调用句柄 (Object,Object[])Object
+        private final MethodHandle invoker;
+
+        public LifecycleMethod(Method method, Class<?> beanClass, boolean async) {
             if (method.getParameterCount() != 0) {
                 throw new IllegalStateException("生命周期注解需要一个无参数的方法：" + method);
             }
@@ -329,6 +515,8 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
             // 如果父类和子类有同名的私有的销毁方法，标识符会不一样，分别执行[子类,父类]方法
             this.identifier = isPrivateOrNotVisible(method, beanClass) ?
                     ClassUtils.getQualifiedMethodName(method) : method.getName();
+            this.async = async;
+            this.invoker = ReflectionUtils.createMethodInvoker(method);
         }
 
         public Method getMethod() {
@@ -339,6 +527,10 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
             return identifier;
         }
 
+        public boolean isAsync() {
+            return async;
+        }
+
         /**
          * 检查方法是私用的 或 方法与 Bean 类位于不同包中的类中声明，并且该方法既不是公共的也不是受保护的？
          */
@@ -355,13 +547,12 @@ public class InitDestroyAnnotationBeanPostProcessor implements MergedBeanDefinit
         }
 
         /**
-         * 执行方法
+         * 执行方法（异常不会被包装，直接抛出方法本身的异常）
          *
          * @param target bean实例
          */
         public void invoke(Object target) throws Throwable {
-            ReflectionUtils.makeAccessible(this.method);
-            method.invoke(target);
+            Object ignored = this.invoker.invokeExact(target, EMPTY_ARGS);
         }
     }
 
@@ -0,0 +1,271 @@
+package com.liuxu.springframework.beans.support;
+
+import com.liuxu.springframework.beans.index.CandidateComponentsIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 启动快照：持久化组件扫描解析出的 bean 定义
+ * - 记录 beanName、类名、作用域、懒加载/主要的标记、类型闭包、类上的注解，下次启动时直接注册，不需要扫描类路径，也不需要加载任何 Bean 类
+ * - 快照的 key 由类路径指纹和扫描配置组成，任何一项变化快照都会失效并重新生成；指纹只检查每个类路径条目本身，不遍历目录：
+ *   jar 取大小和修改时间，目录取其中组件索引的大小和修改时间（每次编译都会重写），没有组件索引的目录只取目录的修改时间
+ * - 加载快照后检查每个组件的类文件是否仍然存在（不加载类），类被删除或改名时重新扫描；
+ *   没有组件索引的目录中，已有的类新增或去掉组件注解不会使快照失效，开发时应启用组件索引或不使用快照
+ * - 读取时使用内存映射文件
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class BeanDefinitionSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(BeanDefinitionSnapshot.class);
+
+    /** 设置该系统属性（快照文件路径）后启用启动快照 */
+    public static final String SNAPSHOT_FILE_PROPERTY_NAME = "simple-spring.snapshot.file";
+
+    private static final int MAGIC = 0x53534244;
+
+    private static final int VERSION = 2;
+
+    /** 一个 bean 定义至少占用的字节数：4 个字符串长度、2 个标记、2 个集合大小 */
+    private static final int MIN_ENTRY_BYTES = 4 * Integer.BYTES + 2 + 2 * Integer.BYTES;
+
+    /** 快照 key */
+    private final String key;
+
+    /** 快照中的 bean 定义（注册顺序） */
+    private final List<Entry> entries;
+
+
+    public BeanDefinitionSnapshot(String key, List<Entry> entries) {
+        this.key = key;
+        this.entries = entries;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * 获取配置的快照文件
+     *
+     * @return 快照文件 或 null（未启用）
+     */
+    public static Path getSnapshotFile() {
+        String file = System.getProperty(SNAPSHOT_FILE_PROPERTY_NAME);
+        return (file == null || file.isBlank() ? null : Path.of(file));
+    }
+
+    /**
+     * 计算快照 key
+     *
+     * @param scanConfiguration 扫描配置（配置类、扫描的包、过滤器）
+     * @return key
+     */
+    public static String computeKey(String scanConfiguration) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scanConfiguration.getBytes(StandardCharsets.UTF_8));
+            for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+                if (!entry.isEmpty()) {
+                    fingerprint(digest, Path.of(entry));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException("计算启动快照 key 失败", e);
+        }
+    }
+
+    /**
+     * 类路径条目的指纹：jar 取大小和修改时间，目录取其中组件索引（没有时取目录本身）的大小和修改时间
+     */
+    private static void fingerprint(MessageDigest digest, Path path) throws IOException {
+        digest.update(path.toString().getBytes(StandardCharsets.UTF_8));
+        Path target = path;
+        if (Files.isDirectory(path)) {
+            Path index = path.resolve(CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION);
+            if (Files.isRegularFile(index)) {
+                target = index;
+            }
+        }
+        if (Files.exists(target)) {
+            BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+            digest.update(longToBytes(attributes.size()));
+            digest.update(longToBytes(attributes.lastModifiedTime().toMillis()));
+        }
+    }
+
+    private static byte[] longToBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    /**
+     * 加载快照
+     *
+     * @param file 快照文件
+     * @param key  期望的快照 key
+     * @return 快照 或 null（不存在、已过期、格式错误）
+     */
+    public static BeanDefinitionSnapshot load(Path file, String key) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !key.equals(readString(buffer))) {
+                log.info("启动快照 [{}] 已过期，重新扫描", file);
+                return null;
+            }
+            int count = readCount(buffer, MIN_ENTRY_BYTES);
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new Entry(readString(buffer), readString(buffer), readString(buffer), readString(buffer),
+                        buffer.get() != 0, buffer.get() != 0, readStrings(buffer), readStrings(buffer)));
+            }
+            return new BeanDefinitionSnapshot(key, entries);
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            log.warn("读取启动快照 [{}] 失败，重新扫描: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * 快照中所有组件的类文件是否都还存在，只查找资源，不加载类
+     *
+     * @param classLoader 类加载器
+     * @return true:都存在 false:有类被删除或改名
+     */
+    public boolean isResolvable(ClassLoader classLoader) {
+        for (Entry entry : this.entries) {
+            if (classLoader.getResource(entry.className().replace('.', '/') + ".class") == null) {
+                log.info("启动快照中的类 [{}] 不存在，重新扫描", entry.className());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 写出快照，先写临时文件再原子替换，避免并发启动读到不完整的文件
+     *
+     * @param file 快照文件
+     */
+    public void write(Path file) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (OutputStream fileOut = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                writeString(out, this.key);
+                out.writeInt(this.entries.size());
+                for (Entry entry : this.entries) {
+                    writeString(out, entry.beanName());
+                    writeString(out, entry.className());
+                    writeString(out, entry.simpleClassName());
+                    writeString(out, entry.scope());
+                    out.writeBoolean(entry.lazyInit());
+                    out.writeBoolean(entry.primary());
+                    writeStrings(out, entry.typeNames());
+                    writeStrings(out, entry.annotationNames());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 快照只是启动优化，写入失败不影响容器
+            log.warn("写入启动快照 [{}] 失败: {}", file, e.toString());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, Set<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    /**
+     * 读取字符串，长度不能超过剩余的字节数（文件损坏时不会分配过大或负数长度的数组）
+     */
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[readCount(buffer, 1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取元素数量并校验：不能为负数，剩余的字节数至少能容纳这么多元素
+     *
+     * @param buffer          缓冲区
+     * @param minElementBytes 每个元素至少占用的字节数
+     * @return 元素数量
+     * @throws IllegalArgumentException 文件损坏
+     */
+    private static int readCount(ByteBuffer buffer, int minElementBytes) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / minElementBytes) {
+            throw new IllegalArgumentException("快照数据损坏，长度 " + count + " 超出剩余的 " + buffer.remaining() + " 字节");
+        }
+        return count;
+    }
+
+    private static Set<String> readStrings(ByteBuffer buffer) {
+        int count = readCount(buffer, Integer.BYTES);
+        Set<String> values = new LinkedHashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(buffer));
+        }
+        return Collections.unmodifiableSet(values);
+    }
+
+
+    /**
+     * 快照中的一个 bean 定义
+     *
+     * @param beanName        beanName
+     * @param className       类名
+     * @param simpleClassName 类的简单名称
+     * @param scope           作用域
+     * @param lazyInit        是否懒加载
+     * @param primary         是否主要的
+     * @param typeNames       类型闭包的类名
+     * @param annotationNames 类上的注解类名
+     */
+    public record Entry(String beanName, String className, String simpleClassName, String scope, boolean lazyInit, boolean primary,
+                        Set<String> typeNames, Set<String> annotationNames) {
+    }
+
+}
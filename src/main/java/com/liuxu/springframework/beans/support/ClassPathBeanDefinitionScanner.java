@@ -0,0 +1,199 @@
+package com.liuxu.springframework.beans.support;
+
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.Configuration;
+import com.liuxu.springframework.beans.annotion.Primary;
+import com.liuxu.springframework.beans.annotion.Scope;
+import com.liuxu.springframework.beans.beandefinition.ScannedGenericBeanDefinition;
+import com.liuxu.springframework.utils.ClassUtils;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ClassInfoList;
+import io.github.classgraph.ScanResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类路径组件扫描器
+ * - 只读取字节码中的元数据（ClassGraph），按注解筛选组件，不会加载包下的非组件类
+ * - 支持元注解：使用了 {@code @Component} 标注的注解（例如 {@code @Configuration}）的类同样是组件
+ * - 扫描结果为按类名定义的 {@link ScannedGenericBeanDefinition}，Bean 类在首次创建时才加载
+ * - 多个包在同一次扫描中由 ClassGraph 的工作线程并行读取，结果按类名排序，保证注册顺序稳定
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class ClassPathBeanDefinitionScanner {
+
+    /** 组件注解 */
+    private static final String COMPONENT_ANNOTATION = Component.class.getName();
+
+    /** 框架内置的组件派生注解，不在扫描的包下，需要单独扫描才能解析元注解 */
+    private static final String[] STEREOTYPE_ANNOTATIONS = {COMPONENT_ANNOTATION, Configuration.class.getName()};
+
+    /** 扫描包之外的父类型（框架、JDK 的类型）的类型闭包：类名 -> 类型闭包的类名 */
+    private final Map<String, Set<String>> externalTypeNamesCache = new ConcurrentHashMap<>(32);
+
+    private final ClassLoader classLoader;
+
+    /** 额外作为组件的类型过滤器 */
+    private final List<TypeFilter> includeFilters = new ArrayList<>();
+
+    /** 排除的类型过滤器 */
+    private final List<TypeFilter> excludeFilters = new ArrayList<>();
+
+
+    public ClassPathBeanDefinitionScanner(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    public void addIncludeFilter(TypeFilter includeFilter) {
+        this.includeFilters.add(includeFilter);
+    }
+
+    public void addExcludeFilter(TypeFilter excludeFilter) {
+        this.excludeFilters.add(excludeFilter);
+    }
+
+    /**
+     * 扫描包及其子包下的组件
+     *
+     * @param basePackages 包名
+     * @return 组件的 bean 定义（按类名排序）
+     */
+    public List<ScannedGenericBeanDefinition> findCandidateComponents(String... basePackages) {
+        try (ScanResult scan = new ClassGraph()
+                .enableClassInfo()
+                .enableAnnotationInfo()
+                .acceptPackages(basePackages)  // 只扫描这些包及其子包
+                .acceptClasses(STEREOTYPE_ANNOTATIONS)
+                .overrideClassLoaders(this.classLoader)
+                .scan()) {
+
+            // 没有 includeFilters 时只需要检查使用了 @Component 的类
+            ClassInfoList classInfos = (this.includeFilters.isEmpty() ?
+                    scan.getClassesWithAnnotation(COMPONENT_ANNOTATION) : scan.getAllStandardClasses());
+            List<ScannedGenericBeanDefinition> candidates = new ArrayList<>();
+            for (ClassInfo classInfo : classInfos) {
+                if (!isCandidateClass(classInfo, basePackages)) {
+                    continue;
+                }
+                Set<String> typeNames = resolveTypeNames(classInfo);
+                if (isCandidateComponent(classInfo, typeNames)) {
+                    candidates.add(createBeanDefinition(classInfo, typeNames));
+                }
+            }
+            candidates.sort(Comparator.comparing(ScannedGenericBeanDefinition::getBeanClassName));
+            return candidates;
+        }
+    }
+
+    /**
+     * 只有包下具体的类才可能是组件（排除接口、抽象类、注解）
+     */
+    private boolean isCandidateClass(ClassInfo classInfo, String[] basePackages) {
+        return classInfo.isStandardClass() && !classInfo.isAbstract() && isInBasePackages(classInfo.getName(), basePackages);
+    }
+
+    /**
+     * 是否是组件
+     * - 使用了 @Component（或者匹配任意一个 includeFilter）
+     * - 不匹配任何一个 excludeFilter
+     *
+     * @param classInfo 类的元数据
+     * @param typeNames 类型闭包的类名
+     */
+    private boolean isCandidateComponent(ClassInfo classInfo, Set<String> typeNames) {
+        for (TypeFilter excludeFilter : this.excludeFilters) {
+            if (excludeFilter.match(classInfo, typeNames)) {
+                return false;
+            }
+        }
+        if (classInfo.hasAnnotation(COMPONENT_ANNOTATION)) {
+            return true;
+        }
+        for (TypeFilter includeFilter : this.includeFilters) {
+            if (includeFilter.match(classInfo, typeNames)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isInBasePackages(String className, String[] basePackages) {
+        for (String basePackage : basePackages) {
+            if (className.startsWith(basePackage + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ScannedGenericBeanDefinition createBeanDefinition(ClassInfo classInfo, Set<String> typeNames) {
+        String componentName = "";
+        boolean lazyInit = false;
+        AnnotationInfo component = classInfo.getAnnotationInfo().directOnly().get(COMPONENT_ANNOTATION);
+        if (component != null) {
+            // 注解类不在扫描结果中时（例如被扫描的类由其他类加载器加载）无法取得默认值，返回 null
+            Object value = component.getParameterValues(true).getValue("value");
+            componentName = (value != null ? (String) value : "");
+            lazyInit = Boolean.TRUE.equals(component.getParameterValues(true).getValue("lazyInit"));
+        }
+
+        Set<String> annotationNames = new LinkedHashSet<>(classInfo.getAnnotationInfo().directOnly().getNames());
+        ScannedGenericBeanDefinition beanDefinition = new ScannedGenericBeanDefinition(classInfo.getName(),
+                this.classLoader, componentName, classInfo.getSimpleName(), typeNames,
+                Collections.unmodifiableSet(annotationNames));
+        // 配置类：使用了 Configuration 注解，按 Configuration 上的 @Component 处理，不支持懒加载
+        beanDefinition.setLazyInit(lazyInit && !annotationNames.contains(Configuration.class.getName()));
+        beanDefinition.setPrimary(annotationNames.contains(Primary.class.getName()));
+        AnnotationInfo scope = classInfo.getAnnotationInfo().directOnly().get(Scope.class.getName());
+        if (scope != null) {
+            beanDefinition.setScope((String) scope.getParameterValues().getValue("value"));
+        }
+        return beanDefinition;
+    }
+
+    /**
+     * 解析类型闭包（类自身、所有父类、所有接口）的类名
+     * - 扫描包内的类型直接使用字节码元数据
+     * - 扫描包之外的类型（ClassGraph 无法得知它们的父类型）加载后通过反射解析，这些类型都是被组件引用的框架或 JDK 类型
+     */
+    private Set<String> resolveTypeNames(ClassInfo classInfo) {
+        Set<String> typeNames = new LinkedHashSet<>();
+        typeNames.add(classInfo.getName());
+        List<ClassInfo> supertypes = new ArrayList<>(classInfo.getSuperclasses());
+        supertypes.addAll(classInfo.getInterfaces());
+        for (ClassInfo supertype : supertypes) {
+            if (supertype.isExternalClass()) {
+                typeNames.addAll(this.externalTypeNamesCache.computeIfAbsent(supertype.getName(), this::loadTypeNames));
+            } else {
+                typeNames.add(supertype.getName());
+            }
+        }
+        typeNames.add(Object.class.getName());
+        return Collections.unmodifiableSet(typeNames);
+    }
+
+    private Set<String> loadTypeNames(String className) {
+        try {
+            Set<String> typeNames = new LinkedHashSet<>();
+            for (Class<?> type : ClassUtils.getTypeClosure(Class.forName(className, false, this.classLoader))) {
+                typeNames.add(type.getName());
+            }
+            return typeNames;
+        } catch (ClassNotFoundException | LinkageError e) {
+            // 父类型不可用时，组件本身也无法创建，这里只记录类名
+            return Collections.singleton(className);
+        }
+    }
+
+}
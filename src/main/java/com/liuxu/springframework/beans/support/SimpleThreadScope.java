@@ -0,0 +1,81 @@
+package com.liuxu.springframework.beans.support;
+
+import com.liuxu.springframework.beans.interfaces.ObjectFactory;
+import com.liuxu.springframework.beans.interfaces.Scope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 线程作用域：每个线程持有各自的 bean 实例
+ * - 每个 beanName 第一次使用时分配一个序号，线程内的实例保存在按序号索引的数组中，获取实例不需要创建 Map 条目
+ * - 不支持销毁回调（线程结束时无法得知），与 spring 的 SimpleThreadScope 一致
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class SimpleThreadScope implements Scope {
+
+    private static final Logger log = LoggerFactory.getLogger(SimpleThreadScope.class);
+
+    /** 作用域名称 */
+    public static final String SCOPE_THREAD = "thread";
+
+    /** beanName -> 序号 */
+    private final Map<String, Integer> ordinals = new ConcurrentHashMap<>(16);
+
+    private final AtomicInteger nextOrdinal = new AtomicInteger();
+
+    /** 线程内的实例，下标为 bean 的序号 */
+    private final ThreadLocal<Object[]> threadInstances = ThreadLocal.withInitial(() -> new Object[8]);
+
+
+    @Override
+    public Object get(String name, ObjectFactory<?> objectFactory) {
+        int ordinal = ordinalOf(name);
+        Object[] instances = this.threadInstances.get();
+        if (ordinal < instances.length && instances[ordinal] != null) {
+            return instances[ordinal];
+        }
+
+        Object instance = objectFactory.getObject();
+        // 创建过程中可能创建了同作用域的其他 bean 导致数组扩容，重新获取
+        instances = this.threadInstances.get();
+        if (ordinal >= instances.length) {
+            instances = Arrays.copyOf(instances, Math.max(ordinal + 1, instances.length * 2));
+            this.threadInstances.set(instances);
+        }
+        instances[ordinal] = instance;
+        return instance;
+    }
+
+    @Override
+    public Object remove(String name) {
+        Integer ordinal = this.ordinals.get(name);
+        Object[] instances = this.threadInstances.get();
+        if (ordinal == null || ordinal >= instances.length) {
+            return null;
+        }
+        Object instance = instances[ordinal];
+        instances[ordinal] = null;
+        return instance;
+    }
+
+    @Override
+    public void registerDestructionCallback(String name, Runnable callback) {
+        log.warn("SimpleThreadScope 不支持销毁回调，bean [{}] 的销毁方法不会执行", name);
+    }
+
+    private int ordinalOf(String name) {
+        Integer ordinal = this.ordinals.get(name);
+        if (ordinal == null) {
+            ordinal = this.ordinals.computeIfAbsent(name, k -> this.nextOrdinal.getAndIncrement());
+        }
+        return ordinal;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.liuxu.springframework.beans.support;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 单例 bean 之间的依赖关系图
+ * - 用于并行预实例化单例时，确定哪些 bean 可以同时创建
+ * - 也用于销毁单例时，确定哪些 bean 可以同时销毁（边反向：依赖它的 bean 先销毁）
+ * - 依赖边来自于注入元数据（被依赖的 bean 需要先于依赖它的 bean 创建）
+ * - 处于循环依赖（以及依赖了循环依赖）中的 bean 无法确定先后顺序，交由调用方串行创建
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class SingletonDependencyGraph {
+
+    /** beanName -> 该 bean 依赖的 beanName（只记录图中存在的节点），保持注册顺序 */
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+    /** 拓扑排序后可调度的 beanName（依赖在前，被依赖在后） */
+    private List<String> sortedBeanNames;
+
+    /** 存在循环依赖，无法排序的 beanName（保持注册顺序） */
+    private List<String> cyclicBeanNames;
+
+
+    /**
+     * 添加节点
+     *
+     * @param beanName beanName
+     */
+    public void addBean(String beanName) {
+        this.dependencies.computeIfAbsent(beanName, k -> new LinkedHashSet<>(4));
+        this.sortedBeanNames = null;
+    }
+
+    /**
+     * 添加依赖边，只记录两端都存在于图中的边，忽略自引用
+     *
+     * @param beanName          beanName
+     * @param dependencyBeanName 被 beanName 依赖的 beanName
+     */
+    public void addDependency(String beanName, String dependencyBeanName) {
+        if (beanName.equals(dependencyBeanName) || !this.dependencies.containsKey(dependencyBeanName)) {
+            return;
+        }
+        Set<String> deps = this.dependencies.get(beanName);
+        if (deps != null && deps.add(dependencyBeanName)) {
+            this.sortedBeanNames = null;
+        }
+    }
+
+    /**
+     * 图中所有的 beanName（注册顺序）
+     */
+    public Set<String> getBeanNames() {
+        return Collections.unmodifiableSet(this.dependencies.keySet());
+    }
+
+    /**
+     * 获取指定 bean 依赖的 beanName
+     *
+     * @param beanName beanName
+     * @return 依赖的 beanName 或 空集合
+     */
+    public Set<String> getDependencies(String beanName) {
+        Set<String> deps = this.dependencies.get(beanName);
+        return (deps != null ? Collections.unmodifiableSet(deps) : Collections.emptySet());
+    }
+
+    /**
+     * 获取拓扑排序后的 beanName，遍历时依赖的 bean 总是在前面出现
+     */
+    public List<String> getSortedBeanNames() {
+        sortIfNecessary();
+        return this.sortedBeanNames;
+    }
+
+    /**
+     * 获取存在循环依赖（或依赖了循环依赖中的 bean）而无法排序的 beanName
+     */
+    public List<String> getCyclicBeanNames() {
+        sortIfNecessary();
+        return this.cyclicBeanNames;
+    }
+
+    /**
+     * Kahn 拓扑排序：入度为依赖数量，依赖全部就绪的 bean 才进入队列
+     */
+    private void sortIfNecessary() {
+        if (this.sortedBeanNames != null) {
+            return;
+        }
+
+        Map<String, Integer> inDegree = new HashMap<>(this.dependencies.size() * 2);
+        Map<String, List<String>> dependents = new HashMap<>(this.dependencies.size() * 2);
+        Deque<String> ready = new ArrayDeque<>();
+        for (Map.Entry<String, Set<String>> entry : this.dependencies.entrySet()) {
+            inDegree.put(entry.getKey(), entry.getValue().size());
+            for (String dep : entry.getValue()) {
+                dependents.computeIfAbsent(dep, k -> new ArrayList<>(2)).add(entry.getKey());
+            }
+            if (entry.getValue().isEmpty()) {
+                ready.add(entry.getKey());
+            }
+        }
+
+        List<String> sorted = new ArrayList<>(this.dependencies.size());
+        while (!ready.isEmpty()) {
+            String beanName = ready.poll();
+            sorted.add(beanName);
+            for (String dependent : dependents.getOrDefault(beanName, Collections.emptyList())) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        // 入度没有归零的就是循环依赖中的 bean
+        List<String> cyclic = new ArrayList<>();
+        for (String beanName : this.dependencies.keySet()) {
+            if (inDegree.get(beanName) > 0) {
+                cyclic.add(beanName);
+            }
+        }
+
+        this.sortedBeanNames = sorted;
+        this.cyclicBeanNames = cyclic;
+    }
+
+}
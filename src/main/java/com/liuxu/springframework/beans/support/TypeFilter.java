@@ -0,0 +1,62 @@
+package com.liuxu.springframework.beans.support;
+
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import io.github.classgraph.ClassInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 组件扫描的类型过滤器
+ * - 基于字节码元数据匹配，不需要加载扫描包下的类
+ * - 类型匹配使用扫描器解析的类型闭包，扫描包之外的父类型（例如框架、JDK 的接口）同样可以匹配
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@FunctionalInterface
+public interface TypeFilter {
+
+    /**
+     * 是否匹配
+     *
+     * @param classInfo 类的元数据
+     * @param typeNames 类型闭包（类自身、所有父类、所有接口）的类名
+     * @return true 表示匹配
+     */
+    boolean match(ClassInfo classInfo, Set<String> typeNames);
+
+
+    /**
+     * 根据 {@link ComponentScan.Filter} 创建过滤器，每个类型或正则表达式对应一个过滤器
+     *
+     * @param filter 注解
+     * @return 过滤器
+     */
+    static List<TypeFilter> of(ComponentScan.Filter filter) {
+        List<TypeFilter> typeFilters = new ArrayList<>();
+        switch (filter.type()) {
+            case ANNOTATION -> {
+                for (Class<?> annotationType : filter.classes()) {
+                    String annotationName = annotationType.getName();
+                    typeFilters.add((classInfo, typeNames) -> classInfo.hasAnnotation(annotationName));
+                }
+            }
+            case ASSIGNABLE_TYPE -> {
+                for (Class<?> type : filter.classes()) {
+                    String typeName = type.getName();
+                    typeFilters.add((classInfo, typeNames) -> typeNames.contains(typeName));
+                }
+            }
+            case REGEX -> {
+                for (String regex : filter.pattern()) {
+                    Pattern pattern = Pattern.compile(regex);
+                    typeFilters.add((classInfo, typeNames) -> pattern.matcher(classInfo.getName()).matches());
+                }
+            }
+        }
+        return typeFilters;
+    }
+}
@@ -0,0 +1,276 @@
+package com.liuxu.springframework.core;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 解析后的泛型类型（简化版的 Spring ResolvableType）
+ * - 由类型和泛型参数组成，泛型参数同样是 {@link ResolvableType}，无法确定的泛型参数（类型变量、原始类型）为 {@link #NONE}
+ * - 每个类的所有父类、接口的泛型参数只解析一次并缓存，判断泛型是否匹配时不需要再遍历 {@code getGenericSuperclass}/{@code getGenericInterfaces}
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public final class ResolvableType {
+
+    /** 无法确定的类型，与任何类型都匹配 */
+    public static final ResolvableType NONE = new ResolvableType(null, new ResolvableType[0], false);
+
+    private static final ResolvableType[] EMPTY_TYPES_ARRAY = new ResolvableType[0];
+
+    /** 类 -> (类型闭包中的每个类型 -> 该类型在此类中解析后的泛型) */
+    private static final Map<Class<?>, Map<Class<?>, ResolvableType>> supertypesCache = new ConcurrentHashMap<>(256);
+
+    /** 类型 */
+    private final Class<?> resolved;
+
+    /** 泛型参数 */
+    private final ResolvableType[] generics;
+
+    /** 是否通配符的上界（{@code ? extends T}），比较时按可赋值处理，否则要求类型一致 */
+    private final boolean upperBound;
+
+
+    private ResolvableType(Class<?> resolved, ResolvableType[] generics, boolean upperBound) {
+        this.resolved = resolved;
+        this.generics = generics;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * 根据类创建，泛型参数未确定
+     *
+     * @param clazz 类
+     * @return 类型
+     */
+    public static ResolvableType forClass(Class<?> clazz) {
+        return (clazz != null ? new ResolvableType(clazz, EMPTY_TYPES_ARRAY, false) : NONE);
+    }
+
+    /**
+     * 根据声明的类型（字段、参数的泛型类型）创建
+     *
+     * @param type 类型
+     * @return 类型
+     */
+    public static ResolvableType forType(Type type) {
+        return forType(type, Collections.emptyMap());
+    }
+
+    private static ResolvableType forType(Type type, Map<TypeVariable<?>, ResolvableType> bindings) {
+        if (type instanceof Class<?> clazz) {
+            return forClass(clazz);
+        }
+        if (type instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> rawType) {
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            ResolvableType[] generics = new ResolvableType[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                generics[i] = forType(arguments[i], bindings);
+            }
+            return new ResolvableType(rawType, generics, false);
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            return bindings.getOrDefault(variable, NONE);
+        }
+        if (type instanceof WildcardType wildcardType) {
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            if (wildcardType.getLowerBounds().length > 0 || upperBounds.length == 0 || upperBounds[0] == Object.class) {
+                return NONE;
+            }
+            ResolvableType bound = forType(upperBounds[0], bindings);
+            return (bound == NONE ? NONE : new ResolvableType(bound.resolved, bound.generics, true));
+        }
+        return NONE;
+    }
+
+    /**
+     * 类型
+     *
+     * @return 类型 或 null（无法确定）
+     */
+    public Class<?> resolve() {
+        return this.resolved;
+    }
+
+    /**
+     * 类型，无法确定时返回 Object
+     */
+    public Class<?> toClass() {
+        return (this.resolved != null ? this.resolved : Object.class);
+    }
+
+    /**
+     * 获取泛型参数
+     *
+     * @param index 下标
+     * @return 泛型参数 或 {@link #NONE}（不存在）
+     */
+    public ResolvableType getGeneric(int index) {
+        return (index < this.generics.length ? this.generics[index] : NONE);
+    }
+
+    /**
+     * 是否带有泛型参数
+     */
+    public boolean hasGenerics() {
+        return (this.generics.length > 0);
+    }
+
+    /**
+     * 作为指定父类型（父类或接口）的视图，例如 {@code OrderRepository implements Repository<Order>} 作为 {@code Repository} 为 {@code Repository<Order>}
+     *
+     * @param type 父类型
+     * @return 父类型 或 {@link #NONE}（不是该类型的子类型）
+     */
+    public ResolvableType as(Class<?> type) {
+        if (this.resolved == null) {
+            return NONE;
+        }
+        if (this.resolved == type) {
+            return this;
+        }
+        if (!hasGenerics()) {
+            return getSupertypes(this.resolved).getOrDefault(type, NONE);
+        }
+        // 带有泛型参数的类型（较少见），按泛型参数绑定后解析，不缓存
+        Map<Class<?>, ResolvableType> supertypes = new LinkedHashMap<>();
+        collectSupertypes(this.resolved, bind(this.resolved, this.generics), supertypes);
+        return supertypes.getOrDefault(type, NONE);
+    }
+
+    /**
+     * 判断指定类型是否可以赋值给当前类型（包括泛型参数）
+     * - 泛型参数无法确定时视为匹配
+     *
+     * @param other 其他类型
+     * @return true:可以赋值
+     */
+    public boolean isAssignableFrom(ResolvableType other) {
+        if (this == NONE || other == NONE) {
+            return true;
+        }
+        if (!this.resolved.isAssignableFrom(other.resolved)) {
+            return false;
+        }
+        if (!hasGenerics()) {
+            return true;
+        }
+        ResolvableType otherType = other.as(this.resolved);
+        if (otherType == NONE || otherType.generics.length != this.generics.length) {
+            return true;
+        }
+        for (int i = 0; i < this.generics.length; i++) {
+            ResolvableType generic = this.generics[i];
+            ResolvableType otherGeneric = otherType.generics[i];
+            if (generic == NONE || otherGeneric == NONE) {
+                continue;
+            }
+            boolean matches = (generic.upperBound ? generic.isAssignableFrom(otherGeneric) :
+                    generic.resolved == otherGeneric.resolved && generic.isAssignableFrom(otherGeneric));
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取类的类型闭包中每个类型解析后的泛型（缓存）
+     */
+    private static Map<Class<?>, ResolvableType> getSupertypes(Class<?> clazz) {
+        Map<Class<?>, ResolvableType> supertypes = supertypesCache.get(clazz);
+        if (supertypes == null) {
+            supertypes = new LinkedHashMap<>();
+            collectSupertypes(clazz, Collections.emptyMap(), supertypes);
+            supertypes = Collections.unmodifiableMap(supertypes);
+            supertypesCache.putIfAbsent(clazz, supertypes);
+        }
+        return supertypes;
+    }
+
+    private static void collectSupertypes(Class<?> clazz, Map<TypeVariable<?>, ResolvableType> bindings,
+                                          Map<Class<?>, ResolvableType> supertypes) {
+        TypeVariable<?>[] variables = clazz.getTypeParameters();
+        ResolvableType[] generics = EMPTY_TYPES_ARRAY;
+        if (variables.length > 0) {
+            generics = new ResolvableType[variables.length];
+            for (int i = 0; i < variables.length; i++) {
+                generics[i] = bindings.getOrDefault(variables[i], NONE);
+            }
+        }
+        if (supertypes.putIfAbsent(clazz, new ResolvableType(clazz, generics, false)) != null) {
+            return;
+        }
+
+        Map<TypeVariable<?>, ResolvableType> ownBindings = bind(clazz, generics);
+        Type superclass = clazz.getGenericSuperclass();
+        if (superclass != null) {
+            collectSupertype(superclass, ownBindings, supertypes);
+        }
+        for (Type ifc : clazz.getGenericInterfaces()) {
+            collectSupertype(ifc, ownBindings, supertypes);
+        }
+    }
+
+    private static void collectSupertype(Type type, Map<TypeVariable<?>, ResolvableType> ownerBindings,
+                                         Map<Class<?>, ResolvableType> supertypes) {
+        if (type instanceof Class<?> clazz) {
+            collectSupertypes(clazz, Collections.emptyMap(), supertypes);
+        } else if (type instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> rawType) {
+            Type[] arguments = parameterizedType.getActualTypeArguments();
+            ResolvableType[] generics = new ResolvableType[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                generics[i] = forType(arguments[i], ownerBindings);
+            }
+            collectSupertypes(rawType, bind(rawType, generics), supertypes);
+        }
+    }
+
+    private static Map<TypeVariable<?>, ResolvableType> bind(Class<?> clazz, ResolvableType[] generics) {
+        TypeVariable<?>[] variables = clazz.getTypeParameters();
+        if (variables.length == 0 || variables.length != generics.length) {
+            return Collections.emptyMap();
+        }
+        Map<TypeVariable<?>, ResolvableType> bindings = new HashMap<>(variables.length * 2);
+        for (int i = 0; i < variables.length; i++) {
+            bindings.put(variables[i], generics[i]);
+        }
+        return bindings;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return (this == other || (other instanceof ResolvableType otherType && this.resolved == otherType.resolved &&
+                this.upperBound == otherType.upperBound && Arrays.equals(this.generics, otherType.generics)));
+    }
+
+    @Override
+    public int hashCode() {
+        return (this.resolved != null ? this.resolved.hashCode() : 0) * 31 + Arrays.hashCode(this.generics);
+    }
+
+    @Override
+    public String toString() {
+        if (this.resolved == null) {
+            return "?";
+        }
+        StringBuilder builder = new StringBuilder(this.upperBound ? "? extends " : "").append(this.resolved.getName());
+        if (hasGenerics()) {
+            builder.append('<');
+            for (int i = 0; i < this.generics.length; i++) {
+                builder.append(i > 0 ? ", " : "").append(this.generics[i]);
+            }
+            builder.append('>');
+        }
+        return builder.toString();
+    }
+
+}
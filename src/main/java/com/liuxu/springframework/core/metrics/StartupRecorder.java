@@ -0,0 +1,352 @@
+package com.liuxu.springframework.core.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 启动步骤记录器：记录容器启动过程中每个步骤（扫描、合并 bean 定义、实例化、注入属性、每个后处理器、初始化方法、创建代理…）的嵌套时间线
+ * - 步骤记录在预先分配的环形缓冲区中（多个数组，不为每个步骤创建对象），超过容量时覆盖最早的步骤
+ * - 同一线程中未结束的步骤是之后开始的步骤的父步骤，形成嵌套关系；在其他线程中执行的子步骤通过 {@link #attach} 指定父步骤
+ * - 未启用时（{@link #DISABLED}）或冻结后（{@link #freeze()}，容器启动完成时）{@link #start} 直接返回，
+ * 启动之后创建的 bean 不会覆盖缓冲区中的启动步骤
+ * - 可导出为 JFR 事件（{@link StartupStepEvent}，启动时实时提交）和 JSON 火焰图（d3-flame-graph 格式）
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public final class StartupRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupRecorder.class);
+
+    /** 设置该系统属性（火焰图文件路径）后启用启动步骤记录，容器启动完成后写出火焰图 */
+    public static final String PROFILE_FILE_PROPERTY_NAME = "simple-spring.startup.profile.file";
+
+    /** 设置为 true 时同时提交 JFR 事件 */
+    public static final String JFR_PROPERTY_NAME = "simple-spring.startup.profile.jfr";
+
+    /** 默认容量（步骤数） */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** 不记录任何步骤 */
+    public static final StartupRecorder DISABLED = new StartupRecorder(0, false);
+
+    private final boolean enabled;
+
+    private final boolean jfrEnabled;
+
+    private final int mask;
+
+    /** 冻结后不再记录新的步骤 */
+    private volatile boolean frozen;
+
+    /** 下一个步骤的 id */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** 每个线程当前未结束的步骤 id */
+    private final ThreadLocal<long[]> currentStep = ThreadLocal.withInitial(() -> new long[]{-1});
+
+    // 环形缓冲区，下标为 id & mask
+    private final long[] ids;
+    private final long[] parentIds;
+    private final String[] names;
+    private final String[] beanNames;
+    private final Class<?>[] components;
+    private final long[] threadIds;
+    private final long[] startNanos;
+    private final long[] endNanos;
+    private final StartupStepEvent[] events;
+
+
+    /**
+     * @param capacity   最多保留的步骤数（向上取整为 2 的幂）
+     * @param jfrEnabled 是否同时提交 JFR 事件
+     */
+    public StartupRecorder(int capacity, boolean jfrEnabled) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity 不能小于 0");
+        }
+        int size = (capacity == 0 ? 0 : Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1);
+        this.enabled = (size > 0);
+        this.jfrEnabled = jfrEnabled && this.enabled;
+        this.mask = size - 1;
+        this.ids = new long[size];
+        this.parentIds = new long[size];
+        this.names = new String[size];
+        this.beanNames = new String[size];
+        this.components = new Class<?>[size];
+        this.threadIds = new long[size];
+        this.startNanos = new long[size];
+        this.endNanos = new long[size];
+        this.events = (this.jfrEnabled ? new StartupStepEvent[size] : null);
+        Arrays.fill(this.ids, -1);
+    }
+
+    /**
+     * 根据系统属性创建记录器
+     *
+     * @return 记录器 或 {@link #DISABLED}（未配置火焰图文件）
+     */
+    public static StartupRecorder fromSystemProperties() {
+        String file = System.getProperty(PROFILE_FILE_PROPERTY_NAME);
+        if (file == null || file.isBlank()) {
+            return DISABLED;
+        }
+        return new StartupRecorder(DEFAULT_CAPACITY, Boolean.getBoolean(JFR_PROPERTY_NAME));
+    }
+
+    /**
+     * 获取配置的火焰图文件
+     *
+     * @return 火焰图文件 或 null（未配置）
+     */
+    public static Path getProfileFile() {
+        String file = System.getProperty(PROFILE_FILE_PROPERTY_NAME);
+        return (file == null || file.isBlank() ? null : Path.of(file));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 冻结记录器：之后开始的步骤都不再记录，已记录的步骤保留（未结束的步骤仍可正常结束）
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * 当前线程未结束的步骤 id
+     *
+     * @return 步骤 id，没有未结束的步骤或未启用时为 -1
+     */
+    public long currentStep() {
+        return (this.enabled ? this.currentStep.get()[0] : -1);
+    }
+
+    /**
+     * 将当前线程之后开始的步骤挂到指定的父步骤下（在其他线程中执行属于某个步骤的任务时使用）
+     * - 必须与 {@link #detach} 成对调用，通常放在 finally 中
+     *
+     * @param parentId 父步骤 id（通常为提交任务的线程的 {@link #currentStep()}）
+     * @return 当前线程原来的步骤 id，传给 {@link #detach}
+     */
+    public long attach(long parentId) {
+        if (!this.enabled) {
+            return -1;
+        }
+        long[] current = this.currentStep.get();
+        long previous = current[0];
+        current[0] = parentId;
+        return previous;
+    }
+
+    /**
+     * 恢复 {@link #attach} 之前当前线程的步骤
+     *
+     * @param previous {@link #attach} 的返回值
+     */
+    public void detach(long previous) {
+        if (this.enabled) {
+            this.currentStep.get()[0] = previous;
+        }
+    }
+
+    /**
+     * 开始一个步骤
+     *
+     * @param name     步骤名称
+     * @param beanName 相关的 beanName 或 null
+     * @return 步骤 id，未启用或已冻结时为 -1
+     */
+    public long start(String name, String beanName) {
+        return start(name, beanName, null);
+    }
+
+    /**
+     * 开始一个步骤
+     *
+     * @param name      步骤名称
+     * @param beanName  相关的 beanName 或 null
+     * @param component 执行该步骤的组件（例如后处理器的类） 或 null
+     * @return 步骤 id，未启用或已冻结时为 -1
+     */
+    public long start(String name, String beanName, Class<?> component) {
+        if (!this.enabled || this.frozen) {
+            return -1;
+        }
+        long id = this.sequence.getAndIncrement();
+        long[] current = this.currentStep.get();
+        int slot = (int) (id & this.mask);
+        this.parentIds[slot] = current[0];
+        this.names[slot] = name;
+        this.beanNames[slot] = beanName;
+        this.components[slot] = component;
+        this.threadIds[slot] = Thread.currentThread().getId();
+        this.endNanos[slot] = 0;
+        if (this.jfrEnabled) {
+            StartupStepEvent event = new StartupStepEvent();
+            event.id = id;
+            event.parentId = current[0];
+            event.name = name;
+            event.beanName = beanName;
+            event.component = component;
+            event.begin();
+            this.events[slot] = event;
+        }
+        this.ids[slot] = id;
+        current[0] = id;
+        this.startNanos[slot] = System.nanoTime();
+        return id;
+    }
+
+    /**
+     * 结束步骤（必须与 {@link #start} 成对调用，通常放在 finally 中）
+     *
+     * @param id 步骤 id
+     */
+    public void end(long id) {
+        if (id < 0) {
+            return;
+        }
+        long endNanos = System.nanoTime();
+        int slot = (int) (id & this.mask);
+        long[] current = this.currentStep.get();
+        if (this.ids[slot] != id) {
+            // 步骤已被覆盖，无法得知父步骤
+            current[0] = -1;
+            return;
+        }
+        this.endNanos[slot] = endNanos;
+        current[0] = this.parentIds[slot];
+        if (this.jfrEnabled) {
+            StartupStepEvent event = this.events[slot];
+            this.events[slot] = null;
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * 缓冲区中所有已结束的步骤（按 id 排序）
+     */
+    public List<StartupStep> getSteps() {
+        long next = this.sequence.get();
+        List<StartupStep> steps = new ArrayList<>();
+        for (long id = Math.max(0, next - this.ids.length); id < next; id++) {
+            int slot = (int) (id & this.mask);
+            if (this.ids[slot] == id && this.endNanos[slot] != 0) {
+                steps.add(new StartupStep(id, this.parentIds[slot], this.names[slot], this.beanNames[slot],
+                        this.components[slot], this.threadIds[slot], this.startNanos[slot], this.endNanos[slot]));
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * 写出 JSON 火焰图（d3-flame-graph 格式，value 为微秒）
+     * - 同一父步骤下名称相同的步骤合并，父步骤不在缓冲区中的步骤作为顶层步骤
+     *
+     * @param file 火焰图文件
+     */
+    public void writeFlameGraph(Path file) {
+        FlameNode root = new FlameNode("startup");
+        Map<Long, FlameNode> nodes = new HashMap<>();
+        for (StartupStep step : getSteps()) {
+            FlameNode parent = nodes.getOrDefault(step.parentId(), root);
+            FlameNode node = parent.children.computeIfAbsent(step.label(), FlameNode::new);
+            node.valueNanos += step.durationNanos();
+            nodes.put(step.id(), node);
+        }
+        for (FlameNode child : root.children.values()) {
+            root.valueNanos += child.valueNanos;
+        }
+
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                root.write(writer);
+            }
+            log.info("启动火焰图已写出到 [{}]", file);
+        } catch (IOException e) {
+            // 只是启动分析，写入失败不影响容器
+            log.warn("写出启动火焰图 [{}] 失败: {}", file, e.toString());
+        }
+    }
+
+
+    /**
+     * 火焰图节点
+     */
+    private static class FlameNode {
+        private final String name;
+
+        private long valueNanos;
+
+        private final Map<String, FlameNode> children = new LinkedHashMap<>();
+
+        FlameNode(String name) {
+            this.name = name;
+        }
+
+        void write(Writer writer) throws IOException {
+            writer.write("{\"name\":");
+            writeString(writer, this.name);
+            writer.write(",\"value\":");
+            writer.write(Long.toString(this.valueNanos / 1000));
+            writer.write(",\"children\":[");
+            boolean first = true;
+            for (FlameNode child : this.children.values()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                child.write(writer);
+                first = false;
+            }
+            writer.write("]}");
+        }
+
+        private static void writeString(Writer writer, String value) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.liuxu.springframework.core.metrics;
+
+/**
+ * 启动过程中记录的一个步骤（{@link StartupRecorder#getSteps()} 导出的快照）
+ *
+ * @param id         步骤 id（递增）
+ * @param parentId   父步骤 id，没有父步骤时为 -1
+ * @param name       步骤名称，例如 {@code beans.instantiate}
+ * @param beanName   相关的 beanName 或 null
+ * @param component  执行该步骤的组件（例如后处理器的类） 或 null
+ * @param threadId   执行该步骤的线程 id
+ * @param startNanos 开始时间 {@link System#nanoTime()}
+ * @param endNanos   结束时间 {@link System#nanoTime()}
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public record StartupStep(long id, long parentId, String name, String beanName, Class<?> component, long threadId,
+                          long startNanos, long endNanos) {
+
+    /**
+     * 耗时（纳秒）
+     */
+    public long durationNanos() {
+        return this.endNanos - this.startNanos;
+    }
+
+    /**
+     * 展示用的名称：{@code 步骤名称(组件) [beanName]}
+     */
+    public String label() {
+        StringBuilder label = new StringBuilder(this.name);
+        if (this.component != null) {
+            label.append('(').append(this.component.getSimpleName()).append(')');
+        }
+        if (this.beanName != null) {
+            label.append(" [").append(this.beanName).append(']');
+        }
+        return label.toString();
+    }
+
+}
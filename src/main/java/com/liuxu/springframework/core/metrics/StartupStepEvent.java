@@ -0,0 +1,38 @@
+package com.liuxu.springframework.core.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 启动步骤的 JFR 事件，开启 JFR 录制（{@code -XX:StartFlightRecording}）后可在 JMC 中按线程查看启动时间线
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Name("com.liuxu.springframework.StartupStep")
+@Label("Startup Step")
+@Category({"Simple Spring", "Startup"})
+@Description("容器启动过程中的一个步骤")
+@StackTrace(false)
+class StartupStepEvent extends Event {
+
+    @Label("Id")
+    long id;
+
+    @Label("Parent Id")
+    long parentId;
+
+    @Label("Name")
+    String name;
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Component")
+    Class<?> component;
+
+}
@@ -19,11 +19,22 @@ public abstract class BeanFactoryUtils {
      * @return beanName
      */
     public static String generateBeanName(Class<?> clazz) {
-        String beanName;
-        if (clazz.isAnnotationPresent(Component.class) && !(beanName = clazz.getAnnotation(Component.class).value()).isBlank()) {
-            return beanName;
+        Component component = clazz.getAnnotation(Component.class);
+        return generateBeanName(component != null ? component.value() : null, clazz.getSimpleName());
+    }
+
+    /**
+     * 根据组件名称和类名生成beanName（组件扫描时使用，不需要加载类）
+     *
+     * @param componentName   {@link Component} 注解的 value，可以为空
+     * @param simpleClassName 类的简单名称
+     * @return beanName
+     */
+    public static String generateBeanName(String componentName, String simpleClassName) {
+        if (componentName != null && !componentName.isBlank()) {
+            return componentName;
         }
-        return toLowerCaseName(clazz.getSimpleName());
+        return toLowerCaseName(simpleClassName);
     }
 
 
@@ -1,7 +1,14 @@
 package com.liuxu.springframework.utils;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * bean工具类
@@ -110,4 +117,79 @@ public abstract class BeanUtils {
         throw new RuntimeException("参数数量不一致");
     }
 
+
+    /**
+     * 为无参构造函数生成实例化器，由调用方缓存后重复使用
+     * - 优先通过 LambdaMetafactory 生成直接调用构造函数的 Supplier，调用时除了实例本身没有额外的分配，可被 JIT 内联
+     * - 无法生成时退化为 MethodHandle 调用，类不可访问时退化为反射调用
+     *
+     * @param constructor 无参构造函数
+     * @param <T>         类
+     * @return 实例化器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> createInstantiator(Constructor<T> constructor) {
+        if (constructor.getParameterCount() != 0) {
+            throw new RuntimeException("只能为无参构造函数生成实例化器");
+        }
+        Class<T> clazz = constructor.getDeclaringClass();
+        MethodHandle handle;
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+            handle = lookup.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            return () -> instantiateClass(constructor);
+        }
+
+        try {
+            CallSite callSite = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), handle, MethodType.methodType(clazz));
+            return (Supplier<T>) (Supplier<?>) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            MethodHandle genericHandle = handle.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return (T) genericHandle.invokeExact();
+                } catch (RuntimeException | Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    throw new RuntimeException("调用构造函数出现异常:" + ex.getMessage(), ex);
+                }
+            };
+        }
+    }
+
+    /**
+     * 为有参构造函数生成调用器，由调用方缓存后重复使用
+     * - 通过展开参数数组的 MethodHandle 调用构造函数，不再进行访问检查
+     * - 类不可访问时退化为反射调用
+     *
+     * @param constructor 构造函数
+     * @param <T>         类
+     * @return 调用器：参数数组 -> 实例
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Function<Object[], T> createConstructorInvoker(Constructor<T> constructor) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.privateLookupIn(constructor.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            ReflectionUtils.makeAccessible(constructor);
+            return args -> instantiateClass(constructor, args);
+        }
+        return args -> {
+            try {
+                return (T) handle.invokeExact(args);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new RuntimeException("调用构造函数出现异常:" + ex.getMessage(), ex);
+            }
+        };
+    }
+
 }
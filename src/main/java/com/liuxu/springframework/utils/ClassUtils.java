@@ -4,14 +4,13 @@ import com.liuxu.springframework.beans.DefaultListableBeanFactory;
 import com.liuxu.springframework.beans.interfaces.Aware;
 import com.liuxu.springframework.beans.interfaces.BeanFactory;
 import com.liuxu.springframework.beans.interfaces.BeanFactoryAware;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
 import org.apache.commons.lang3.ObjectUtils;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.IdentityHashMap;
@@ -66,21 +65,6 @@ public abstract class ClassUtils {
 
     }
 
-    /**
-     * 查找指定包名下的所有类
-     *
-     * @param packageName 包名
-     * @return 类列表
-     */
-    public static List<Class<?>> reflectionsFindClassByPath(String packageName) {
-        try (ScanResult scan = new ClassGraph()
-                .acceptPackages(packageName)  // 只扫描这个包及其子包
-                .scan()) {
-            return scan.getAllClasses().loadClasses();
-        }
-    }
-
-
     /**
      * 返回给定方法的限定名称，由完全限定的接口/类名 + “.” + 方法名组成。
      *
@@ -129,10 +113,20 @@ public abstract class ClassUtils {
      * @return sett方法或null
      */
     public static Method tryGetConventionSettMethodByFieldName(Class<?> clazz, String fieldName, Object value) {
+        String methodName = generateSettMethodName(fieldName);
         try {
-            return clazz.getMethod(generateSettMethodName(fieldName), value.getClass());
+            return clazz.getMethod(methodName, value.getClass());
         } catch (NoSuchMethodException e) {
-            return null;
+            // 包装类型的值，再尝试基本类型参数的 setter
+            Class<?> primitiveType = primitiveWrapperTypeMap.get(value.getClass());
+            if (primitiveType == null) {
+                return null;
+            }
+            try {
+                return clazz.getMethod(methodName, primitiveType);
+            } catch (NoSuchMethodException ex) {
+                return null;
+            }
         }
     }
 
@@ -336,6 +330,38 @@ public abstract class ClassUtils {
     }
 
 
+    /**
+     * 返回给定类型的完整类型闭包：类型自身、所有父类以及直接或间接实现的所有接口（含父接口）。
+     * 凡是 {@code type.isAssignableFrom(clazz)} 成立的引用类型 type 都在闭包中（数组、基本类型除外）。
+     *
+     * @param clazz 类
+     * @return 类型闭包，按 子类 -> 父类 -> 接口 的顺序
+     */
+    public static Set<Class<?>> getTypeClosure(Class<?> clazz) {
+        Set<Class<?>> closure = new LinkedHashSet<>();
+        Class<?> current = clazz;
+        while (current != null) {
+            closure.add(current);
+            current = current.getSuperclass();
+        }
+        if (clazz.isInterface()) {
+            closure.add(Object.class);
+        }
+        for (Class<?> type : new ArrayList<>(closure)) {
+            collectInterfaces(type, closure);
+        }
+        return closure;
+    }
+
+    private static void collectInterfaces(Class<?> clazz, Set<Class<?>> closure) {
+        for (Class<?> ifc : clazz.getInterfaces()) {
+            if (closure.add(ifc)) {
+                collectInterfaces(ifc, closure);
+            }
+        }
+    }
+
+
     /**
      * 检查给定的类在给定的 ClassLoader 中是否可见。
      *
@@ -3,6 +3,10 @@ package com.liuxu.springframework.utils;
 import org.aspectj.lang.annotation.Pointcut;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -88,6 +92,54 @@ public abstract class ReflectionUtils {
         }
     }
 
+    /**
+     * 使给定构造函数可访问，必要时显式设置它可访问。
+     * {@code setAccessible(true)} 该方法仅在实际需要时调用，以避免不必要的冲突。
+     *
+     * @param constructor 要检查的构造函数
+     */
+    public static void makeAccessible(Constructor<?> constructor) {
+        if ((!Modifier.isPublic(constructor.getModifiers()) ||
+                !Modifier.isPublic(constructor.getDeclaringClass().getModifiers())) && !constructor.canAccess(null)) {
+            constructor.setAccessible(true);
+        }
+    }
+
+    /**
+     * 为字段创建赋值句柄，类型为 {@code (Object, Object)void}，可以通过 {@code invokeExact(target, value)} 调用
+     * - 创建一次后重复使用，赋值时不再进行访问检查
+     *
+     * @param field 字段（非静态）
+     * @return 赋值句柄
+     */
+    public static MethodHandle createFieldSetter(Field field) {
+        makeAccessible(field);
+        try {
+            return MethodHandles.lookup().unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("无法访问字段 " + field, e);
+        }
+    }
+
+    /**
+     * 为方法创建调用句柄，类型为 {@code (Object, Object[])Object}，可以通过 {@code invokeExact(target, args)} 调用
+     * - 创建一次后重复使用，调用时不再进行访问检查，也不会像反射一样包装异常
+     *
+     * @param method 方法（非静态）
+     * @return 调用句柄
+     */
+    public static MethodHandle createMethodInvoker(Method method) {
+        makeAccessible(method);
+        try {
+            return MethodHandles.lookup().unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException("无法访问方法 " + method, e);
+        }
+    }
+
     // 默认参数
     private static final Object[] EMPTY_OBJECT_ARRAY = {};
 
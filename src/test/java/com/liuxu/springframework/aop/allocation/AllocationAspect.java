@@ -0,0 +1,36 @@
+package com.liuxu.springframework.aop.allocation;
+
+import com.liuxu.springframework.beans.annotion.Component;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+
+/**
+ * 分配率测试的切面：add() 只有前置通知，sum() 只有环绕通知
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Aspect
+@Component
+public class AllocationAspect {
+
+    private long count;
+
+    @Before("execution(* com.liuxu.springframework.aop.allocation.AllocationService.add(..))")
+    public void beforeAdd() {
+        this.count++;
+    }
+
+    @Around("execution(* com.liuxu.springframework.aop.allocation.AllocationService.sum(..))")
+    public Object aroundSum(ProceedingJoinPoint pjp) throws Throwable {
+        this.count++;
+        return pjp.proceed();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.liuxu.springframework.aop.allocation;
+
+import com.liuxu.springframework.beans.annotion.Component;
+
+/**
+ * 被代理的服务
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Component
+public class AllocationService {
+
+    public int add(int a, int b) {
+        return a + b;
+    }
+
+    public int sum(int a, int b) {
+        return a + b;
+    }
+
+    public int plain(int a, int b) {
+        return a + b;
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.liuxu.springframework.aop.allocation;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Configuration;
+import com.liuxu.springframework.beans.annotion.EnableAspectJAutoProxy;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.IntBinaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * AOP 代理调用的分配率回归检查：每次代理调用分配的字节数（当前线程分配字节数 / 调用次数）
+ * - 上限是当前实测值（未增强 128、前置通知 128、环绕通知 256 B/op）的两倍，只用来发现明显的回退，不是精确的基准
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class ProxyInvocationAllocationTest {
+
+    private static final int WARMUP_CALLS = 500_000;
+
+    private static final int MEASURED_CALLS = 1_000_000;
+
+    private static AllocationService service;
+
+    @BeforeClass
+    public static void createProxy() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(AllocationConfig.class);
+        service = beanFactory.getBean("allocationService", AllocationService.class);
+        assertTrue("应为 CGLIB 代理", service.getClass().getName().contains("$$"));
+    }
+
+    @Test
+    public void unadvisedCall() {
+        assertBytesPerCallAtMost(256, service::plain);
+    }
+
+    @Test
+    public void beforeAdviceCall() {
+        assertBytesPerCallAtMost(256, service::add);
+    }
+
+    @Test
+    public void aroundAdviceCall() {
+        assertBytesPerCallAtMost(512, service::sum);
+    }
+
+    private static void assertBytesPerCallAtMost(long maxBytesPerCall, IntBinaryOperator call) {
+        assertEquals(3, call.applyAsInt(1, 2));
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long sink = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink += call.applyAsInt(i, 1);
+        }
+
+        long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sink += call.applyAsInt(i, 1);
+        }
+        long bytes = threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        double bytesPerCall = bytes / (double) MEASURED_CALLS;
+        assertTrue("每次调用分配 " + bytesPerCall + " 字节，超过 " + maxBytesPerCall + " (" + (sink & 1) + ")",
+                bytesPerCall <= maxBytesPerCall);
+    }
+
+
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Configuration
+    @ComponentScan
+    public static class AllocationConfig {
+    }
+
+}
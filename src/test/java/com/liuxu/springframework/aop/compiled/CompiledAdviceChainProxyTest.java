@@ -0,0 +1,61 @@
+package com.liuxu.springframework.aop.compiled;
+
+import com.liuxu.springframework.aop.autoproxy.AbstractAutoProxyCreator;
+import com.liuxu.springframework.aop.utils.AopUtils;
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Configuration;
+import com.liuxu.springframework.beans.annotion.EnableAspectJAutoProxy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 开启编译拦截链的 CGLIB 代理
+ * - 同一切面内的通知顺序与解释执行的拦截链一致：环绕通知在前置通知之外
+ * - 自动代理创建器的配置通过 bean 定义的属性值（基本类型的 setter）注入
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class CompiledAdviceChainProxyTest {
+
+    @Before
+    public void reset() {
+        CompiledAspect.CALLS.clear();
+    }
+
+    @Test
+    public void autoProxyCreatorReceivesConfigurationFromPropertyValues() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(CompiledConfig.class);
+        AbstractAutoProxyCreator creator = (AbstractAutoProxyCreator) beanFactory.getBean(AopUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        assertTrue(creator.isProxyTargetClass());
+        assertTrue(creator.isCompileAdviceChains());
+    }
+
+    @Test
+    public void compiledChainAppliesAdviceInOrder() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(CompiledConfig.class);
+        CompiledService service = beanFactory.getBean("compiledService", CompiledService.class);
+        assertTrue("应为 CGLIB 代理", service.getClass().getName().contains("$$"));
+
+        for (int i = 0; i < 3; i++) {
+            CompiledAspect.CALLS.clear();
+            assertEquals("[hello world]", service.greet("world"));
+            assertEquals(List.of("around:world", "before", "target:world"), CompiledAspect.CALLS);
+        }
+        assertEquals("plain", service.plain());
+    }
+
+
+    @EnableAspectJAutoProxy(proxyTargetClass = true, compileAdviceChains = true)
+    @Configuration
+    @ComponentScan
+    public static class CompiledConfig {
+    }
+
+}
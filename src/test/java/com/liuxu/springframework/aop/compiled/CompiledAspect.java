@@ -0,0 +1,35 @@
+package com.liuxu.springframework.aop.compiled;
+
+import com.liuxu.springframework.beans.annotion.Component;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 编译拦截链测试的切面：greet() 同时有前置通知和环绕通知
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Aspect
+@Component
+public class CompiledAspect {
+
+    static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+    @Before("execution(* com.liuxu.springframework.aop.compiled.CompiledService.greet(..))")
+    public void beforeGreet() {
+        CALLS.add("before");
+    }
+
+    @Around("execution(* com.liuxu.springframework.aop.compiled.CompiledService.greet(..))")
+    public Object aroundGreet(ProceedingJoinPoint pjp) throws Throwable {
+        CALLS.add("around:" + pjp.getArgs()[0]);
+        return "[" + pjp.proceed() + "]";
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.liuxu.springframework.aop.compiled;
+
+import com.liuxu.springframework.beans.annotion.Component;
+
+/**
+ * 编译拦截链测试的目标类
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Component("compiledService")
+public class CompiledService {
+
+    public String greet(String name) {
+        CompiledAspect.CALLS.add("target:" + name);
+        return "hello " + name;
+    }
+
+    public String plain() {
+        return "plain";
+    }
+
+}
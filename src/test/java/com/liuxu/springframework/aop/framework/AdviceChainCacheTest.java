@@ -0,0 +1,154 @@
+package com.liuxu.springframework.aop.framework;
+
+import com.liuxu.springframework.aop.MethodInterceptor;
+import com.liuxu.springframework.aop.Pointcut;
+import com.liuxu.springframework.aop.aspectj.annotation.DefaultPointcutAdvisor;
+import com.liuxu.springframework.aop.matches.ClassFilter;
+import com.liuxu.springframework.aop.matches.MethodMatcher;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 拦截链缓存：按 (方法, 目标类) 缓存、只读的拦截链、动态匹配标记、按切面清除缓存
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class AdviceChainCacheTest {
+
+    private final MethodInterceptor interceptor = mi -> mi.proceed();
+
+    private final Method foo = Service.class.getMethod("foo");
+
+    private final Method bar = Service.class.getMethod("bar");
+
+    public AdviceChainCacheTest() throws NoSuchMethodException {
+    }
+
+    @Test
+    public void chainIsCachedPerMethodAndTargetClass() {
+        AdvisedSupport advised = new AdvisedSupport();
+        advised.setAdvisors(new DefaultPointcutAdvisor(this.interceptor));
+
+        AdviceChain chain = advised.getInterceptorChain(this.foo, Service.class);
+        assertSame(chain, advised.getInterceptorChain(this.foo, Service.class));
+        assertNotSame(chain, advised.getInterceptorChain(this.foo, SubService.class));
+        assertNotSame(chain, advised.getInterceptorChain(this.bar, Service.class));
+        assertSame(chain, advised.getInterceptorChain(this.foo, Service.class));
+        assertEquals(SubService.class, advised.getInterceptorChain(this.foo, SubService.class).getTargetClass());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void chainListIsReadOnly() {
+        AdvisedSupport advised = new AdvisedSupport();
+        advised.setAdvisors(new DefaultPointcutAdvisor(this.interceptor));
+
+        List<Object> chain = advised.getInterceptorsAndDynamicInterceptionAdvice(this.foo, Service.class);
+        assertEquals(List.of(this.interceptor), chain);
+        chain.clear();
+    }
+
+    @Test
+    public void dynamicMatchersAreSplitFromInterceptors() {
+        AdvisedSupport advised = new AdvisedSupport();
+        MethodInterceptor dynamic = mi -> mi.proceed();
+        advised.setAdvisors(new DefaultPointcutAdvisor(this.interceptor),
+                new DefaultPointcutAdvisor(new MethodPointcut("foo", true), dynamic));
+
+        AdviceChain fooChain = advised.getInterceptorChain(this.foo, Service.class);
+        assertTrue(fooChain.hasDynamicMatchers());
+        assertSame(this.interceptor, fooChain.getInterceptors()[0]);
+        assertSame(dynamic, fooChain.getInterceptors()[1]);
+        assertNull(fooChain.getDynamicMatchers()[0]);
+        assertTrue(fooChain.getDynamicMatchers()[1] instanceof MethodPointcut);
+
+        AdviceChain barChain = advised.getInterceptorChain(this.bar, Service.class);
+        assertFalse(barChain.hasDynamicMatchers());
+        assertNull(barChain.getDynamicMatchers());
+        assertEquals(1, barChain.size());
+    }
+
+    @Test
+    public void addingAdvisorOnlyInvalidatesChainsItAppliesTo() {
+        AdvisedSupport advised = new AdvisedSupport();
+        advised.setAdvisors(new DefaultPointcutAdvisor(this.interceptor));
+        AdviceChain fooChain = advised.getInterceptorChain(this.foo, Service.class);
+        AdviceChain barChain = advised.getInterceptorChain(this.bar, Service.class);
+
+        MethodInterceptor fooOnly = mi -> mi.proceed();
+        DefaultPointcutAdvisor fooAdvisor = new DefaultPointcutAdvisor(new MethodPointcut("foo", false), fooOnly);
+        advised.addAdvisors(List.of(fooAdvisor));
+
+        assertSame(barChain, advised.getInterceptorChain(this.bar, Service.class));
+        AdviceChain newFooChain = advised.getInterceptorChain(this.foo, Service.class);
+        assertNotSame(fooChain, newFooChain);
+        assertEquals(List.of(this.interceptor, fooOnly), newFooChain.asList());
+
+        assertTrue(advised.removeAdvisor(fooAdvisor));
+        assertSame(barChain, advised.getInterceptorChain(this.bar, Service.class));
+        assertEquals(List.of(this.interceptor), advised.getInterceptorChain(this.foo, Service.class).asList());
+    }
+
+    @Test
+    public void changingPreFilteredClearsAllChains() {
+        AdvisedSupport advised = new AdvisedSupport();
+        advised.setAdvisors(new DefaultPointcutAdvisor(this.interceptor));
+        AdviceChain barChain = advised.getInterceptorChain(this.bar, Service.class);
+
+        advised.setPreFiltered(true);
+        assertNotSame(barChain, advised.getInterceptorChain(this.bar, Service.class));
+    }
+
+
+    public static class Service {
+        public void foo() {
+        }
+
+        public void bar() {
+        }
+    }
+
+    public static class SubService extends Service {
+    }
+
+    /**
+     * 按方法名匹配的切点
+     */
+    private record MethodPointcut(String methodName, boolean runtime) implements Pointcut, MethodMatcher {
+
+        @Override
+        public ClassFilter getClassFilter() {
+            return ClassFilter.TRUE;
+        }
+
+        @Override
+        public MethodMatcher getMethodMatcher() {
+            return this;
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return method.getName().equals(this.methodName);
+        }
+
+        @Override
+        public boolean isRuntime() {
+            return this.runtime;
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass, Object... args) {
+            return true;
+        }
+    }
+
+}
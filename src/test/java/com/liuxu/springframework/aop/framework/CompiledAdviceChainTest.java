@@ -0,0 +1,120 @@
+package com.liuxu.springframework.aop.framework;
+
+import com.liuxu.springframework.aop.MethodInterceptor;
+import com.liuxu.springframework.aop.ProxyMethodInvocation;
+import com.liuxu.springframework.aop.interceptor.MethodBeforeAdviceInterceptor;
+import com.liuxu.springframework.aop.matches.MethodMatcher;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 编译后的拦截链：前置通知直接调用、拦截器顺序、动态匹配、调用对象克隆
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class CompiledAdviceChainTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    private final Target target = new Target();
+
+    private final Method method = Target.class.getMethod("echo", String.class);
+
+    public CompiledAdviceChainTest() throws NoSuchMethodException {
+    }
+
+    @Test
+    public void leadingBeforeAdvicesAreCalledDirectly() throws Throwable {
+        CompiledAdviceChain chain = compile(before("before1"), before("before2"));
+
+        assertEquals("hi", chain.invoke(null, this.target, Target.class, new Object[]{"hi"}));
+        assertEquals(List.of("before1", "before2", "target:hi"), this.calls);
+    }
+
+    @Test
+    public void interceptorsWrapTargetInOrder() throws Throwable {
+        CompiledAdviceChain chain = compile(before("before"), around("outer"), before("inner-before"), around("inner"));
+
+        assertEquals("<outer><inner>hi</inner></outer>", chain.invoke(null, this.target, Target.class, new Object[]{"hi"}));
+        assertEquals(List.of("before", "outer", "inner-before", "inner", "target:hi"), this.calls);
+    }
+
+    @Test
+    public void dynamicMatchersAreEvaluatedPerInvocation() throws Throwable {
+        CompiledAdviceChain chain = compile(new InterceptorAndDynamicMethodMatcher(around("dynamic"), new ArgumentMatcher("match")));
+
+        assertEquals("<dynamic>match</dynamic>", chain.invoke(null, this.target, Target.class, new Object[]{"match"}));
+        assertEquals("other", chain.invoke(null, this.target, Target.class, new Object[]{"other"}));
+        assertEquals(List.of("dynamic", "target:match", "target:other"), this.calls);
+    }
+
+    @Test
+    public void clonedInvocationSharesUserAttributesAndCanProceedAgain() throws Throwable {
+        MethodInterceptor retry = mi -> {
+            ProxyMethodInvocation invocation = (ProxyMethodInvocation) mi;
+            invocation.setUserAttribute("attempt", "first");
+            ProxyMethodInvocation clone = (ProxyMethodInvocation) invocation.invocableClone("again");
+            assertSame("first", clone.getUserAttribute("attempt"));
+            clone.proceed();
+            return mi.proceed();
+        };
+        CompiledAdviceChain chain = compile(retry, around("inner"));
+
+        assertEquals("<inner>hi</inner>", chain.invoke(null, this.target, Target.class, new Object[]{"hi"}));
+        assertEquals(List.of("inner", "target:again", "inner", "target:hi"), this.calls);
+    }
+
+
+    private CompiledAdviceChain compile(Object... elements) {
+        AdviceChain chain = AdviceChain.of(this.method, Target.class, List.of(elements));
+        return CompiledAdviceChain.compile(chain, (target, args) -> ((Target) target).echo((String) args[0]));
+    }
+
+    private MethodBeforeAdviceInterceptor before(String name) {
+        return new MethodBeforeAdviceInterceptor((method, args, target) -> this.calls.add(name));
+    }
+
+    private MethodInterceptor around(String name) {
+        return mi -> {
+            this.calls.add(name);
+            return "<" + name + ">" + mi.proceed() + "</" + name + ">";
+        };
+    }
+
+
+    public class Target {
+        public String echo(String value) {
+            calls.add("target:" + value);
+            return value;
+        }
+    }
+
+    /**
+     * 第一个参数等于指定值时匹配
+     */
+    private record ArgumentMatcher(Object expected) implements MethodMatcher {
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return true;
+        }
+
+        @Override
+        public boolean isRuntime() {
+            return true;
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass, Object... args) {
+            return this.expected.equals(args[0]);
+        }
+    }
+
+}
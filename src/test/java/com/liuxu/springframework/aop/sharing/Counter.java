@@ -0,0 +1,22 @@
+package com.liuxu.springframework.aop.sharing;
+
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.Scope;
+
+/**
+ * 代理类共享测试的原型 bean，每个实例有自己的计数
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Component("counter")
+@Scope("prototype")
+public class Counter {
+
+    private int count;
+
+    public int increment() {
+        return ++this.count;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.liuxu.springframework.aop.sharing;
+
+import com.liuxu.springframework.beans.annotion.Component;
+
+/**
+ * 代理类共享测试的单例 bean，与 {@link Counter} 的代理形态不同
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Component("greeter")
+public class Greeter {
+
+    public String greet() {
+        return "hello";
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.liuxu.springframework.aop.sharing;
+
+import com.liuxu.springframework.aop.autoproxy.AbstractAutoProxyCreator;
+import com.liuxu.springframework.aop.utils.AopUtils;
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Configuration;
+import com.liuxu.springframework.beans.annotion.EnableAspectJAutoProxy;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 相同形态的 CGLIB 代理共享同一个代理类，每个代理实例仍然绑定自己的目标对象和拦截链
+ * - 代理类缓存属于容器，容器销毁后不再持有它的切面
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class ProxyClassSharingTest {
+
+    @Test
+    public void prototypeProxiesShareGeneratedClass() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(SharingConfig.class);
+        Counter first = beanFactory.getBean("counter", Counter.class);
+        Counter second = beanFactory.getBean("counter", Counter.class);
+
+        assertNotSame(first, second);
+        assertTrue("应为 CGLIB 代理", first.getClass().getName().contains("$$"));
+        assertSame(first.getClass(), second.getClass());
+        for (int i = 0; i < 20; i++) {
+            assertSame(first.getClass(), beanFactory.getBean("counter").getClass());
+        }
+    }
+
+    @Test
+    public void sharedClassKeepsPerInstanceTargets() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(SharingConfig.class);
+        Counter first = beanFactory.getBean("counter", Counter.class);
+        Counter second = beanFactory.getBean("counter", Counter.class);
+
+        assertEquals(10, first.increment());
+        assertEquals(20, first.increment());
+        assertEquals(10, second.increment());
+        assertEquals(30, first.increment());
+    }
+
+    @Test
+    public void differentShapesGetDifferentClasses() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(SharingConfig.class);
+        Greeter greeter = beanFactory.getBean("greeter", Greeter.class);
+
+        assertEquals("hello!", greeter.greet());
+        assertNotEquals(beanFactory.getBean("counter").getClass(), greeter.getClass());
+    }
+
+    @Test
+    public void destroyedFactoryIsNotPinnedByProxyClassCache() throws InterruptedException {
+        WeakReference<DefaultListableBeanFactory> reference = createAndDestroyFactory();
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull("容器销毁后仍然被代理类缓存持有", reference.get());
+    }
+
+    private static WeakReference<DefaultListableBeanFactory> createAndDestroyFactory() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(SharingConfig.class);
+        assertEquals(10, beanFactory.getBean("counter", Counter.class).increment());
+        AbstractAutoProxyCreator creator = (AbstractAutoProxyCreator) beanFactory.getBean(AopUtils.AUTO_PROXY_CREATOR_BEAN_NAME);
+        assertTrue(creator.getProxyClassCache().size() > 0);
+
+        beanFactory.destroySingletons();
+        assertEquals(0, creator.getProxyClassCache().size());
+        return new WeakReference<>(beanFactory);
+    }
+
+
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Configuration
+    @ComponentScan
+    public static class SharingConfig {
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.liuxu.springframework.aop.sharing;
+
+import com.liuxu.springframework.beans.annotion.Component;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * 代理类共享测试的切面：把返回值乘以 10，便于区分通知是否生效
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+@Aspect
+@Component
+public class SharingAspect {
+
+    @Around("execution(* com.liuxu.springframework.aop.sharing.Counter.increment(..))")
+    public Object scale(ProceedingJoinPoint pjp) throws Throwable {
+        return (Integer) pjp.proceed() * 10;
+    }
+
+    @Around("execution(* com.liuxu.springframework.aop.sharing.Greeter.greet(..))")
+    public Object shout(ProceedingJoinPoint pjp) throws Throwable {
+        return pjp.proceed() + "!";
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.liuxu.springframework.beans.async;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.PostConstruct;
+import com.liuxu.springframework.beans.annotion.Scope;
+import com.liuxu.springframework.beans.interfaces.BeanPostProcessor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 异步初始化方法：提交时机、原型 bean 的处理、懒加载单例的失败、销毁时关闭线程池
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class AsyncInitializationTest {
+
+    @Test
+    public void asyncInitRunsAfterAllAfterInitializationPostProcessors() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(AsyncConfig.class);
+        beanFactory.awaitBeanInitialization("asyncService");
+
+        AsyncService service = (AsyncService) beanFactory.getBean("asyncService");
+        assertTrue(service.initialized);
+        assertTrue(service.sawAfterInitialization);
+    }
+
+    @Test
+    public void prototypeAsyncInitRunsOnCreatingThread() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(AsyncConfig.class);
+
+        AsyncPrototype first = (AsyncPrototype) beanFactory.getBean("asyncPrototype");
+        AsyncPrototype second = (AsyncPrototype) beanFactory.getBean("asyncPrototype");
+        assertNotSame(first, second);
+        assertSame(Thread.currentThread(), first.initThread);
+        assertSame(Thread.currentThread(), second.initThread);
+    }
+
+    @Test
+    public void lazySingletonFailureIsReportedWhenAwaited() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(AsyncConfig.class);
+
+        // 启动之后创建，失败不会影响 getBean，bean 保留在单例缓存中
+        Object bean = beanFactory.getBean("lazyFailing");
+        assertSame(bean, beanFactory.getBean("lazyFailing"));
+        try {
+            beanFactory.awaitBeanInitialization("lazyFailing");
+            fail("异步初始化失败应在等待时抛出");
+        } catch (RuntimeException e) {
+            assertEquals("warm up failed on purpose", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void destroySingletonsShutsDownAsyncInitExecutor() throws InterruptedException {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(AsyncConfig.class);
+        beanFactory.awaitBeanInitialization("asyncService");
+        Thread initThread = ((AsyncService) beanFactory.getBean("asyncService")).initThread;
+
+        beanFactory.destroySingletons();
+
+        initThread.join(5_000);
+        assertFalse("线程池关闭后空闲线程应退出", initThread.isAlive());
+    }
+
+
+    @ComponentScan
+    public static class AsyncConfig {
+    }
+
+    @Component("asyncService")
+    public static class AsyncService {
+
+        volatile boolean afterInitialization;
+
+        volatile boolean sawAfterInitialization;
+
+        volatile boolean initialized;
+
+        volatile Thread initThread;
+
+        @PostConstruct(async = true)
+        public void warmUp() {
+            this.sawAfterInitialization = this.afterInitialization;
+            this.initThread = Thread.currentThread();
+            this.initialized = true;
+        }
+    }
+
+    @Component(value = "lazyFailing", lazyInit = true)
+    public static class LazyFailing {
+
+        @PostConstruct(async = true)
+        public void warmUp() {
+            throw new IllegalStateException("warm up failed on purpose");
+        }
+    }
+
+    @Component("asyncPrototype")
+    @Scope("prototype")
+    public static class AsyncPrototype {
+
+        volatile Thread initThread;
+
+        @PostConstruct(async = true)
+        public void warmUp() {
+            this.initThread = Thread.currentThread();
+        }
+    }
+
+    /**
+     * 初始化之后的回调较慢，异步初始化方法必须在其之后执行
+     */
+    @Component
+    public static class SlowAfterInitializationPostProcessor implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof AsyncService service) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                service.afterInitialization = true;
+            }
+            return bean;
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.liuxu.springframework.beans.candidate;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Primary;
+import com.liuxu.springframework.beans.beandefinition.GenericBeanDefinition;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 自动注入候选者：候选结果缓存、元素类型无法确定的注入点
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class AutowireCandidateTest {
+
+    @Test
+    public void candidateResolvedForSelfCandidateIsNotReusedForOtherBeans() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(CandidateConfig.class);
+        DecoratingGreeter decorating = (DecoratingGreeter) beanFactory.getBean("decoratingGreeter");
+        assertSame(beanFactory.getBean("basicGreeter"), decorating.delegate);
+
+        // 装饰者排除了自身，其结果不能被其他 bean 复用，其他 bean 注入 @Primary 的装饰者
+        Client client = (Client) beanFactory.getBean("client");
+        assertSame(decorating, client.greeter);
+        assertEquals(2, client.greeters.size());
+        assertTrue(client.optionalGreeter.isPresent());
+    }
+
+    @Test
+    public void rawListInjectionPointIsRejected() {
+        assertRejected(RawListHolder.class);
+    }
+
+    @Test
+    public void rawOptionalInjectionPointIsRejected() {
+        assertRejected(RawOptionalHolder.class);
+    }
+
+    @Test
+    public void wildcardListInjectionPointIsRejected() {
+        assertRejected(WildcardListHolder.class);
+    }
+
+    private static void assertRejected(Class<?> holderClass) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(CandidateConfig.class);
+        beanFactory.registryBeanDefinition("holder", new GenericBeanDefinition(holderClass));
+        try {
+            beanFactory.getBean("holder");
+            fail("元素类型无法确定的注入点应当被拒绝");
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof IllegalArgumentException)) {
+                cause = cause.getCause();
+            }
+            assertTrue(String.valueOf(e), cause != null && cause.getMessage().contains("没有指定元素类型"));
+        }
+    }
+
+
+    @ComponentScan
+    public static class CandidateConfig {
+    }
+
+    public interface Greeter {
+        String greet();
+    }
+
+    @Component("basicGreeter")
+    public static class BasicGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @Component("decoratingGreeter")
+    @Primary
+    public static class DecoratingGreeter implements Greeter {
+
+        @Autowired
+        public Greeter delegate;
+
+        @Override
+        public String greet() {
+            return "[" + this.delegate.greet() + "]";
+        }
+    }
+
+    @Component(value = "client", lazyInit = true)
+    public static class Client {
+
+        @Autowired
+        public Greeter greeter;
+
+        @Autowired
+        public List<Greeter> greeters;
+
+        @Autowired
+        public Optional<Greeter> optionalGreeter;
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static class RawListHolder {
+        @Autowired
+        public List greeters;
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static class RawOptionalHolder {
+        @Autowired
+        public Optional greeter;
+    }
+
+    public static class WildcardListHolder {
+        @Autowired
+        public List<?> greeters;
+    }
+
+}
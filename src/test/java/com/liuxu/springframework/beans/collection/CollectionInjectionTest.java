@@ -0,0 +1,143 @@
+package com.liuxu.springframework.beans.collection;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Priority;
+import com.liuxu.springframework.beans.annotion.Qualifier;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 集合、Map、Optional 类型的注入点
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class CollectionInjectionTest {
+
+    @Test
+    public void collectionsAreOrderedByPriorityThenRegistration() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(CollectionConfig.class);
+        Consumer consumer = (Consumer) beanFactory.getBean("consumer");
+
+        List<String> names = consumer.handlers.stream().map(Handler::name).toList();
+        assertEquals(List.of("high", "low", "plain"), names);
+        assertEquals(List.of("high", "low", "plain"), consumer.handlerSet.stream().map(Handler::name).toList());
+        assertEquals(List.of("high", "low", "plain"), new ArrayList<>(consumer.handlerCollection).stream().map(Handler::name).toList());
+        assertEquals(List.of("highHandler", "lowHandler", "plainHandler"), new ArrayList<>(consumer.handlerMap.keySet()));
+        assertSame(beanFactory.getBean("highHandler"), consumer.handlerMap.get("highHandler"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void injectedCollectionsAreImmutable() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(CollectionConfig.class);
+        Consumer consumer = (Consumer) beanFactory.getBean("consumer");
+        consumer.handlers.clear();
+    }
+
+    @Test
+    public void optionalAndMissingCollections() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(CollectionConfig.class);
+        Consumer consumer = (Consumer) beanFactory.getBean("consumer");
+
+        assertTrue(consumer.qualifiedHandler.isPresent());
+        assertEquals("low", consumer.qualifiedHandler.get().name());
+        assertFalse(consumer.missing.isPresent());
+        assertNull(consumer.missingList);
+    }
+
+    @Test
+    public void injectionPointsShareOrderedCandidates() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(CollectionConfig.class);
+        Consumer consumer = (Consumer) beanFactory.getBean("consumer");
+        OtherConsumer other = (OtherConsumer) beanFactory.getBean("otherConsumer");
+        assertEquals(consumer.handlers, other.handlers);
+    }
+
+
+    @ComponentScan
+    public static class CollectionConfig {
+    }
+
+    public interface Handler {
+        String name();
+    }
+
+    /** 没有实现的类型 */
+    public interface Missing {
+    }
+
+    @Component("plainHandler")
+    public static class PlainHandler implements Handler {
+        @Override
+        public String name() {
+            return "plain";
+        }
+    }
+
+    @Component("lowHandler")
+    @Priority(10)
+    public static class LowHandler implements Handler {
+        @Override
+        public String name() {
+            return "low";
+        }
+    }
+
+    @Component("highHandler")
+    @Priority(1)
+    public static class HighHandler implements Handler {
+        @Override
+        public String name() {
+            return "high";
+        }
+    }
+
+    @Component("consumer")
+    public static class Consumer {
+
+        @Autowired
+        public List<Handler> handlers;
+
+        @Autowired
+        public Set<Handler> handlerSet;
+
+        @Autowired
+        public Collection<Handler> handlerCollection;
+
+        @Autowired
+        public Map<String, Handler> handlerMap;
+
+        @Autowired
+        @Qualifier("lowHandler")
+        public Optional<Handler> qualifiedHandler;
+
+        @Autowired
+        public Optional<Missing> missing;
+
+        @Autowired(required = false)
+        public List<Missing> missingList;
+    }
+
+    @Component("otherConsumer")
+    public static class OtherConsumer {
+
+        @Autowired
+        public List<Handler> handlers;
+    }
+
+}
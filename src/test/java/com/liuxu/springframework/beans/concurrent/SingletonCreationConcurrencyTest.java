@@ -0,0 +1,146 @@
+package com.liuxu.springframework.beans.concurrent;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.PostConstruct;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 单例按 bean 加锁创建：不同 bean 的创建互不阻塞，同一个 bean 只创建一次，循环引用仍可解决
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class SingletonCreationConcurrencyTest {
+
+    @Before
+    public void reset() {
+        SlowBean.started = new CountDownLatch(1);
+        SlowBean.release = new CountDownLatch(1);
+        CountedBean.constructed.set(0);
+    }
+
+    @Test
+    public void slowInitializationDoesNotBlockOtherBeans() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ConcurrencyConfig.class);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> slow = executor.submit(() -> beanFactory.getBean("slowBean"));
+            assertTrue(SlowBean.started.await(5, TimeUnit.SECONDS));
+
+            // 慢 bean 的初始化方法未返回时，其他 bean 可以正常创建
+            Future<Object> fast = executor.submit(() -> beanFactory.getBean("fastBean"));
+            assertTrue(fast.get(5, TimeUnit.SECONDS) instanceof FastBean);
+            assertFalse(slow.isDone());
+
+            SlowBean.release.countDown();
+            assertTrue(slow.get(5, TimeUnit.SECONDS) instanceof SlowBean);
+        } finally {
+            SlowBean.release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void concurrentLookupsCreateSingletonOnce() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ConcurrencyConfig.class);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return beanFactory.getBean("countedBean");
+                }));
+            }
+            start.countDown();
+            Object first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<Object> future : futures) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, CountedBean.constructed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void circularReferencesAreResolvedThroughEarlyReferences() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ConcurrencyConfig.class);
+        CircularA a = (CircularA) beanFactory.getBean("circularA");
+        CircularB b = (CircularB) beanFactory.getBean("circularB");
+        assertSame(b, a.b);
+        assertSame(a, b.a);
+    }
+
+
+    @ComponentScan
+    public static class ConcurrencyConfig {
+    }
+
+    @Component(value = "slowBean", lazyInit = true)
+    public static class SlowBean {
+
+        static volatile CountDownLatch started;
+
+        static volatile CountDownLatch release;
+
+        @PostConstruct
+        public void init() throws InterruptedException {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Component(value = "fastBean", lazyInit = true)
+    public static class FastBean {
+    }
+
+    @Component(value = "countedBean", lazyInit = true)
+    public static class CountedBean {
+
+        static final AtomicInteger constructed = new AtomicInteger();
+
+        public CountedBean() {
+            constructed.incrementAndGet();
+        }
+
+        @PostConstruct
+        public void init() throws InterruptedException {
+            // 放大并发创建的时间窗口
+            Thread.sleep(50);
+        }
+    }
+
+    @Component(value = "circularA", lazyInit = true)
+    public static class CircularA {
+        @Autowired
+        public CircularB b;
+    }
+
+    @Component(value = "circularB", lazyInit = true)
+    public static class CircularB {
+        @Autowired
+        public CircularA a;
+    }
+
+}
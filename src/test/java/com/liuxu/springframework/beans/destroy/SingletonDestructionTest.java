@@ -0,0 +1,85 @@
+package com.liuxu.springframework.beans.destroy;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按依赖顺序销毁单例
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class SingletonDestructionTest {
+
+    private final List<String> destroyed = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void dependentBeansAreDestroyedFirst() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(EmptyConfig.class);
+        register(beanFactory, "a", "b", "c", "unrelated");
+        // a 依赖 b，b 依赖 c
+        beanFactory.registerDependentBean("b", "a");
+        beanFactory.registerDependentBean("c", "b");
+
+        beanFactory.close();
+
+        assertEquals(4, this.destroyed.size());
+        assertTrue(this.destroyed.indexOf("a") < this.destroyed.indexOf("b"));
+        assertTrue(this.destroyed.indexOf("b") < this.destroyed.indexOf("c"));
+    }
+
+    @Test
+    public void failedDestructionStillDestroysItsDependencies() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(EmptyConfig.class);
+        beanFactory.registerDisposableBean("a", () -> {
+            this.destroyed.add("a");
+            throw new AssertionError("销毁失败");
+        });
+        register(beanFactory, "b", "c");
+        beanFactory.registerDependentBean("b", "a");
+        beanFactory.registerDependentBean("c", "b");
+
+        beanFactory.close();
+
+        assertEquals(List.of("a", "b", "c"), this.destroyed);
+    }
+
+    @Test
+    public void destroysLongDependencyChainWithoutRecursion() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(EmptyConfig.class);
+        int length = 50_000;
+        for (int i = 0; i < length; i++) {
+            register(beanFactory, "bean" + i);
+            if (i > 0) {
+                // bean(i) 依赖 bean(i-1)
+                beanFactory.registerDependentBean("bean" + (i - 1), "bean" + i);
+            }
+        }
+
+        beanFactory.destroySingleton("bean0");
+
+        assertEquals(length, this.destroyed.size());
+        assertEquals("bean" + (length - 1), this.destroyed.get(0));
+        assertEquals("bean0", this.destroyed.get(length - 1));
+    }
+
+    private void register(DefaultListableBeanFactory beanFactory, String... beanNames) {
+        for (String beanName : beanNames) {
+            beanFactory.registerDisposableBean(beanName, () -> this.destroyed.add(beanName));
+        }
+    }
+
+
+    @ComponentScan
+    public static class EmptyConfig {
+    }
+
+}
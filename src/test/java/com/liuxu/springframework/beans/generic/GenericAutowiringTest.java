@@ -0,0 +1,83 @@
+package com.liuxu.springframework.beans.generic;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 按泛型参数区分候选 bean
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class GenericAutowiringTest {
+
+    @Test
+    public void injectionPointsAreMatchedByGenerics() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(GenericConfig.class);
+        Service service = (Service) beanFactory.getBean("service");
+
+        assertSame(beanFactory.getBean("orderRepository"), service.orders);
+        assertSame(beanFactory.getBean("userRepository"), service.users);
+        assertSame(beanFactory.getBean("userRepository"), service.constructorUsers);
+        assertEquals(1, service.allOrders.size());
+        assertSame(beanFactory.getBean("orderRepository"), service.allOrders.get(0));
+        assertEquals(2, service.allRepositories.size());
+    }
+
+
+    @ComponentScan
+    public static class GenericConfig {
+    }
+
+    public interface Repository<T> {
+    }
+
+    public static class Order {
+    }
+
+    public static class User {
+    }
+
+    public abstract static class AbstractRepository<T> implements Repository<T> {
+    }
+
+    @Component("orderRepository")
+    public static class OrderRepository extends AbstractRepository<Order> {
+    }
+
+    @Component("userRepository")
+    public static class UserRepository implements Repository<User> {
+    }
+
+    @Component("service")
+    public static class Service {
+
+        @Autowired
+        public Repository<Order> orders;
+
+        @Autowired
+        public Repository<User> users;
+
+        @Autowired
+        public List<Repository<Order>> allOrders;
+
+        @Autowired
+        public List<Repository<?>> allRepositories;
+
+        public final Repository<User> constructorUsers;
+
+        @Autowired
+        public Service(Repository<User> constructorUsers) {
+            this.constructorUsers = constructorUsers;
+        }
+    }
+
+}
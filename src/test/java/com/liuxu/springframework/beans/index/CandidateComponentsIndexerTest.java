@@ -0,0 +1,276 @@
+package com.liuxu.springframework.beans.index;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.beandefinition.ScannedGenericBeanDefinition;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link CandidateComponentsIndexer} 生成的组件索引
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class CandidateComponentsIndexerTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void indexesDirectAndMetaAnnotatedComponents() throws Exception {
+        Path classes = compileSample();
+        Properties index = loadIndex(classes);
+
+        CandidateComponentsIndex.Entry direct = entry(index, "sample.DirectService");
+        assertTrue(direct.lazyInit());
+        assertFalse(direct.primary());
+        CandidateComponentsIndex.Entry custom = entry(index, "sample.CustomService");
+        assertTrue(custom.primary());
+        assertTrue(custom.annotationNames().containsAll(Set.of("sample.Service", "com.liuxu.springframework.beans.annotion.Primary")));
+        CandidateComponentsIndex.Entry scoped = entry(index, "sample.ScopedService");
+        assertEquals("scoped", scoped.componentName());
+        assertEquals("prototype", scoped.scope());
+        assertEquals(Set.of("sample.ScopedService", "sample.AbstractService", "java.lang.Runnable", "java.lang.Object"), scoped.typeNames());
+        assertEquals("Inner", entry(index, "sample.Outer$Inner").simpleClassName());
+        assertTrue(index.containsKey("sample.NestedStereotypeService"));
+        assertTrue(index.containsKey("sample.AppConfig"));
+        assertFalse(index.containsKey("sample.Plain"));
+        assertFalse(index.containsKey("sample.AbstractService"));
+        assertFalse(index.containsKey("sample.Service"));
+        assertFalse(index.containsKey("sample.Service$Stereotype"));
+        assertEquals("true", index.getProperty(CandidateComponentsIndex.COMPLETE_KEY));
+    }
+
+    @Test
+    public void incrementalCompileDropsTypesThatAreNoLongerComponents() throws Exception {
+        Path classes = compileSample();
+        // CustomService 的源文件和类文件都已删除
+        Files.delete(classes.resolve("sample/CustomService.class"));
+
+        Path sources = this.temporaryFolder.newFolder("changed", "sample").toPath();
+        write(sources, "DirectService", """
+                package sample;
+                public class DirectService {
+                }
+                """);
+        compile(sources, classes, classes, true);
+
+        Properties index = loadIndex(classes);
+        assertFalse(index.containsKey("sample.DirectService"));
+        assertFalse(index.containsKey("sample.CustomService"));
+        assertTrue(index.containsKey("sample.NestedStereotypeService"));
+        assertTrue(index.containsKey("sample.Outer$Inner"));
+        assertEquals("true", index.getProperty(CandidateComponentsIndex.COMPLETE_KEY));
+    }
+
+    @Test
+    public void beanFactoryScansPackagesWithComponentsOutsideTheIndex() throws Exception {
+        Path classes = compileSample();
+        // 同一个包中没有启用处理器编译的组件（例如来自另一个 jar）
+        Path sources = this.temporaryFolder.newFolder("extra", "sample").toPath();
+        write(sources, "ExtraService", """
+                package sample;
+                @com.liuxu.springframework.beans.annotion.Component
+                public class ExtraService {
+                }
+                """);
+        Path extraClasses = this.temporaryFolder.newFolder("extra-classes").toPath();
+        compile(sources, extraClasses, classes, false);
+
+        URL[] urls = {classes.toUri().toURL(), extraClasses.toUri().toURL()};
+        try (URLClassLoader classLoader = new URLClassLoader(urls, getClass().getClassLoader())) {
+            CandidateComponentsIndex index = CandidateComponentsIndex.loadIndex(classLoader);
+            assertFalse(index.isComplete("sample"));
+
+            // 扫描类路径使用容器的类加载器（默认为线程上下文类加载器）
+            Thread thread = Thread.currentThread();
+            ClassLoader previous = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(classLoader.loadClass("sample.AppConfig"));
+                assertNotNull(beanFactory.getBean("extraService"));
+                assertNotNull(beanFactory.getBean("customService"));
+            } finally {
+                thread.setContextClassLoader(previous);
+            }
+        }
+    }
+
+    @Test
+    public void beanFactoryRegistersMetaAnnotatedComponentsFromIndex() throws Exception {
+        Path classes = compileSample();
+        Set<String> loadedClasses = ConcurrentHashMap.newKeySet();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                loadedClasses.add(name);
+                return super.loadClass(name, resolve);
+            }
+        }) {
+            assertTrue(CandidateComponentsIndex.loadIndex(classLoader).isComplete("sample"));
+            DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(classLoader.loadClass("sample.AppConfig"));
+
+            // 按类名注册，懒加载的组件在创建之前不加载类
+            assertTrue(beanFactory.getBeanDefinition("directService") instanceof ScannedGenericBeanDefinition);
+            assertFalse(loadedClasses.contains("sample.DirectService"));
+            assertArrayEquals(new String[]{"scoped"}, beanFactory.getBeanNamesForType(Runnable.class));
+            assertNotSame(beanFactory.getBean("scoped"), beanFactory.getBean("scoped"));
+
+            assertNotNull(beanFactory.getBean("customService"));
+            assertNotNull(beanFactory.getBean("nestedStereotypeService"));
+            assertNotNull(beanFactory.getBean("directService"));
+            assertTrue(beanFactory.getBeanDefinition("directService").isLazyInit());
+            assertTrue(beanFactory.getBeanDefinition("customService").isPrimary());
+            assertFalse(beanFactory.containsBeanDefinition("plain"));
+        }
+    }
+
+    /**
+     * 启用组件索引处理器编译示例代码
+     *
+     * @return 编译输出目录
+     */
+    private Path compileSample() throws IOException {
+        Path sources = this.temporaryFolder.newFolder("src", "sample").toPath();
+        write(sources, "Service", """
+                package sample;
+                import java.lang.annotation.*;
+                import com.liuxu.springframework.beans.annotion.Component;
+                @Retention(RetentionPolicy.RUNTIME)
+                @Target(ElementType.TYPE)
+                @Component
+                public @interface Service {
+                    @Retention(RetentionPolicy.RUNTIME)
+                    @Target(ElementType.TYPE)
+                    @Service
+                    @interface Stereotype {
+                    }
+                }
+                """);
+        write(sources, "DirectService", """
+                package sample;
+                @com.liuxu.springframework.beans.annotion.Component(lazyInit = true)
+                public class DirectService {
+                }
+                """);
+        write(sources, "CustomService", """
+                package sample;
+                @Service
+                @com.liuxu.springframework.beans.annotion.Primary
+                public class CustomService {
+                }
+                """);
+        write(sources, "NestedStereotypeService", """
+                package sample;
+                @Service.Stereotype
+                public class NestedStereotypeService {
+                }
+                """);
+        write(sources, "AbstractService", """
+                package sample;
+                @Service
+                public abstract class AbstractService {
+                }
+                """);
+        write(sources, "ScopedService", """
+                package sample;
+                @com.liuxu.springframework.beans.annotion.Component("scoped")
+                @com.liuxu.springframework.beans.annotion.Scope("prototype")
+                public class ScopedService extends AbstractService implements Runnable {
+                    public void run() {
+                    }
+                }
+                """);
+        write(sources, "Outer", """
+                package sample;
+                public class Outer {
+                    @Service
+                    public static class Inner {
+                    }
+                }
+                """);
+        write(sources, "Plain", """
+                package sample;
+                @Deprecated
+                public class Plain {
+                }
+                """);
+        write(sources, "AppConfig", """
+                package sample;
+                @com.liuxu.springframework.beans.annotion.Configuration
+                @com.liuxu.springframework.beans.annotion.ComponentScan
+                public class AppConfig {
+                }
+                """);
+
+        Path classes = this.temporaryFolder.newFolder("classes").toPath();
+        compile(sources, classes, null, true);
+        return classes;
+    }
+
+    /**
+     * 编译目录下的源文件
+     *
+     * @param sources   源文件目录
+     * @param classes   输出目录
+     * @param classpath 额外的类路径 或 null
+     * @param indexing  是否启用组件索引处理器
+     */
+    private static void compile(Path sources, Path classes, Path classpath, boolean indexing) throws IOException {
+        String frameworkClasses = new File(CandidateComponentsIndexer.class.getProtectionDomain().getCodeSource().getLocation().getPath()).getPath();
+        String fullClasspath = (classpath != null ? frameworkClasses + File.pathSeparator + classpath : frameworkClasses);
+        List<String> arguments = new ArrayList<>(List.of("-d", classes.toString(), "-classpath", fullClasspath, "-encoding", "UTF-8"));
+        if (indexing) {
+            arguments.addAll(List.of("-processor", CandidateComponentsIndexer.class.getName()));
+        } else {
+            arguments.add("-proc:none");
+        }
+        try (var files = Files.list(sources)) {
+            files.forEach(file -> arguments.add(file.toString()));
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals("编译示例代码失败", 0, compiler.run(null, null, null, arguments.toArray(String[]::new)));
+    }
+
+    private static CandidateComponentsIndex.Entry entry(Properties index, String className) {
+        assertTrue(className + " 不在索引中", index.containsKey(className));
+        return CandidateComponentsIndex.Entry.parse(className, index.getProperty(className));
+    }
+
+    private static Properties loadIndex(Path classes) throws IOException {
+        Properties index = new Properties();
+        try (InputStream in = Files.newInputStream(classes.resolve(CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION))) {
+            index.load(in);
+        }
+        return index;
+    }
+
+    private static void write(Path directory, String className, String source) throws IOException {
+        Files.writeString(directory.resolve(className + ".java"), source, StandardCharsets.UTF_8);
+    }
+
+}
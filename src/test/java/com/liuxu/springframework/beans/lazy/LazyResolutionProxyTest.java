@@ -0,0 +1,118 @@
+package com.liuxu.springframework.beans.lazy;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Lazy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link Lazy} 注入点的延迟解析代理
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class LazyResolutionProxyTest {
+
+    @Before
+    public void reset() {
+        Expensive.constructed.set(0);
+        NoDefaultConstructor.constructed.set(0);
+    }
+
+    @Test
+    public void classTypedLazyProxyDoesNotRunTargetConstructorUntilFirstCall() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(LazyConfig.class);
+        Holder holder = (Holder) beanFactory.getBean("holder");
+
+        assertEquals(0, Expensive.constructed.get());
+        assertEquals(0, NoDefaultConstructor.constructed.get());
+
+        assertEquals("expensive", holder.expensive.hello());
+        assertEquals(1, Expensive.constructed.get());
+        assertEquals("name", holder.noDefaultConstructor.name());
+        assertEquals(1, NoDefaultConstructor.constructed.get());
+
+        // 后续调用使用同一个目标对象
+        holder.expensive.hello();
+        assertEquals(1, Expensive.constructed.get());
+        assertNotSame(beanFactory.getBean("expensive"), holder.expensive);
+    }
+
+    @Test
+    public void interfaceTypedLazyProxyResolvesSameSingleton() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(LazyConfig.class);
+        Holder holder = (Holder) beanFactory.getBean("holder");
+
+        assertEquals(0, Expensive.constructed.get());
+        assertEquals("expensive", holder.greeting.hello());
+        assertEquals(1, Expensive.constructed.get());
+        assertSame(Expensive.class, beanFactory.getBean("expensive").getClass());
+    }
+
+
+    @ComponentScan
+    public static class LazyConfig {
+    }
+
+    public interface Greeting {
+        String hello();
+    }
+
+    @Component(lazyInit = true)
+    public static class Expensive implements Greeting {
+
+        static final AtomicInteger constructed = new AtomicInteger();
+
+        public Expensive() {
+            constructed.incrementAndGet();
+        }
+
+        @Override
+        public String hello() {
+            return "expensive";
+        }
+    }
+
+    @Component(lazyInit = true)
+    public static class NoDefaultConstructor {
+
+        static final AtomicInteger constructed = new AtomicInteger();
+
+        private final Greeting greeting;
+
+        public NoDefaultConstructor(Greeting greeting) {
+            this.greeting = greeting;
+            constructed.incrementAndGet();
+        }
+
+        public String name() {
+            return (this.greeting != null ? "name" : null);
+        }
+    }
+
+    @Component
+    public static class Holder {
+
+        @Autowired
+        @Lazy
+        public Expensive expensive;
+
+        @Autowired
+        @Lazy
+        public Greeting greeting;
+
+        @Autowired
+        @Lazy
+        public NoDefaultConstructor noDefaultConstructor;
+    }
+
+}
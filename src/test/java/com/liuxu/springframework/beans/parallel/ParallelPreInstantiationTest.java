@@ -0,0 +1,210 @@
+package com.liuxu.springframework.beans.parallel;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.interfaces.SmartInitializingSingleton;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 并行预实例化单例：依赖先于依赖它的 bean 创建、循环依赖回退到当前线程、创建失败抛给调用方、
+ * SmartInitializingSingleton 在全部 bean 创建完成后回调
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class ParallelPreInstantiationTest {
+
+    /** 构造完成的 bean（按顺序） */
+    static final List<String> CONSTRUCTED = new CopyOnWriteArrayList<>();
+
+    /** beanName -> 构造 bean 的线程 */
+    static final Map<String, Thread> THREADS = new ConcurrentHashMap<>();
+
+    @Before
+    public void reset() {
+        CONSTRUCTED.clear();
+        THREADS.clear();
+        Callback.constructedWhenCalled = null;
+    }
+
+    @Test
+    public void dependenciesAreCreatedBeforeDependents() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(ParallelConfig.class, true);
+
+        // 按注册顺序（类名）串行创建时 Alpha 会最先构造
+        assertTrue(CONSTRUCTED.indexOf("gamma") < CONSTRUCTED.indexOf("beta"));
+        assertTrue(CONSTRUCTED.indexOf("beta") < CONSTRUCTED.indexOf("alpha"));
+        Alpha alpha = beanFactory.getBean("alpha", Alpha.class);
+        assertSame(beanFactory.getBean("beta"), alpha.beta);
+        assertSame(beanFactory.getBean("gamma"), alpha.beta.gamma);
+        assertNotSame("应在线程池中创建", Thread.currentThread(), THREADS.get("alpha"));
+    }
+
+    @Test
+    public void cyclicFieldInjectionFallsBackToCallingThread() {
+        DefaultListableBeanFactory beanFactory = DefaultListableBeanFactory.run(ParallelConfig.class, true);
+
+        CycleA cycleA = beanFactory.getBean("cycleA", CycleA.class);
+        CycleB cycleB = beanFactory.getBean("cycleB", CycleB.class);
+        assertSame(cycleB, cycleA.cycleB);
+        assertSame(cycleA, cycleB.cycleA);
+        assertSame(Thread.currentThread(), THREADS.get("cycleA"));
+        assertSame(Thread.currentThread(), THREADS.get("cycleB"));
+    }
+
+    @Test
+    public void smartInitializingSingletonRunsAfterAllBeansAreCreated() {
+        DefaultListableBeanFactory.run(ParallelConfig.class, true);
+
+        List<String> constructed = Callback.constructedWhenCalled;
+        assertEquals(List.copyOf(CONSTRUCTED), constructed);
+        assertTrue(constructed.containsAll(List.of("alpha", "beta", "gamma", "cycleA", "cycleB", "slow", "callback")));
+    }
+
+    @Test(timeout = 10_000)
+    public void creationFailureReachesCaller() {
+        try {
+            DefaultListableBeanFactory.run(FailingConfig.class, true);
+            fail("创建失败应抛给调用方");
+        } catch (RuntimeException e) {
+            assertTrue(hasCause(e, "broken on purpose"));
+        }
+        assertFalse(CONSTRUCTED.contains("dependsOnBroken"));
+    }
+
+    private static boolean hasCause(Throwable ex, String message) {
+        for (Throwable current = ex; current != null; current = current.getCause()) {
+            if (message.equals(current.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void constructed(String beanName) {
+        CONSTRUCTED.add(beanName);
+        THREADS.put(beanName, Thread.currentThread());
+    }
+
+
+    @ComponentScan(excludeFilters = @ComponentScan.Filter(type = ComponentScan.FilterType.ASSIGNABLE_TYPE,
+            classes = {Broken.class, DependsOnBroken.class, FailingConfig.class}))
+    public static class ParallelConfig {
+    }
+
+    @ComponentScan(excludeFilters = @ComponentScan.Filter(type = ComponentScan.FilterType.ASSIGNABLE_TYPE,
+            classes = {ParallelConfig.class, Callback.class, CycleA.class, CycleB.class}))
+    public static class FailingConfig {
+    }
+
+    @Component("alpha")
+    public static class Alpha {
+
+        @Autowired
+        Beta beta;
+
+        public Alpha() {
+            constructed("alpha");
+        }
+    }
+
+    @Component("beta")
+    public static class Beta {
+
+        @Autowired
+        Gamma gamma;
+
+        public Beta() {
+            constructed("beta");
+        }
+    }
+
+    @Component("gamma")
+    public static class Gamma {
+
+        public Gamma() {
+            constructed("gamma");
+        }
+    }
+
+    @Component("cycleA")
+    public static class CycleA {
+
+        @Autowired
+        CycleB cycleB;
+
+        public CycleA() {
+            constructed("cycleA");
+        }
+    }
+
+    @Component("cycleB")
+    public static class CycleB {
+
+        @Autowired
+        CycleA cycleA;
+
+        public CycleB() {
+            constructed("cycleB");
+        }
+    }
+
+    @Component("slow")
+    public static class Slow {
+
+        public Slow() throws InterruptedException {
+            Thread.sleep(200);
+            constructed("slow");
+        }
+    }
+
+    @Component("callback")
+    public static class Callback implements SmartInitializingSingleton {
+
+        static volatile List<String> constructedWhenCalled;
+
+        public Callback() {
+            constructed("callback");
+        }
+
+        @Override
+        public void afterSingletonsInstantiated() {
+            constructedWhenCalled = List.copyOf(CONSTRUCTED);
+        }
+    }
+
+    @Component("broken")
+    public static class Broken {
+
+        public Broken() {
+            throw new IllegalStateException("broken on purpose");
+        }
+    }
+
+    @Component("dependsOnBroken")
+    public static class DependsOnBroken {
+
+        @Autowired
+        Broken broken;
+
+        public DependsOnBroken() {
+            constructed("dependsOnBroken");
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.liuxu.springframework.beans.scan;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Date;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ComponentScan} 的类型过滤器，父类型在扫描包之外时同样可以匹配
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class ComponentScanFilterTest {
+
+    @Test
+    public void assignableTypeFiltersSeeSupertypesOutsideScannedPackages() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(FilterConfig.class);
+
+        // AbstractList 在扫描包之外，Collection 只能通过它的类型闭包得知
+        assertTrue(beanFactory.containsBeanDefinition("names"));
+        // Date 实现了 Serializable
+        assertFalse(beanFactory.containsBeanDefinition("timestamp"));
+        assertTrue(beanFactory.containsBeanDefinition("plainComponent"));
+        assertFalse(beanFactory.containsBeanDefinition("notAComponent"));
+    }
+
+
+    @ComponentScan(
+            includeFilters = @ComponentScan.Filter(type = ComponentScan.FilterType.ASSIGNABLE_TYPE, classes = Collection.class),
+            excludeFilters = @ComponentScan.Filter(type = ComponentScan.FilterType.ASSIGNABLE_TYPE, classes = Serializable.class))
+    public static class FilterConfig {
+    }
+
+    public static class Names extends AbstractList<String> {
+
+        @Override
+        public String get(int index) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
+
+    @Component
+    public static class Timestamp extends Date {
+    }
+
+    @Component
+    public static class PlainComponent {
+    }
+
+    public static class NotAComponent {
+    }
+
+}
@@ -0,0 +1,216 @@
+package com.liuxu.springframework.beans.scope;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.PostConstruct;
+import com.liuxu.springframework.beans.annotion.PreDestroy;
+import com.liuxu.springframework.beans.annotion.Scope;
+import com.liuxu.springframework.beans.interfaces.ObjectFactory;
+import com.liuxu.springframework.beans.support.SimpleThreadScope;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 原型作用域和自定义作用域
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class BeanScopeTest {
+
+    @Before
+    public void reset() {
+        PrototypeBean.initialized.set(0);
+        PrototypeBean.destroyed.set(0);
+        ConversationBean.destroyed.set(0);
+    }
+
+    @Test
+    public void prototypeCreatesFullyInitializedInstanceEachTime() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ScopeConfig.class);
+        PrototypeBean first = (PrototypeBean) beanFactory.getBean("prototypeBean");
+        PrototypeBean second = (PrototypeBean) beanFactory.getBean("prototypeBean");
+
+        assertNotSame(first, second);
+        assertSame(beanFactory.getBean("sharedDependency"), first.dependency);
+        assertSame(first.dependency, second.dependency);
+        assertEquals(2, PrototypeBean.initialized.get());
+
+        // 原型 bean 不由容器销毁
+        beanFactory.destroySingletons();
+        assertEquals(0, PrototypeBean.destroyed.get());
+    }
+
+    @Test
+    public void threadScopeKeepsOneInstancePerThread() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ScopeConfig.class);
+        beanFactory.registerScope(SimpleThreadScope.SCOPE_THREAD, new SimpleThreadScope());
+
+        Object first = beanFactory.getBean("threadBean");
+        assertSame(first, beanFactory.getBean("threadBean"));
+        Object other = CompletableFuture.supplyAsync(() -> beanFactory.getBean("threadBean")).get();
+        assertNotSame(first, other);
+    }
+
+    @Test
+    public void customScopeStoresInstancesAndRunsDestructionCallbacks() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ScopeConfig.class);
+        ConversationScope scope = new ConversationScope();
+        beanFactory.registerScope(ConversationScope.NAME, scope);
+
+        Object first = beanFactory.getBean("conversationBean");
+        assertSame(first, beanFactory.getBean("conversationBean"));
+
+        scope.end();
+        assertEquals(1, ConversationBean.destroyed.get());
+        assertNotSame(first, beanFactory.getBean("conversationBean"));
+    }
+
+    @Test
+    public void unregisteredScopeIsRejected() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ScopeConfig.class);
+        try {
+            beanFactory.getBean("conversationBean");
+            fail("作用域没有注册时应当失败");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().contains(ConversationScope.NAME));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void builtInScopesCannotBeReplaced() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ScopeConfig.class);
+        beanFactory.registerScope("prototype", new ConversationScope());
+    }
+
+    @Test
+    public void circularPrototypesAreDetected() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ScopeConfig.class);
+        try {
+            beanFactory.getBean("circularPrototypeA");
+            fail("原型 bean 之间的循环依赖应当失败");
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause != null && (cause.getMessage() == null || !cause.getMessage().contains("循环依赖"))) {
+                cause = cause.getCause();
+            }
+            assertTrue(String.valueOf(e), cause != null);
+        }
+    }
+
+
+    @ComponentScan
+    public static class ScopeConfig {
+    }
+
+    @Component("sharedDependency")
+    public static class SharedDependency {
+    }
+
+    @Component("prototypeBean")
+    @Scope("prototype")
+    public static class PrototypeBean {
+
+        static final AtomicInteger initialized = new AtomicInteger();
+
+        static final AtomicInteger destroyed = new AtomicInteger();
+
+        @Autowired
+        public SharedDependency dependency;
+
+        @PostConstruct
+        public void init() {
+            initialized.incrementAndGet();
+        }
+
+        @PreDestroy
+        public void destroy() {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @Component("threadBean")
+    @Scope(SimpleThreadScope.SCOPE_THREAD)
+    public static class ThreadBean {
+    }
+
+    @Component("conversationBean")
+    @Scope(ConversationScope.NAME)
+    public static class ConversationBean {
+
+        static final AtomicInteger destroyed = new AtomicInteger();
+
+        @PreDestroy
+        public void destroy() {
+            destroyed.incrementAndGet();
+        }
+    }
+
+    @Component("circularPrototypeA")
+    @Scope("prototype")
+    public static class CircularPrototypeA {
+        @Autowired
+        public CircularPrototypeB b;
+    }
+
+    @Component("circularPrototypeB")
+    @Scope("prototype")
+    public static class CircularPrototypeB {
+        @Autowired
+        public CircularPrototypeA a;
+    }
+
+    /**
+     * 结束时销毁所有实例的作用域
+     */
+    public static class ConversationScope implements com.liuxu.springframework.beans.interfaces.Scope {
+
+        static final String NAME = "conversation";
+
+        private final Map<String, Object> instances = new HashMap<>();
+
+        private final List<Runnable> destructionCallbacks = new ArrayList<>();
+
+        @Override
+        public Object get(String name, ObjectFactory<?> objectFactory) {
+            Object instance = this.instances.get(name);
+            if (instance == null) {
+                instance = objectFactory.getObject();
+                this.instances.put(name, instance);
+            }
+            return instance;
+        }
+
+        @Override
+        public Object remove(String name) {
+            return this.instances.remove(name);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback) {
+            this.destructionCallbacks.add(callback);
+        }
+
+        void end() {
+            this.destructionCallbacks.forEach(Runnable::run);
+            this.destructionCallbacks.clear();
+            this.instances.clear();
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.liuxu.springframework.beans.shortcut;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Autowired;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Scope;
+import com.liuxu.springframework.beans.beandefinition.GenericBeanDefinition;
+import com.liuxu.springframework.beans.interfaces.ObjectProvider;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 按缓存的 beanName 注入（字段、方法参数、ObjectProvider）：记录依赖关系，注册 bean 定义后失效
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class InjectionShortcutTest {
+
+    @Test
+    public void shortcutInjectionRegistersDependentBeans() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ShortcutConfig.class);
+        Consumer first = (Consumer) beanFactory.getBean("consumer");
+        first.provider.getObject();
+
+        // 销毁依赖的单例会清除其依赖关系，之后的注入都走缓存的 beanName
+        beanFactory.destroySingleton("dependency");
+        beanFactory.destroySingleton("methodDependency");
+        assertEquals(0, beanFactory.getDependentBeans("dependency").length);
+        assertEquals(0, beanFactory.getDependentBeans("methodDependency").length);
+
+        beanFactory.getBean("consumer");
+        assertTrue(Arrays.asList(beanFactory.getDependentBeans("dependency")).contains("consumer"));
+        assertTrue(Arrays.asList(beanFactory.getDependentBeans("methodDependency")).contains("consumer"));
+
+        beanFactory.destroySingleton("dependency");
+        first.provider.getObject();
+        assertTrue(Arrays.asList(beanFactory.getDependentBeans("dependency")).contains("consumer"));
+    }
+
+    @Test
+    public void registeringBeanDefinitionInvalidatesShortcuts() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(ShortcutConfig.class);
+        Consumer first = (Consumer) beanFactory.getBean("consumer");
+        assertEquals("hello", first.greeter.greet());
+        assertEquals("hello", first.methodGreeter.greet());
+        assertEquals("hello", first.greeterProvider.getObject().greet());
+
+        GenericBeanDefinition bd = new GenericBeanDefinition(FrenchGreeter.class);
+        bd.setPrimary(true);
+        beanFactory.registryBeanDefinition("frenchGreeter", bd);
+
+        Consumer second = (Consumer) beanFactory.getBean("consumer");
+        assertEquals("bonjour", second.greeter.greet());
+        assertEquals("bonjour", second.methodGreeter.greet());
+        assertEquals("bonjour", first.greeterProvider.getObject().greet());
+    }
+
+
+    @ComponentScan
+    public static class ShortcutConfig {
+    }
+
+    public interface Greeter {
+        String greet();
+    }
+
+    @Component("greeter")
+    public static class DefaultGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    /**
+     * 不在扫描中，测试时手动注册
+     */
+    public static class FrenchGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "bonjour";
+        }
+    }
+
+    @Component("dependency")
+    public static class Dependency {
+    }
+
+    @Component("methodDependency")
+    public static class MethodDependency {
+    }
+
+    @Component("consumer")
+    @Scope("prototype")
+    public static class Consumer {
+
+        @Autowired
+        public Dependency dependency;
+
+        @Autowired
+        public Greeter greeter;
+
+        @Autowired
+        public ObjectProvider<Dependency> provider;
+
+        @Autowired
+        public ObjectProvider<Greeter> greeterProvider;
+
+        public Greeter methodGreeter;
+
+        public MethodDependency methodDependency;
+
+        @Autowired
+        public void setMethodDependency(MethodDependency methodDependency) {
+            this.methodDependency = methodDependency;
+        }
+
+        @Autowired
+        public void setMethodGreeter(Greeter methodGreeter) {
+            this.methodGreeter = methodGreeter;
+        }
+    }
+
+}
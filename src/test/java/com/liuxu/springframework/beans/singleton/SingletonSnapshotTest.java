@@ -0,0 +1,84 @@
+package com.liuxu.springframework.beans.singleton;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 单例快照：预实例化完成后发布，销毁单例后失效
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class SingletonSnapshotTest {
+
+    @Test
+    public void servesSameInstanceByNameTypeAndAlias() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(SnapshotConfig.class);
+        Object eager = beanFactory.getBean("eagerBean");
+
+        assertSame(eager, beanFactory.getBean("eagerBean", EagerBean.class));
+        assertSame(eager, beanFactory.getBean(EagerBean.class.getName()));
+    }
+
+    @Test
+    public void lazySingletonCreatedAfterRefreshStaysSingleton() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(SnapshotConfig.class);
+        Object lazy = beanFactory.getBean("lazyBean");
+
+        assertSame(lazy, beanFactory.getBean("lazyBean"));
+        assertSame(lazy, beanFactory.getBean("lazyBean", LazyBean.class));
+        assertSame(lazy, beanFactory.getBean(LazyBean.class.getName()));
+    }
+
+    @Test
+    public void destroyedSingletonIsNotServedFromSnapshot() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(SnapshotConfig.class);
+        Object eager = beanFactory.getBean("eagerBean");
+        Object other = beanFactory.getBean("lazyBean");
+
+        beanFactory.destroySingleton("eagerBean");
+
+        Object recreated = beanFactory.getBean("eagerBean");
+        assertNotSame(eager, recreated);
+        assertNotSame(eager, beanFactory.getBean(EagerBean.class.getName()));
+        assertSame(recreated, beanFactory.getBean("eagerBean"));
+        assertSame(other, beanFactory.getBean("lazyBean"));
+    }
+
+    @Test
+    public void concurrentLookupsNeverSeeDestroyedSingleton() throws Exception {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory(SnapshotConfig.class);
+        for (int round = 0; round < 50; round++) {
+            Object before = beanFactory.getBean("eagerBean");
+            Thread reader = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    beanFactory.getBean("eagerBean");
+                    beanFactory.getBean("lazyBean");
+                }
+            });
+            reader.start();
+            beanFactory.destroySingleton("eagerBean");
+            reader.join();
+            assertNotSame(before, beanFactory.getBean("eagerBean"));
+        }
+    }
+
+
+    @ComponentScan
+    public static class SnapshotConfig {
+    }
+
+    @Component
+    public static class EagerBean {
+    }
+
+    @Component(lazyInit = true)
+    public static class LazyBean {
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.liuxu.springframework.beans.support;
+
+import com.liuxu.springframework.beans.index.CandidateComponentsIndex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 启动快照的读写，损坏的快照文件不会导致启动失败，快照 key 不遍历类路径目录
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class BeanDefinitionSnapshotTest {
+
+    private static final String KEY = "key";
+
+    /** MAGIC、VERSION、key 之后的 bean 定义数量的位置 */
+    private static final int COUNT_OFFSET = 2 * Integer.BYTES + Integer.BYTES + KEY.length();
+
+    /** 第一个 bean 定义的 beanName 长度的位置 */
+    private static final int FIRST_STRING_OFFSET = COUNT_OFFSET + Integer.BYTES;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void writesAndLoadsEntries() throws IOException {
+        Path file = writeSnapshot();
+
+        BeanDefinitionSnapshot snapshot = BeanDefinitionSnapshot.load(file, KEY);
+
+        assertEquals(List.of(entry()), snapshot.getEntries());
+        assertNull(BeanDefinitionSnapshot.load(file, "other"));
+    }
+
+    @Test
+    public void rejectsNegativeAndOversizedLengths() throws IOException {
+        assertCorruptedIntRejected(FIRST_STRING_OFFSET, -1);
+        assertCorruptedIntRejected(FIRST_STRING_OFFSET, Integer.MAX_VALUE);
+        assertCorruptedIntRejected(COUNT_OFFSET, -1);
+        assertCorruptedIntRejected(COUNT_OFFSET, Integer.MAX_VALUE);
+        assertCorruptedIntRejected(COUNT_OFFSET, 1_000_000);
+    }
+
+    @Test
+    public void rejectsOversizedSetCount() throws IOException {
+        Path file = writeSnapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        // typeNames 数量：beanName、className、simpleClassName、scope 四个字符串和两个标记之后
+        int offset = FIRST_STRING_OFFSET;
+        for (String value : List.of("bean", "com.example.Bean", "Bean", "singleton")) {
+            offset += Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+        }
+        offset += 2;
+        ByteBuffer.wrap(bytes).putInt(offset, Integer.MAX_VALUE);
+        Files.write(file, bytes);
+
+        assertNull(BeanDefinitionSnapshot.load(file, KEY));
+    }
+
+    @Test
+    public void detectsRemovedClasses() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        assertFalse(new BeanDefinitionSnapshot(KEY, List.of(entry())).isResolvable(classLoader));
+
+        BeanDefinitionSnapshot.Entry existing = new BeanDefinitionSnapshot.Entry("test", getClass().getName(),
+                getClass().getSimpleName(), "singleton", false, false, Set.of(getClass().getName()), Set.of());
+        assertTrue(new BeanDefinitionSnapshot(KEY, List.of(existing)).isResolvable(classLoader));
+    }
+
+    @Test
+    public void keyFollowsComponentIndexInsteadOfEveryFile() throws IOException {
+        Path classes = this.temporaryFolder.newFolder("classes").toPath();
+        String previousClassPath = System.getProperty("java.class.path");
+        System.setProperty("java.class.path", classes.toString());
+        try {
+            Path packageDir = Files.createDirectories(classes.resolve("com/example"));
+            String key = BeanDefinitionSnapshot.computeKey("config");
+            // 不遍历目录，包中的类文件变化不影响 key
+            Files.writeString(packageDir.resolve("Bean.class"), "bytes");
+            assertEquals(key, BeanDefinitionSnapshot.computeKey("config"));
+
+            Path index = classes.resolve(CandidateComponentsIndex.COMPONENTS_RESOURCE_LOCATION);
+            Files.createDirectories(index.getParent());
+            Files.writeString(index, "com.example.Bean=component");
+            String indexedKey = BeanDefinitionSnapshot.computeKey("config");
+            assertNotEquals(key, indexedKey);
+
+            Files.writeString(index, "com.example.Bean=component,lazy");
+            assertNotEquals(indexedKey, BeanDefinitionSnapshot.computeKey("config"));
+            assertNotEquals(BeanDefinitionSnapshot.computeKey("config"), BeanDefinitionSnapshot.computeKey("other"));
+        } finally {
+            System.setProperty("java.class.path", previousClassPath);
+        }
+    }
+
+    private void assertCorruptedIntRejected(int offset, int value) throws IOException {
+        Path file = writeSnapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(offset, value);
+        Files.write(file, bytes);
+
+        assertNull(BeanDefinitionSnapshot.load(file, KEY));
+    }
+
+    private Path writeSnapshot() throws IOException {
+        Path file = this.temporaryFolder.newFolder().toPath().resolve("snapshot.bin");
+        new BeanDefinitionSnapshot(KEY, List.of(entry())).write(file);
+        return file;
+    }
+
+    private static BeanDefinitionSnapshot.Entry entry() {
+        Set<String> typeNames = new LinkedHashSet<>(List.of("com.example.Bean", "java.lang.Object"));
+        return new BeanDefinitionSnapshot.Entry("bean", "com.example.Bean", "Bean", "singleton", true, false,
+                typeNames, Set.of("com.liuxu.springframework.beans.annotion.Component"));
+    }
+
+}
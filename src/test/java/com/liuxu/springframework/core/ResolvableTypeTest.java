@@ -0,0 +1,89 @@
+package com.liuxu.springframework.core;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 泛型类型解析和匹配
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class ResolvableTypeTest {
+
+    @Test
+    public void resolvesGenericsThroughSuperclassesAndInterfaces() {
+        ResolvableType type = ResolvableType.forClass(OrderRepository.class).as(Repository.class);
+        assertSame(Repository.class, type.resolve());
+        assertSame(Order.class, type.getGeneric(0).resolve());
+
+        // 类型变量经过中间父类绑定
+        ResolvableType inherited = ResolvableType.forClass(SpecialOrderRepository.class).as(Repository.class);
+        assertSame(Order.class, inherited.getGeneric(0).resolve());
+
+        assertSame(ResolvableType.NONE, ResolvableType.forClass(Order.class).as(Repository.class));
+    }
+
+    @Test
+    public void matchesGenericsOfDeclaredTypes() throws Exception {
+        ResolvableType orderRepository = ResolvableType.forType(Holder.class.getField("orders").getGenericType());
+        ResolvableType anyRepository = ResolvableType.forType(Holder.class.getField("any").getGenericType());
+        ResolvableType boundedRepository = ResolvableType.forType(Holder.class.getField("bounded").getGenericType());
+
+        assertTrue(orderRepository.isAssignableFrom(ResolvableType.forClass(OrderRepository.class)));
+        assertFalse(orderRepository.isAssignableFrom(ResolvableType.forClass(UserRepository.class)));
+        assertTrue(anyRepository.isAssignableFrom(ResolvableType.forClass(UserRepository.class)));
+        assertTrue(boundedRepository.isAssignableFrom(ResolvableType.forClass(SpecialOrderRepository.class)));
+        assertFalse(boundedRepository.isAssignableFrom(ResolvableType.forClass(UserRepository.class)));
+    }
+
+    @Test
+    public void nestedGenericsMustMatch() throws Exception {
+        ResolvableType listOfOrders = ResolvableType.forType(Holder.class.getField("listOfOrders").getGenericType());
+        assertEquals(List.class, listOfOrders.resolve());
+        assertTrue(listOfOrders.isAssignableFrom(ResolvableType.forClass(OrderListRepository.class).as(Repository.class).getGeneric(0)));
+        assertFalse(listOfOrders.isAssignableFrom(ResolvableType.forClass(UserListRepository.class).as(Repository.class).getGeneric(0)));
+    }
+
+
+    public interface Repository<T> {
+    }
+
+    public static class Order {
+    }
+
+    public static class User {
+    }
+
+    public static class OrderRepository implements Repository<Order> {
+    }
+
+    public static class UserRepository implements Repository<User> {
+    }
+
+    public abstract static class AbstractRepository<T> implements Repository<T> {
+    }
+
+    public static class SpecialOrderRepository extends AbstractRepository<Order> {
+    }
+
+    public static class OrderListRepository implements Repository<List<Order>> {
+    }
+
+    public static class UserListRepository implements Repository<List<User>> {
+    }
+
+    public static class Holder {
+        public Repository<Order> orders;
+        public Repository<?> any;
+        public Repository<? extends Order> bounded;
+        public List<Order> listOfOrders;
+    }
+
+}
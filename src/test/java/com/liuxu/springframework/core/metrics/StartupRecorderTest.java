@@ -0,0 +1,116 @@
+package com.liuxu.springframework.core.metrics;
+
+import com.liuxu.springframework.beans.DefaultListableBeanFactory;
+import com.liuxu.springframework.beans.annotion.Component;
+import com.liuxu.springframework.beans.annotion.ComponentScan;
+import com.liuxu.springframework.beans.annotion.Scope;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 启动步骤记录器：冻结、跨线程的父步骤、容器刷新时的记录
+ *
+ * @date: 2026-10-17
+ * @author: liuxu
+ */
+public class StartupRecorderTest {
+
+    @Test
+    public void frozenRecorderKeepsRecordedStepsAndIgnoresNewOnes() {
+        StartupRecorder recorder = new StartupRecorder(4, false);
+        long step = recorder.start("first", null);
+        recorder.end(step);
+
+        recorder.freeze();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(-1, recorder.start("after-freeze", null));
+        }
+
+        List<StartupStep> steps = recorder.getSteps();
+        assertEquals(1, steps.size());
+        assertEquals("first", steps.get(0).name());
+    }
+
+    @Test
+    public void attachedStepOnAnotherThreadKeepsItsParent() throws Exception {
+        StartupRecorder recorder = new StartupRecorder(16, false);
+        long parent = recorder.start("parent", null);
+        Thread worker = new Thread(() -> {
+            long previous = recorder.attach(parent);
+            try {
+                recorder.end(recorder.start("child", "bean"));
+            } finally {
+                recorder.detach(previous);
+            }
+            assertEquals(-1, recorder.currentStep());
+        });
+        worker.start();
+        worker.join();
+        recorder.end(parent);
+
+        StartupStep child = recorder.getSteps().stream().filter(step -> "child".equals(step.name())).findFirst().orElseThrow();
+        assertEquals(parent, child.parentId());
+    }
+
+    @Test
+    public void refreshRecordsParallelCreationsUnderPreInstantiationAndFreezes() throws Exception {
+        Path profileFile = Files.createTempFile("startup-profile", ".json");
+        String previous = System.setProperty(StartupRecorder.PROFILE_FILE_PROPERTY_NAME, profileFile.toString());
+        DefaultListableBeanFactory beanFactory;
+        try {
+            beanFactory = new DefaultListableBeanFactory(ProfiledConfig.class, true);
+        } finally {
+            if (previous != null) {
+                System.setProperty(StartupRecorder.PROFILE_FILE_PROPERTY_NAME, previous);
+            } else {
+                System.clearProperty(StartupRecorder.PROFILE_FILE_PROPERTY_NAME);
+            }
+            Files.deleteIfExists(profileFile);
+        }
+
+        StartupRecorder recorder = beanFactory.getStartupRecorder();
+        assertTrue(recorder.isFrozen());
+        List<StartupStep> steps = recorder.getSteps();
+        StartupStep preInstantiate = steps.stream()
+                .filter(step -> "context.singletons.pre-instantiate".equals(step.name()))
+                .findFirst().orElseThrow();
+        for (String beanName : List.of("first", "second")) {
+            StartupStep create = steps.stream()
+                    .filter(step -> "beans.create".equals(step.name()) && beanName.equals(step.beanName()))
+                    .findFirst().orElseThrow();
+            assertEquals(preInstantiate.id(), create.parentId());
+        }
+
+        // 启动之后创建的原型 bean 不再记录
+        int recorded = steps.size();
+        beanFactory.getBean("prototypeBean");
+        assertEquals(recorded, recorder.getSteps().size());
+        assertFalse(recorder.getSteps().stream().anyMatch(step -> "prototypeBean".equals(step.beanName())));
+    }
+
+
+    @ComponentScan
+    public static class ProfiledConfig {
+    }
+
+    @Component("first")
+    public static class First {
+    }
+
+    @Component("second")
+    public static class Second {
+    }
+
+    @Component("prototypeBean")
+    @Scope("prototype")
+    public static class PrototypeBean {
+    }
+
+}